@@ -0,0 +1,170 @@
+package com.example.zoo_fantastico.reactive.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load against the servlet and the reactive variants, one after the other: the same
+ * number of requests in flight at all times ({@code bench.concurrency}), 80% {@code GET /api/creatures/{id}}
+ * and 20% {@code GET /api/creatures?after=&limit=50}. Each target is seeded with its own zone and
+ * {@code bench.creatures} creatures first. Prints throughput and latency percentiles per target and writes
+ * them to {@code target/load-result.json}.
+ *
+ * <p>Both servers must already be running, ideally on the same host and against the same MySQL server,
+ * so the only difference is the stack.
+ */
+public final class LoadBenchmark {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5)).build();
+    private final int concurrency = Integer.getInteger("bench.concurrency", 256);
+    private final Duration warmup = duration(System.getProperty("bench.warmup", "10s"));
+    private final Duration measure = duration(System.getProperty("bench.duration", "30s"));
+    private final int creatures = Integer.getInteger("bench.creatures", 1000);
+
+    public static void main(String[] args) throws Exception {
+        LoadBenchmark benchmark = new LoadBenchmark();
+        List<String> json = new ArrayList<>();
+        for (String stack : List.of("servlet", "reactive")) {
+            String base = System.getProperty("bench." + stack, stack.equals("servlet") ? "http://localhost:8080" : "http://localhost:8081");
+            Result r = benchmark.run(base);
+            System.out.printf(Locale.ROOT, "%-9s %-28s %8.0f req/s  p50 %6.1f ms  p99 %7.1f ms  max %7.1f ms  errors %d%n",
+                    stack, base, r.throughput(), r.p50(), r.p99(), r.max(), r.errors());
+            json.add(String.format(Locale.ROOT,
+                    "{\"stack\":\"%s\",\"url\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                    stack, base, benchmark.concurrency, r.requests(), r.errors(), r.throughput(), r.p50(), r.p90(), r.p99(), r.max()));
+        }
+        Path out = Path.of("target", "load-result.json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, "[" + String.join(",\n", json) + "]\n");
+    }
+
+    private Result run(String base) throws Exception {
+        long[] ids = seed(base);
+        drive(base, ids, warmup, null);
+        ConcurrentLinkedQueue<long[]> samples = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        long started = System.nanoTime();
+        drive(base, ids, measure, new Recorder(samples, errors));
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        long[] latencies = samples.stream().flatMapToLong(Arrays::stream).filter(l -> l > 0).sorted().toArray();
+        return new Result(latencies.length, errors.get(), latencies.length / seconds,
+                percentile(latencies, 0.50), percentile(latencies, 0.90), percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    /** Keeps {@code concurrency} requests in flight until {@code duration} has passed. */
+    private void drive(String base, long[] ids, Duration duration, Recorder recorder) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            long id = ids[random.nextInt(ids.length)];
+            URI uri = random.nextInt(5) == 0
+                    ? URI.create(base + "/api/creatures?after=" + (id - 1) + "&limit=50")
+                    : URI.create(base + "/api/creatures/" + id);
+            long sent = System.nanoTime();
+            http.sendAsync(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build(),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        if (recorder != null) recorder.record(System.nanoTime() - sent, failure == null && response.statusCode() == 200);
+                        inFlight.release();
+                    });
+        }
+        inFlight.acquire(concurrency);
+    }
+
+    private long[] seed(String base) throws IOException, InterruptedException {
+        String zone = post(base + "/api/zones", String.format(Locale.ROOT,
+                "{\"name\":\"Benchmark %d\",\"description\":\"Load benchmark\",\"capacity\":%d}", System.nanoTime(), creatures));
+        long zoneId = id(zone);
+        long[] ids = new long[creatures];
+        for (int i = 0; i < creatures; i++) {
+            ids[i] = id(post(base + "/api/creatures", String.format(Locale.ROOT,
+                    "{\"name\":\"Seed %d\",\"species\":\"Benchmark species\",\"size\":1.5,\"dangerLevel\":%d,"
+                            + "\"healthStatus\":\"healthy\",\"zone\":{\"id\":%d}}", i, 1 + i % 10, zoneId)));
+        }
+        return ids;
+    }
+
+    private String post(String uri, String json) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("POST " + uri + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static long id(String json) {
+        Matcher m = ID.matcher(json);
+        if (!m.find()) throw new IllegalStateException("No id in " + json);
+        return Long.parseLong(m.group(1));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    private static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        if (v.endsWith("s")) return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        if (v.endsWith("m")) return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        return Duration.parse(value);
+    }
+
+    /** Latencies in chunks, so recording from many completion threads does not contend on one lock. */
+    private static final class Recorder {
+        private static final int CHUNK = 4096;
+        private final ConcurrentLinkedQueue<long[]> samples;
+        private final AtomicLong errors;
+        private final ThreadLocal<long[]> current = new ThreadLocal<>();
+        private final ThreadLocal<int[]> position = ThreadLocal.withInitial(() -> new int[1]);
+
+        Recorder(ConcurrentLinkedQueue<long[]> samples, AtomicLong errors) {
+            this.samples = samples;
+            this.errors = errors;
+        }
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.incrementAndGet();
+                return;
+            }
+            long[] chunk = current.get();
+            int[] pos = position.get();
+            if (chunk == null || pos[0] == CHUNK) {
+                chunk = new long[CHUNK];
+                current.set(chunk);
+                samples.add(chunk);
+                pos[0] = 0;
+            }
+            chunk[pos[0]++] = nanos;
+        }
+    }
+
+    private record Result(long requests, long errors, double throughput, double p50, double p90, double p99, double max) { }
+}
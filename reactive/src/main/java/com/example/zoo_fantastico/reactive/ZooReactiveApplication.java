@@ -0,0 +1,13 @@
+package com.example.zoo_fantastico.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ZooReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ZooReactiveApplication.class, args);
+	}
+
+}
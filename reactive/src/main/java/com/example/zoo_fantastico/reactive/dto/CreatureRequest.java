@@ -0,0 +1,20 @@
+package com.example.zoo_fantastico.reactive.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * Body of POST and PUT {@code /api/creatures}, the same JSON the servlet variant accepts:
+ * {@code {"name":..., "species":..., "size":..., "dangerLevel":..., "healthStatus":..., "zone":{"id":1}}}.
+ */
+public record CreatureRequest(@NotBlank String name, @NotBlank String species, @PositiveOrZero double size,
+                              @Min(1) @Max(10) int dangerLevel, @NotBlank String healthStatus, ZoneRef zone) {
+
+    public record ZoneRef(Long id) { }
+
+    public Long zoneId() {
+        return zone == null ? null : zone.id();
+    }
+}
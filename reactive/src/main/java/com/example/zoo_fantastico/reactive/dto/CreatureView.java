@@ -0,0 +1,19 @@
+package com.example.zoo_fantastico.reactive.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.example.zoo_fantastico.reactive.model.Creature;
+import com.example.zoo_fantastico.reactive.model.Zone;
+
+/**
+ * Flat read model of a creature, field for field the one the servlet variant returns; {@code zoneVersion}
+ * only goes into the ETag, since the body carries the zone's name.
+ */
+public record CreatureView(Long id, String name, String species, double size, int dangerLevel,
+                           String healthStatus, Long zoneId, String zoneName, long version,
+                           @JsonIgnore long zoneVersion) {
+
+    public static CreatureView from(Creature c, Zone zone) {
+        return new CreatureView(c.getId(), c.getName(), c.getSpecies(), c.getSize(), c.getDangerLevel(),
+                c.getHealthStatus(), c.getZoneId(), zone.getName(), c.getVersion(), zone.getVersion());
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.zoo_fantastico.reactive.dto;
+
+/** Read model of a zone with the number of creatures it holds instead of the creatures themselves. */
+public record ZoneSummary(Long id, String name, String description, int capacity, long creatureCount,
+                          long version) { }
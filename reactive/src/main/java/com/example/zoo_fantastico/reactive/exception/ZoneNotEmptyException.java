@@ -0,0 +1,7 @@
+package com.example.zoo_fantastico.reactive.exception;
+
+public class ZoneNotEmptyException extends RuntimeException {
+    public ZoneNotEmptyException(String message) {
+        super(message);
+    }
+}
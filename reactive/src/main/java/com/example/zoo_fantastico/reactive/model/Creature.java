@@ -0,0 +1,26 @@
+package com.example.zoo_fantastico.reactive.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/** Row of {@code creature}; the zone is only its id (R2DBC has no relationships). */
+@Table("creature")
+@Data
+@NoArgsConstructor
+public class Creature {
+    @Id
+    private Long id;
+
+    @Version
+    private Long version;
+
+    private String name;
+    private String species;
+    private double size;
+    private int dangerLevel;
+    private String healthStatus;
+    private Long zoneId;
+}
@@ -0,0 +1,32 @@
+package com.example.zoo_fantastico.reactive.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("zone")
+@Data
+@NoArgsConstructor
+public class Zone {
+    @Id
+    private Long id;
+
+    // Optimistic lock, as in the servlet variant; R2DBC starts it at 0 on insert
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    @NotBlank
+    private String name;
+
+    @NotBlank
+    private String description;
+
+    @Positive
+    private int capacity;
+}
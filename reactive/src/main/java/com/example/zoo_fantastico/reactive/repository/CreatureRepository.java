@@ -0,0 +1,27 @@
+package com.example.zoo_fantastico.reactive.repository;
+
+import com.example.zoo_fantastico.reactive.dto.CreatureView;
+import com.example.zoo_fantastico.reactive.model.Creature;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface CreatureRepository extends ReactiveCrudRepository<Creature, Long> {
+
+    String VIEW = "select c.id, c.name, c.species, c.size, c.danger_level, c.health_status, c.zone_id,"
+            + " z.name as zone_name, c.version, z.version as zone_version from creature c join zone z on z.id = c.zone_id";
+
+    // Keyset page, as in the servlet variant
+    @Query(VIEW + " where c.id > :after order by c.id limit :limit")
+    Flux<CreatureView> findPageAfter(long after, int limit);
+
+    // Whole table off one cursor; rows are pulled as the subscriber requests them
+    @Query(VIEW + " where c.id > :after order by c.id")
+    Flux<CreatureView> streamAfter(long after);
+
+    @Query(VIEW + " where c.id = :id")
+    Mono<CreatureView> findViewById(long id);
+
+    Mono<Long> countByZoneId(long zoneId);
+}
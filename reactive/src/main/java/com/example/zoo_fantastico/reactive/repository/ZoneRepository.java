@@ -0,0 +1,27 @@
+package com.example.zoo_fantastico.reactive.repository;
+
+import com.example.zoo_fantastico.reactive.dto.ZoneSummary;
+import com.example.zoo_fantastico.reactive.model.Zone;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ZoneRepository extends ReactiveCrudRepository<Zone, Long> {
+
+    String SUMMARY = "select z.id, z.name, z.description, z.capacity,"
+            + " (select count(*) from creature c where c.zone_id = z.id) as creature_count, z.version from zone z";
+
+    /**
+     * Locks the zone row until commit. Creature inserts and zone deletes both take it first, so a zone
+     * can neither overfill nor be deleted while a creature is being added to it.
+     */
+    @Query("select * from zone where id = :id for update")
+    Mono<Zone> lockById(long id);
+
+    @Query(SUMMARY + " order by z.id")
+    Flux<ZoneSummary> findAllSummaries();
+
+    @Query(SUMMARY + " where z.id = :id")
+    Mono<ZoneSummary> findSummaryById(long id);
+}
@@ -0,0 +1,121 @@
+package com.example.zoo_fantastico.reactive.service;
+
+import com.example.zoo_fantastico.reactive.dto.CreatureRequest;
+import com.example.zoo_fantastico.reactive.dto.CreatureView;
+import com.example.zoo_fantastico.reactive.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.reactive.exception.VersionConflictException;
+import com.example.zoo_fantastico.reactive.exception.ZoneCapacityException;
+import com.example.zoo_fantastico.reactive.model.Creature;
+import com.example.zoo_fantastico.reactive.repository.CreatureRepository;
+import com.example.zoo_fantastico.reactive.repository.ZoneRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/** Same rules as the servlet {@code CreatureService}, without blocking a thread on the database. */
+@Service
+public class CreatureService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final CreatureRepository creatureRepository;
+    private final ZoneRepository zoneRepository;
+
+    public CreatureService(CreatureRepository creatureRepository, ZoneRepository zoneRepository) {
+        this.creatureRepository = creatureRepository;
+        this.zoneRepository = zoneRepository;
+    }
+
+    /** Inserts the creature if its zone has room; the zone row stays locked until commit. */
+    @Transactional
+    public Mono<CreatureView> create(CreatureRequest request) {
+        if (request.zoneId() == null) return Mono.error(new IllegalArgumentException("zone.id is required"));
+        return zoneRepository.lockById(request.zoneId())
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Zone not found")))
+                .flatMap(zone -> creatureRepository.countByZoneId(zone.getId()).flatMap(count -> {
+                    if (count >= zone.getCapacity()) {
+                        return Mono.error(new ZoneCapacityException(String.format(
+                                "Zone '%s' (ID: %d) has no room for %d more creature(s); capacity is %d.",
+                                zone.getName(), zone.getId(), 1, zone.getCapacity())));
+                    }
+                    Creature creature = new Creature();
+                    copyFields(request, creature);
+                    creature.setZoneId(zone.getId());
+                    return creatureRepository.save(creature).map(saved -> CreatureView.from(saved, zone));
+                }));
+    }
+
+    /** Keyset page: up to {@code limit} creatures with id greater than {@code after}, ordered by id. */
+    @Transactional(readOnly = true)
+    public Flux<CreatureView> findPage(long after, int limit) {
+        return creatureRepository.findPageAfter(after, pageSize(limit));
+    }
+
+    public static int pageSize(int requested) { return Math.max(1, Math.min(requested, MAX_PAGE_SIZE)); }
+
+    /**
+     * Every creature with id greater than {@code after}, straight off the database cursor. Nothing is
+     * buffered: rows are fetched as fast as the subscriber (in the end, the HTTP client) consumes them.
+     */
+    public Flux<CreatureView> stream(long after) {
+        return creatureRepository.streamAfter(after);
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<CreatureView> findViewById(long id) {
+        return creatureRepository.findViewById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Creature not found")));
+    }
+
+    /**
+     * Overwrites the descriptive fields; the zone is changed through zone transfers, not here.
+     * {@code expectedVersions} (from If-Match, null for none) must include the stored version, or
+     * {@link VersionConflictException} is signalled; a writer that commits in between is caught by the
+     * {@code @Version} column instead.
+     */
+    @Transactional
+    public Mono<CreatureView> update(long id, CreatureRequest request, Collection<Long> expectedVersions) {
+        return findById(id)
+                .flatMap(c -> checkVersion(expectedVersions, c))
+                .flatMap(c -> {
+                    copyFields(request, c);
+                    return creatureRepository.save(c);
+                })
+                .flatMap(saved -> findViewById(saved.getId()));
+    }
+
+    @Transactional
+    public Mono<Void> delete(long id, Collection<Long> expectedVersions) {
+        return findById(id).flatMap(c -> checkVersion(expectedVersions, c)).flatMap(c -> {
+            if ("critical".equalsIgnoreCase(c.getHealthStatus())) {
+                return Mono.error(new IllegalStateException("Cannot delete a creature in critical health"));
+            }
+            return creatureRepository.delete(c);
+        });
+    }
+
+    private Mono<Creature> findById(long id) {
+        return creatureRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Creature not found")));
+    }
+
+    private static Mono<Creature> checkVersion(Collection<Long> expected, Creature c) {
+        if (expected == null || expected.contains(c.getVersion())) return Mono.just(c);
+        return Mono.error(new VersionConflictException(String.format(
+                "Creature %d is at version %d, not %s", c.getId(), c.getVersion(),
+                expected.stream().map(String::valueOf).collect(Collectors.joining(" or ")))));
+    }
+
+    private static void copyFields(CreatureRequest from, Creature to) {
+        to.setName(from.name());
+        to.setSpecies(from.species());
+        to.setSize(from.size());
+        to.setDangerLevel(from.dangerLevel());
+        to.setHealthStatus(from.healthStatus());
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.zoo_fantastico.reactive.service;
+
+import com.example.zoo_fantastico.reactive.dto.ZoneSummary;
+import com.example.zoo_fantastico.reactive.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.reactive.exception.ZoneCapacityException;
+import com.example.zoo_fantastico.reactive.exception.ZoneNotEmptyException;
+import com.example.zoo_fantastico.reactive.model.Zone;
+import com.example.zoo_fantastico.reactive.repository.CreatureRepository;
+import com.example.zoo_fantastico.reactive.repository.ZoneRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** Same rules as the servlet {@code ZoneService}, without blocking a thread on the database. */
+@Service
+public class ZoneService {
+
+    private final ZoneRepository zoneRepository;
+    private final CreatureRepository creatureRepository;
+
+    public ZoneService(ZoneRepository zoneRepository, CreatureRepository creatureRepository) {
+        this.zoneRepository = zoneRepository;
+        this.creatureRepository = creatureRepository;
+    }
+
+    @Transactional
+    public Mono<Zone> create(Zone zone) {
+        zone.setId(null);
+        zone.setVersion(null);
+        return zoneRepository.save(zone);
+    }
+
+    public Flux<ZoneSummary> findAllSummaries() { return zoneRepository.findAllSummaries(); }
+
+    @Transactional(readOnly = true)
+    public Mono<ZoneSummary> findSummaryById(long id) {
+        return zoneRepository.findSummaryById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Zone not found")));
+    }
+
+    @Transactional
+    public Mono<Zone> update(long id, Zone updated) {
+        return lock(id).flatMap(z -> creatureRepository.countByZoneId(id).flatMap(count -> {
+            if (updated.getCapacity() < count) {
+                return Mono.error(new ZoneCapacityException(String.format(
+                        "Cannot lower the capacity of zone '%s' (ID: %d) to %d because it contains %d creatures.",
+                        z.getName(), z.getId(), updated.getCapacity(), count)));
+            }
+            z.setName(updated.getName());
+            z.setDescription(updated.getDescription());
+            z.setCapacity(updated.getCapacity());
+            return zoneRepository.save(z);
+        }));
+    }
+
+    // The zone row stays locked until commit, so no creature can be added while the zone is deleted
+    @Transactional
+    public Mono<Void> delete(long id) {
+        return lock(id).flatMap(zone -> creatureRepository.countByZoneId(id).flatMap(count -> {
+            if (count > 0) {
+                return Mono.error(new ZoneNotEmptyException(String.format(
+                        "Cannot delete zone '%s' (ID: %d) because it contains %d creatures. Remove all creatures first.",
+                        zone.getName(), zone.getId(), count)));
+            }
+            return zoneRepository.delete(zone);
+        }));
+    }
+
+    private Mono<Zone> lock(long id) {
+        return zoneRepository.lockById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Zone not found")));
+    }
+}
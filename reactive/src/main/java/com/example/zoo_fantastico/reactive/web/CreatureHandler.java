@@ -0,0 +1,96 @@
+package com.example.zoo_fantastico.reactive.web;
+
+import com.example.zoo_fantastico.reactive.dto.CreatureRequest;
+import com.example.zoo_fantastico.reactive.dto.CreatureView;
+import com.example.zoo_fantastico.reactive.service.CreatureService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Component
+public class CreatureHandler {
+
+    private final CreatureService creatureService;
+    private final RequestValidator validator;
+
+    public CreatureHandler(CreatureService creatureService, RequestValidator validator) {
+        this.creatureService = creatureService;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(CreatureRequest.class)
+                .flatMap(validator::valid)
+                .flatMap(creatureService::create)
+                .flatMap(saved -> ServerResponse.status(HttpStatus.CREATED).eTag(ETags.of(saved)).bodyValue(saved));
+    }
+
+    /**
+     * Keyset page ({@code after}, {@code limit}) with a {@code Link: rel="next"} header, as in the servlet
+     * variant. With {@code Accept: application/x-ndjson} every creature after the cursor is streamed
+     * instead, one line each, under the client's backpressure.
+     */
+    public Mono<ServerResponse> list(ServerRequest request) {
+        long after = request.queryParam("after").map(v -> parseLong("after", v)).orElse(0L);
+        if (request.headers().accept().contains(MediaType.APPLICATION_NDJSON)) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                    .body(creatureService.stream(after), CreatureView.class);
+        }
+        int limit = request.queryParam("limit").map(v -> (int) Math.min(parseLong("limit", v), Integer.MAX_VALUE))
+                .orElse(CreatureService.DEFAULT_PAGE_SIZE);
+        return creatureService.findPage(after, limit).collectList().flatMap(page -> {
+            ServerResponse.BodyBuilder response = ServerResponse.ok();
+            if (page.size() == CreatureService.pageSize(limit)) {
+                String next = request.uriBuilder()
+                        .replaceQueryParam("after", page.get(page.size() - 1).id())
+                        .replaceQueryParam("limit", limit)
+                        .build().toString();
+                response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            }
+            return response.bodyValue(page);
+        });
+    }
+
+    public Mono<ServerResponse> stream(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_NDJSON)
+                .body(creatureService.stream(0), CreatureView.class);
+    }
+
+    public Mono<ServerResponse> byId(ServerRequest request) {
+        return creatureService.findViewById(id(request))
+                .flatMap(view -> ServerResponse.ok().eTag(ETags.of(view)).bodyValue(view));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        long id = id(request);
+        List<Long> expected = ETags.expectedVersions(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return request.bodyToMono(CreatureRequest.class)
+                .flatMap(validator::valid)
+                .flatMap(body -> creatureService.update(id, body, expected))
+                .flatMap(view -> ServerResponse.ok().eTag(ETags.of(view)).bodyValue(view));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        long id = id(request);
+        List<Long> expected = ETags.expectedVersions(request.headers().firstHeader(HttpHeaders.IF_MATCH));
+        return creatureService.delete(id, expected).then(ServerResponse.noContent().build());
+    }
+
+    static long id(ServerRequest request) {
+        return parseLong("id", request.pathVariable("id"));
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": must be a whole number, not '" + value + "'");
+        }
+    }
+}
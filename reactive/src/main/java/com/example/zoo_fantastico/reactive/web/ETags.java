@@ -0,0 +1,54 @@
+package com.example.zoo_fantastico.reactive.web;
+
+import com.example.zoo_fantastico.reactive.dto.CreatureView;
+import com.example.zoo_fantastico.reactive.dto.ZoneSummary;
+import com.example.zoo_fantastico.reactive.exception.VersionConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity tags in the servlet variant's format, so a client can switch between the two: a creature's tag is
+ * its version followed by its zone's version, a zone's its version followed by its creature count.
+ * {@code If-Match} is only compared against the leading version.
+ */
+final class ETags {
+
+    private ETags() { }
+
+    static String of(CreatureView creature) {
+        return quote(creature.version() + "-" + creature.zoneVersion());
+    }
+
+    static String of(ZoneSummary zone) {
+        return quote(zone.version() + "-" + zone.creatureCount());
+    }
+
+    /**
+     * Versions accepted by an {@code If-Match} header, one per tag of its comma-separated list, or null
+     * when the header is absent or {@code *}. Tags this server could not have issued are ignored.
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        List<Long> versions = new ArrayList<>();
+        for (String part : ifMatch.split(",")) {
+            String tag = part.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            tag = tag.replace("\"", "");
+            int dash = tag.indexOf('-');
+            try {
+                versions.add(Long.parseLong(dash < 0 ? tag : tag.substring(0, dash)));
+            } catch (NumberFormatException e) {
+                // not one of ours, so it cannot match
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new VersionConflictException("If-Match does not match any known version: " + ifMatch);
+        }
+        return versions;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
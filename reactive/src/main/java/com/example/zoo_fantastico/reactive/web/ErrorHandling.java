@@ -0,0 +1,42 @@
+package com.example.zoo_fantastico.reactive.web;
+
+import com.example.zoo_fantastico.reactive.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.reactive.exception.VersionConflictException;
+import com.example.zoo_fantastico.reactive.exception.ZoneCapacityException;
+import com.example.zoo_fantastico.reactive.exception.ZoneNotEmptyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/** The servlet {@code GlobalExceptionHandler} mapping, as a filter on the functional routes. */
+@Component
+class ErrorHandling implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        // Deferred, so what a handler throws before returning its Mono (a malformed path variable) is mapped too
+        return Mono.defer(() -> next.handle(request)).onErrorResume(e -> {
+            HttpStatus status = statusOf(e);
+            if (status == null) return Mono.error(e);
+            String message = e instanceof OptimisticLockingFailureException
+                    ? "The resource was modified concurrently; reload it and retry" : e.getMessage();
+            return ServerResponse.status(status).contentType(MediaType.TEXT_PLAIN).bodyValue(message);
+        });
+    }
+
+    private static HttpStatus statusOf(Throwable e) {
+        if (e instanceof ResourceNotFoundException) return HttpStatus.NOT_FOUND;
+        if (e instanceof ZoneNotEmptyException || e instanceof ZoneCapacityException) return HttpStatus.CONFLICT;
+        if (e instanceof VersionConflictException || e instanceof OptimisticLockingFailureException) {
+            return HttpStatus.PRECONDITION_FAILED;
+        }
+        if (e instanceof IllegalArgumentException || e instanceof IllegalStateException) return HttpStatus.BAD_REQUEST;
+        return null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.zoo_fantastico.reactive.web;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/** The servlet variant's {@code /api/creatures} and {@code /api/zones} endpoints, as functional routes. */
+@Configuration
+public class Routes {
+
+    @Bean
+    RouterFunction<ServerResponse> zooRoutes(CreatureHandler creatures, ZoneHandler zones, ErrorHandling errors) {
+        return route()
+                .path("/api/creatures", b -> b
+                        .POST("", creatures::create)
+                        .GET("", creatures::list)
+                        .GET("/stream", creatures::stream)
+                        .GET("/{id}", creatures::byId)
+                        .PUT("/{id}", creatures::update)
+                        .DELETE("/{id}", creatures::delete))
+                .path("/api/zones", b -> b
+                        .POST("", zones::create)
+                        .GET("", zones::list)
+                        .GET("/{id}", zones::byId)
+                        .PUT("/{id}", zones::update)
+                        .DELETE("/{id}", zones::delete))
+                .filter(errors)
+                .build();
+    }
+}
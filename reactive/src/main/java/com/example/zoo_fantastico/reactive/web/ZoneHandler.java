@@ -0,0 +1,56 @@
+package com.example.zoo_fantastico.reactive.web;
+
+import com.example.zoo_fantastico.reactive.dto.ZoneSummary;
+import com.example.zoo_fantastico.reactive.model.Zone;
+import com.example.zoo_fantastico.reactive.service.ZoneService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import static com.example.zoo_fantastico.reactive.web.CreatureHandler.id;
+
+@Component
+public class ZoneHandler {
+
+    private final ZoneService zoneService;
+    private final RequestValidator validator;
+
+    public ZoneHandler(ZoneService zoneService, RequestValidator validator) {
+        this.zoneService = zoneService;
+        this.validator = validator;
+    }
+
+    public Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(Zone.class)
+                .flatMap(validator::valid)
+                .flatMap(zoneService::create)
+                .flatMap(saved -> ServerResponse.status(HttpStatus.CREATED).bodyValue(saved));
+    }
+
+    /** JSON array by default; one zone per line with {@code Accept: application/x-ndjson}. */
+    public Mono<ServerResponse> list(ServerRequest request) {
+        MediaType type = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(type).body(zoneService.findAllSummaries(), ZoneSummary.class);
+    }
+
+    public Mono<ServerResponse> byId(ServerRequest request) {
+        return zoneService.findSummaryById(id(request))
+                .flatMap(zone -> ServerResponse.ok().eTag(ETags.of(zone)).bodyValue(zone));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+        long id = id(request);
+        return request.bodyToMono(Zone.class)
+                .flatMap(validator::valid)
+                .flatMap(body -> zoneService.update(id, body))
+                .flatMap(saved -> ServerResponse.ok().bodyValue(saved));
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+        return zoneService.delete(id(request)).then(ServerResponse.noContent().build());
+    }
+}
@@ -0,0 +1,20 @@
+-- Same tables and columns as the servlet variant's Hibernate mapping (creature ids here come from AUTO_INCREMENT)
+CREATE TABLE IF NOT EXISTS zone (
+    id          BIGINT AUTO_INCREMENT PRIMARY KEY,
+    version     BIGINT       NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    capacity    INT          NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS creature (
+    id            BIGINT AUTO_INCREMENT PRIMARY KEY,
+    version       BIGINT       NOT NULL,
+    name          VARCHAR(255) NOT NULL,
+    species       VARCHAR(255) NOT NULL,
+    size          DOUBLE       NOT NULL,
+    danger_level  INT          NOT NULL,
+    health_status VARCHAR(255),
+    zone_id       BIGINT       NOT NULL,
+    CONSTRAINT fk_creature_zone FOREIGN KEY (zone_id) REFERENCES zone (id)
+);
@@ -0,0 +1,155 @@
+package com.example.zoo_fantastico.reactive;
+
+import com.example.zoo_fantastico.reactive.dto.CreatureView;
+import com.example.zoo_fantastico.reactive.dto.ZoneSummary;
+import com.example.zoo_fantastico.reactive.model.Zone;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+public class ReactiveApiTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    private Zone zone(int capacity) {
+        return client.post().uri("/api/zones")
+                .bodyValue(Map.of("name", "Pantano " + System.nanoTime(), "description", "Niebla", "capacity", capacity))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(Zone.class).returnResult().getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec createCreature(long zoneId, String name, String health) {
+        return client.post().uri("/api/creatures")
+                .bodyValue(Map.of("name", name, "species", "Hidra", "size", 3.0, "dangerLevel", 7,
+                        "healthStatus", health, "zone", Map.of("id", zoneId)))
+                .exchange();
+    }
+
+    @Test
+    void testCreatures_ShouldKeepServletRules() {
+        Zone zone = zone(2);
+        CreatureView hydra = createCreature(zone.getId(), "Hidra", "critical")
+                .expectStatus().isCreated()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0-0\"")
+                .expectBody(CreatureView.class).returnResult().getResponseBody();
+        assertEquals(zone.getName(), hydra.zoneName());
+
+        // Critical creatures cannot be deleted
+        client.delete().uri("/api/creatures/{id}", hydra.id()).exchange().expectStatus().isBadRequest();
+
+        client.put().uri("/api/creatures/{id}", hydra.id())
+                .bodyValue(Map.of("name", "Hidra", "species", "Hidra", "size", 3.0, "dangerLevel", 7,
+                        "healthStatus", "stable", "zone", Map.of("id", zone.getId())))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CreatureView.class).value(v -> assertEquals(1, v.version()));
+        client.delete().uri("/api/creatures/{id}", hydra.id()).exchange().expectStatus().isNoContent();
+        client.get().uri("/api/creatures/{id}", hydra.id()).exchange().expectStatus().isNotFound();
+
+        createCreature(zone.getId(), "A", "healthy").expectStatus().isCreated();
+        createCreature(zone.getId(), "B", "healthy").expectStatus().isCreated();
+        createCreature(zone.getId(), "C", "healthy").expectStatus().isEqualTo(409);
+        createCreature(zone.getId(), " ", "healthy").expectStatus().isBadRequest();
+        createCreature(999_999, "D", "healthy").expectStatus().isNotFound();
+    }
+
+    @Test
+    void testIfMatch_ShouldRejectStaleWritesWith412() {
+        Zone zone = zone(5);
+        CreatureView c = createCreature(zone.getId(), "Basilisco", "healthy")
+                .expectBody(CreatureView.class).returnResult().getResponseBody();
+        Map<String, Object> body = Map.of("name", "Basilisco", "species", "Hidra", "size", 3.0, "dangerLevel", 8,
+                "healthStatus", "healthy", "zone", Map.of("id", zone.getId()));
+
+        String tag = client.put().uri("/api/creatures/{id}", c.id()).header(HttpHeaders.IF_MATCH, "\"0-0\"")
+                .bodyValue(body).exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-0\"")
+                .returnResult(String.class).getResponseHeaders().getETag();
+        client.put().uri("/api/creatures/{id}", c.id()).header(HttpHeaders.IF_MATCH, "\"0-0\"")
+                .bodyValue(body).exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody(String.class).value(m -> assertTrue(m.contains("is at version 1, not 0")));
+        client.delete().uri("/api/creatures/{id}", c.id()).header(HttpHeaders.IF_MATCH, "\"0-0\"").exchange()
+                .expectStatus().isEqualTo(412);
+
+        // Renaming the zone changes the creature's tag, as in the servlet variant
+        client.put().uri("/api/zones/{id}", zone.getId())
+                .bodyValue(Map.of("name", zone.getName() + " Norte", "description", "Niebla", "capacity", 5))
+                .exchange().expectStatus().isOk();
+        client.get().uri("/api/creatures/{id}", c.id()).exchange()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-1\"");
+
+        client.delete().uri("/api/creatures/{id}", c.id()).header(HttpHeaders.IF_MATCH, tag).exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void testMalformedParameters_ShouldBe400() {
+        client.get().uri("/api/creatures/abc").exchange().expectStatus().isBadRequest();
+        client.delete().uri("/api/creatures/abc").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/zones/abc").exchange().expectStatus().isBadRequest();
+        client.get().uri("/api/creatures?after=x").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).value(m -> assertTrue(m.contains("after")));
+        client.get().uri("/api/creatures?limit=x").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testZones_ShouldRefuseDeletingNonEmptyZone() {
+        Zone zone = zone(5);
+        CreatureView c = createCreature(zone.getId(), "Grifo", "healthy")
+                .expectBody(CreatureView.class).returnResult().getResponseBody();
+
+        client.get().uri("/api/zones/{id}", zone.getId()).exchange()
+                .expectStatus().isOk()
+                .expectBody(ZoneSummary.class).value(z -> assertEquals(1, z.creatureCount()));
+        client.delete().uri("/api/zones/{id}", zone.getId()).exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody(String.class).value(m -> assertTrue(m.contains("contains 1 creatures")));
+
+        client.delete().uri("/api/creatures/{id}", c.id()).exchange().expectStatus().isNoContent();
+        client.delete().uri("/api/zones/{id}", zone.getId()).exchange().expectStatus().isNoContent();
+        client.get().uri("/api/zones/{id}", zone.getId()).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    void testList_ShouldPageByCursorOrStreamNdjson() {
+        Zone zone = zone(10);
+        for (int i = 0; i < 5; i++) createCreature(zone.getId(), "Sirena " + i, "healthy").expectStatus().isCreated();
+
+        List<CreatureView> page = client.get().uri("/api/creatures?limit=2").exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link -> assertTrue(link.contains("rel=\"next\"")))
+                .expectBodyList(CreatureView.class).returnResult().getResponseBody();
+        assertEquals(2, page.size());
+        assertTrue(page.get(0).id() < page.get(1).id());
+
+        // Only one line is requested at a time from the server's stream
+        Flux<CreatureView> stream = client.get().uri("/api/creatures?after={after}", page.get(1).id())
+                .accept(MediaType.APPLICATION_NDJSON).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CreatureView.class).getResponseBody();
+        StepVerifier.create(stream, 1)
+                .assertNext(v -> assertTrue(v.id() > page.get(1).id()))
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(v -> v.id() > page.get(1).id())
+                .verifyComplete();
+    }
+}
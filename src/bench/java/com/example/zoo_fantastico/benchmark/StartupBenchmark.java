@@ -0,0 +1,138 @@
+package com.example.zoo_fantastico.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time and footprint of the extracted {@code faststart} jar in three variants: plain JVM, with the
+ * Spring AOT code ({@code -Dspring.aot.enabled=true}) and with AOT plus the CDS archive built by the
+ * training run. Every run is a fresh process on a random port that is killed as soon as it logs
+ * {@code Started ... in X seconds (process running for Y)}; that line gives the startup time and its
+ * resident set size is read from {@code /proc/<pid>/status} at the same moment. The application-ready
+ * warm-ups that need MySQL only start after that line, so no database is needed.
+ *
+ * <p>Prints the median of {@code bench.runs} runs (after one discarded warm-up run) per variant and writes
+ * them to {@code target/startup-result.json}. With {@code bench.max-startup} (seconds) or
+ * {@code bench.max-rss} (MB) above zero, the AOT+CDS variant must stay under them or the build fails.
+ */
+public final class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile(
+            "Started \\S+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+    private static final Pattern VM_RSS = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+    private final Path dir = Path.of(System.getProperty("bench.dir", "target/faststart"));
+    private final String jar = System.getProperty("bench.jar", "zoo-fantastico-0.0.1-SNAPSHOT.jar");
+    private final int runs = Integer.getInteger("bench.runs", 5);
+    private final long timeoutSeconds = Long.getLong("bench.timeout", 120);
+
+    public static void main(String[] args) throws Exception {
+        StartupBenchmark benchmark = new StartupBenchmark();
+        double maxStartup = Double.parseDouble(System.getProperty("bench.max-startup", "0"));
+        double maxRss = Double.parseDouble(System.getProperty("bench.max-rss", "0"));
+
+        List<String> json = new ArrayList<>();
+        Result last = null;
+        for (String variant : List.of("jvm", "aot", "aot+cds")) {
+            Result r = benchmark.measure(variant);
+            System.out.printf(Locale.ROOT, "%-8s startup %6.3f s  process %6.3f s  rss %7.1f MB  (median of %d)%n",
+                    variant, r.startup(), r.process(), r.rssMb(), benchmark.runs);
+            json.add(String.format(Locale.ROOT,
+                    "{\"variant\":\"%s\",\"runs\":%d,\"startupSeconds\":%.3f,\"processSeconds\":%.3f,\"rssMb\":%.1f}",
+                    variant, benchmark.runs, r.startup(), r.process(), r.rssMb()));
+            last = r;
+        }
+        Path out = Path.of("target", "startup-result.json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, "[" + String.join(",\n", json) + "]\n");
+
+        List<String> regressions = new ArrayList<>();
+        if (maxStartup > 0 && last.process() > maxStartup) {
+            regressions.add(String.format(Locale.ROOT, "startup %.3f s > %.3f s", last.process(), maxStartup));
+        }
+        if (maxRss > 0 && last.rssMb() > maxRss) {
+            regressions.add(String.format(Locale.ROOT, "rss %.1f MB > %.1f MB", last.rssMb(), maxRss));
+        }
+        if (!regressions.isEmpty()) {
+            System.err.println("aot+cds startup regression: " + String.join(", ", regressions));
+            System.exit(1);
+        }
+    }
+
+    private Result measure(String variant) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        if (!variant.equals("jvm")) command.add("-Dspring.aot.enabled=true");
+        if (variant.equals("aot+cds")) {
+            if (!Files.exists(dir.resolve("application.jsa"))) {
+                throw new IllegalStateException("No CDS archive in " + dir + "; build it with mvn -Pfaststart package");
+            }
+            command.add("-XX:SharedArchiveFile=application.jsa");
+            command.add("-Xshare:auto");
+        }
+        command.addAll(List.of("-jar", jar, "--spring.profiles.active=faststart", "--server.port=0"));
+
+        run(command);
+        double[] startup = new double[runs];
+        double[] process = new double[runs];
+        double[] rss = new double[runs];
+        for (int i = 0; i < runs; i++) {
+            Result r = run(command);
+            startup[i] = r.startup();
+            process[i] = r.process();
+            rss[i] = r.rssMb();
+        }
+        return new Result(median(startup), median(process), median(rss));
+    }
+
+    /** One fresh process, stopped as soon as it reports the application started. */
+    private Result run(List<String> command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).directory(dir.toFile()).redirectErrorStream(true).start();
+        List<String> tail = new ArrayList<>();
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            String line;
+            while (System.nanoTime() < deadline && (line = out.readLine()) != null) {
+                Matcher m = STARTED.matcher(line);
+                if (m.find()) {
+                    double rss = rssMb(process.pid());
+                    return new Result(Double.parseDouble(m.group(1)), Double.parseDouble(m.group(2)), rss);
+                }
+                if (tail.size() == 20) tail.remove(0);
+                tail.add(line);
+            }
+        } finally {
+            process.destroyForcibly();
+            process.waitFor(10, TimeUnit.SECONDS);
+        }
+        throw new IllegalStateException("The application did not report it started:\n" + String.join("\n", tail));
+    }
+
+    /** Resident set size in MB, or -1 where {@code /proc} is not available. */
+    private static double rssMb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) return -1;
+        Matcher m = VM_RSS.matcher(Files.readString(status));
+        return m.find() ? Long.parseLong(m.group(1)) / 1024.0 : -1;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private record Result(double startup, double process, double rssMb) { }
+}
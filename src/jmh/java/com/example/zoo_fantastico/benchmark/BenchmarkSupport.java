@@ -0,0 +1,70 @@
+package com.example.zoo_fantastico.benchmark;
+
+import com.example.zoo_fantastico.ZooFantasticoApplication;
+import com.example.zoo_fantastico.dto.BatchItemResult;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Boots the application against a private in-memory H2 database and seeds it. */
+final class BenchmarkSupport {
+    private static final int SEED_BATCH = 5_000;
+
+    private BenchmarkSupport() { }
+
+    static ConfigurableApplicationContext start(String database) {
+        // Command-line arguments, so they win over the test application.properties on the classpath
+        return new SpringApplicationBuilder(ZooFantasticoApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.jpa.properties.hibernate.order_updates=true",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+    }
+
+    static Zone zone(ZoneService zoneService, String name, int capacity) {
+        Zone zone = new Zone();
+        zone.setName(name);
+        zone.setDescription("Benchmark zone");
+        zone.setCapacity(capacity);
+        return zoneService.create(zone);
+    }
+
+    static Creature creature(Zone zone, String name) {
+        Creature creature = new Creature();
+        creature.setName(name);
+        creature.setSpecies("Benchmark species");
+        creature.setSize(1.5);
+        creature.setDangerLevel(1 + name.length() % 10);
+        creature.setHealthStatus("healthy");
+        Zone ref = new Zone();
+        ref.setId(zone.getId());
+        creature.setZone(ref);
+        return creature;
+    }
+
+    /** Inserts {@code count} creatures into {@code zone} through the batch path and returns their ids. */
+    static List<Long> seed(CreatureService creatureService, Zone zone, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int from = 0; from < count; from += SEED_BATCH) {
+            List<Creature> batch = new ArrayList<>();
+            for (int i = from; i < Math.min(count, from + SEED_BATCH); i++) {
+                batch.add(creature(zone, "Seed " + i));
+            }
+            creatureService.createBatch(batch).stream().map(BatchItemResult::id).forEach(ids::add);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.zoo_fantastico.benchmark;
+
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** CreatureService hot paths against a seeded H2 database, with the entity cache enabled. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CreatureServiceBenchmark {
+
+    @Param({"10000"})
+    public int creatures;
+
+    private ConfigurableApplicationContext context;
+    private CreatureService creatureService;
+    private Zone zone;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("creatures");
+        creatureService = context.getBean(CreatureService.class);
+        // Room for everything the create benchmark will add during the trial
+        zone = BenchmarkSupport.zone(context.getBean(ZoneService.class), "Creature benchmark", Integer.MAX_VALUE / 2);
+        ids = BenchmarkSupport.seed(creatureService, zone, creatures);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() { context.close(); }
+
+    private long randomId() { return ids.get(ThreadLocalRandom.current().nextInt(ids.size())); }
+
+    @Benchmark
+    public Creature create() {
+        return creatureService.create(BenchmarkSupport.creature(zone, "Created"));
+    }
+
+    @Benchmark
+    public Creature findById() {
+        return creatureService.findById(randomId());
+    }
+
+    @Benchmark
+    public CreatureView findViewById() {
+        return creatureService.findViewById(randomId());
+    }
+
+    @Benchmark
+    public List<CreatureView> findFirstPage() {
+        return creatureService.findPage(0, CreatureService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Creature> findAll() {
+        return creatureService.findAll();
+    }
+
+    @Benchmark
+    public Creature update() {
+        long id = randomId();
+        return creatureService.update(id, BenchmarkSupport.creature(zone, "Updated " + id));
+    }
+}
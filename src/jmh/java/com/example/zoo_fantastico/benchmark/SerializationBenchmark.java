@@ -0,0 +1,70 @@
+package com.example.zoo_fantastico.benchmark;
+
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Jackson serialization of the payloads returned by the REST layer (no database involved). */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SerializationBenchmark {
+
+    @Param({"100", "1000"})
+    public int size;
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+    private Zone zone;
+    private List<Creature> creatures;
+    private List<CreatureView> views;
+    private List<ZoneSummary> summaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        zone = new Zone();
+        zone.setId(1L);
+        zone.setName("Serialized zone");
+        zone.setDescription("Zone with a populated creature graph");
+        zone.setCapacity(size);
+        creatures = new ArrayList<>(size);
+        views = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Creature c = new Creature();
+            c.setId((long) i);
+            c.setName("Creature " + i);
+            c.setSpecies("Species " + i % 7);
+            c.setSize(i % 5);
+            c.setDangerLevel(1 + i % 10);
+            c.setHealthStatus("healthy");
+            c.setZone(zone);
+            creatures.add(c);
+            views.add(CreatureView.from(c));
+            summaries.add(new ZoneSummary((long) i, "Zone " + i, "Description " + i, 100, i % 100, 0));
+        }
+        zone.setCreatures(creatures);
+    }
+
+    @Benchmark
+    public byte[] creatureEntities() throws JsonProcessingException { return mapper.writeValueAsBytes(creatures); }
+
+    @Benchmark
+    public byte[] creatureViews() throws JsonProcessingException { return mapper.writeValueAsBytes(views); }
+
+    @Benchmark
+    public byte[] zoneWithCreatures() throws JsonProcessingException { return mapper.writeValueAsBytes(zone); }
+
+    @Benchmark
+    public byte[] zoneSummaries() throws JsonProcessingException { return mapper.writeValueAsBytes(summaries); }
+}
@@ -0,0 +1,52 @@
+package com.example.zoo_fantastico.benchmark;
+
+import com.example.zoo_fantastico.exception.ZoneNotEmptyException;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/** ZoneService.delete on a zone holding many creatures (the guard) and on an empty zone. */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ZoneDeleteBenchmark {
+
+    @Param({"1000", "50000"})
+    public int creaturesInZone;
+
+    private ConfigurableApplicationContext context;
+    private ZoneService zoneService;
+    private Zone largeZone;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkSupport.start("zones");
+        zoneService = context.getBean(ZoneService.class);
+        largeZone = BenchmarkSupport.zone(zoneService, "Large zone", creaturesInZone);
+        BenchmarkSupport.seed(context.getBean(CreatureService.class), largeZone, creaturesInZone);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() { context.close(); }
+
+    @Benchmark
+    public Object deleteLargeZone() {
+        try {
+            zoneService.delete(largeZone.getId());
+            throw new IllegalStateException("Large zone was deleted");
+        } catch (ZoneNotEmptyException expected) {
+            return expected;
+        }
+    }
+
+    @Benchmark
+    public void createAndDeleteEmptyZone() {
+        zoneService.delete(BenchmarkSupport.zone(zoneService, "Empty zone", 10).getId());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits for the bulk endpoints.
+ *
+ * @param chunkSize items written per transaction (keep it a multiple of hibernate.jdbc.batch_size)
+ * @param maxItems  largest payload accepted in a single request
+ */
+@ConfigurationProperties(prefix = "zoo.batch")
+public record BatchProperties(@DefaultValue("500") int chunkSize, @DefaultValue("10000") int maxItems) { }
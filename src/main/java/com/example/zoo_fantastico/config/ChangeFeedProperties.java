@@ -0,0 +1,23 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Change feed (SSE) limits.
+ *
+ * @param history          recent events kept in memory for resuming clients
+ * @param subscriberBuffer events queued per subscriber before it is considered too slow and disconnected
+ * @param deliveryThreads  threads writing to subscribers; request threads are never used
+ * @param timeout          lifetime of one SSE connection (clients reconnect with Last-Event-ID)
+ * @param heartbeat        interval of keep-alive comments on idle connections
+ */
+@ConfigurationProperties(prefix = "zoo.feed")
+public record ChangeFeedProperties(
+        @DefaultValue("10000") int history,
+        @DefaultValue("1000") int subscriberBuffer,
+        @DefaultValue("4") int deliveryThreads,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("15s") Duration heartbeat) { }
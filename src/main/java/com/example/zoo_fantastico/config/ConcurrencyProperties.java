@@ -0,0 +1,22 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Backpressure for the REST layer. With virtual threads Tomcat no longer caps concurrency, so this
+ * limit is what keeps in-flight requests proportional to the connection pool.
+ *
+ * @param enabled      turns the limit on; the "virtual" profile enables it
+ * @param maxInFlight  API requests allowed to run at the same time
+ * @param queueTimeout how long a request may wait for a slot before it is rejected with 503
+ * @param retryAfter   value sent in the Retry-After header of rejected requests
+ */
+@ConfigurationProperties(prefix = "zoo.concurrency")
+public record ConcurrencyProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256") int maxInFlight,
+        @DefaultValue("500ms") Duration queueTimeout,
+        @DefaultValue("1s") Duration retryAfter) { }
@@ -0,0 +1,52 @@
+package com.example.zoo_fantastico.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Raises the {@code creature_seq} table above the creature ids already in use when Hibernate manages the
+ * schema ({@code ddl-auto=update}). A database created while the ids were IDENTITY gets that table from
+ * Hibernate starting at 1, and the first insert would reuse an existing id. With versioned migrations,
+ * {@code V2__seed_creature_seq.sql} does the same. Native sequences (H2) are left alone: only fresh
+ * databases use them.
+ */
+@Component
+@Profile("!memory")
+@ConditionalOnProperty(name = "spring.jpa.hibernate.ddl-auto", havingValue = "update")
+@DependsOn("entityManagerFactory")
+public class CreatureSequenceInitializer {
+    // The pooled optimizer reads the value as the top of a block of allocationSize (50) ids
+    static final String SEED = "update creature_seq set next_val = greatest(next_val, " +
+            "(select coalesce(max(id), 0) + 50 from creature))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CreatureSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seed() {
+        if (Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) c -> sequenceTable(c.getMetaData())))) {
+            jdbcTemplate.update(SEED);
+        }
+    }
+
+    private static boolean sequenceTable(DatabaseMetaData metaData) throws SQLException {
+        for (String name : new String[]{"creature_seq", "CREATURE_SEQ"}) {
+            try (ResultSet tables = metaData.getTables(null, null, name, new String[]{"TABLE"})) {
+                if (tables.next()) return true;
+            }
+        }
+        return false;
+    }
+}
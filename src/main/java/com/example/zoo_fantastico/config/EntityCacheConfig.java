@@ -0,0 +1,72 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache backed by an in-process Caffeine JCache manager. Entity lookups by id
+ * (including the ones {@code update}/{@code delete} do internally) are served from memory, and
+ * Hibernate refreshes or evicts the exact entry on every write through the read-write strategy.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String ZONE_REGION = Zone.class.getName();
+    public static final String CREATURE_REGION = Creature.class.getName();
+    public static final String QUERY_REGION = "default-query-results-region";
+    public static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        // One manager per application context, so test contexts never share (or destroy) each other's regions
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("zoo-fantastico:" + System.identityHashCode(properties)), getClass().getClassLoader());
+        manager.createCache(ZONE_REGION, region(properties.zones()));
+        manager.createCache(CREATURE_REGION, region(properties.creatures()));
+        manager.createCache(QUERY_REGION, region(properties.queries()));
+        // Timestamps must outlive every cached query result, so this region is never size- or time-evicted
+        manager.createCache(TIMESTAMPS_REGION, region(null));
+        return manager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(EntityCacheProperties properties, CacheManager entityCacheManager) {
+        return hibernate -> {
+            hibernate.putAll(Map.of(
+                    AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.enabled(),
+                    AvailableSettings.USE_QUERY_CACHE, properties.enabled(),
+                    AvailableSettings.GENERATE_STATISTICS, properties.hibernateStatistics(),
+                    AvailableSettings.LOG_SESSION_METRICS, false,
+                    AvailableSettings.JAKARTA_SHARED_CACHE_MODE, "ENABLE_SELECTIVE"));
+            if (properties.enabled()) {
+                hibernate.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+                hibernate.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+                hibernate.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(EntityCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);
+        config.setNativeStatisticsEnabled(true);
+        if (region != null) {
+            config.setMaximumSize(OptionalLong.of(region.maxSize()));
+            config.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+        }
+        return config;
+    }
+}
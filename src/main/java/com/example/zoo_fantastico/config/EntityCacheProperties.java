@@ -0,0 +1,31 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the Hibernate second-level cache regions.
+ *
+ * @param enabled   turns the second-level and query caches on or off
+ * @param zones     region holding {@code Zone} entities (small, read constantly, rarely written)
+ * @param creatures region holding {@code Creature} entities
+ * @param queries   region holding cached query results (zone summaries)
+ * @param hibernateStatistics turns on Hibernate's session-factory statistics (exported as metrics); the
+ *                  region stats at {@code /api/cache/stats} come from Caffeine and do not need them
+ */
+@ConfigurationProperties(prefix = "zoo.cache")
+public record EntityCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Region zones,
+        @DefaultValue Region creatures,
+        @DefaultValue Region queries,
+        @DefaultValue("false") boolean hibernateStatistics) {
+
+    /**
+     * @param maxSize entries kept before size-based eviction
+     * @param ttl     time to live after the entry was written
+     */
+    public record Region(@DefaultValue("10000") long maxSize, @DefaultValue("10m") Duration ttl) { }
+}
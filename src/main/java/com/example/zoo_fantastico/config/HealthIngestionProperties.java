@@ -0,0 +1,22 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Buffering of health events between the ingestion endpoint and the database.
+ *
+ * @param capacity       distinct creatures that may have a pending status; beyond that events get 429
+ * @param flushThreshold pending creatures that trigger a flush before the next scheduled one
+ * @param flushInterval  delay between scheduled flushes
+ * @param maxAttempts    failed writes of one status (not counting database outages or concurrent updates)
+ *                       after which it is dropped instead of retried
+ */
+@ConfigurationProperties(prefix = "zoo.health")
+public record HealthIngestionProperties(
+        @DefaultValue("100000") int capacity,
+        @DefaultValue("5000") int flushThreshold,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("3") int maxAttempts) { }
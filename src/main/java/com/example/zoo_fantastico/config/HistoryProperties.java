@@ -0,0 +1,21 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Creature history ({@code GET /api/creatures/{id}/history}), kept in one table per month.
+ *
+ * @param capacity      changes waiting to be written; beyond that new ones are dropped (and counted)
+ * @param flushInterval delay between batched writes of the waiting changes
+ * @param retention     age after which a whole month of history is dropped
+ * @param pruneInterval delay between checks for months past the retention
+ */
+@ConfigurationProperties(prefix = "zoo.history")
+public record HistoryProperties(
+        @DefaultValue("100000") int capacity,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("365d") Duration retention,
+        @DefaultValue("1h") Duration pruneInterval) { }
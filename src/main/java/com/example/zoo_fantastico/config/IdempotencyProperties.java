@@ -0,0 +1,19 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@code Idempotency-Key} handling on the create endpoints.
+ *
+ * @param ttl         how long a completed request is remembered (and replayed) after it finished
+ * @param maxKeys     completed requests remembered at once; beyond that the least used are forgotten first
+ * @param waitTimeout how long a duplicate waits for the original request still in progress before getting 409
+ */
+@ConfigurationProperties(prefix = "zoo.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("100000") int maxKeys,
+        @DefaultValue("10s") Duration waitTimeout) { }
@@ -0,0 +1,22 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Adaptive load shedding driven by how long requests wait for a pooled JDBC connection.
+ *
+ * @param enabled        turns shedding on
+ * @param targetWait     mean connection wait above which writes start being shed; reads start at
+ *                       twice this value, and everything of that kind is shed at twice its threshold
+ * @param sampleInterval how often the wait is measured
+ * @param retryAfter     value sent in the Retry-After header of shed requests
+ */
+@ConfigurationProperties(prefix = "zoo.load-shedding")
+public record LoadSheddingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50ms") Duration targetWait,
+        @DefaultValue("1s") Duration sampleInterval,
+        @DefaultValue("1s") Duration retryAfter) { }
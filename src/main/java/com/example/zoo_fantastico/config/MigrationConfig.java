@@ -0,0 +1,22 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * {@code migrate} profile: Flyway applies the pending migrations while the context starts; this runner
+ * then shuts the application down, before the startup warm-ups (search index, statistics) would run.
+ */
+@Configuration
+@Profile("migrate")
+public class MigrationConfig {
+
+    @Bean
+    public ApplicationRunner exitAfterMigration(ConfigurableApplicationContext context) {
+        return args -> System.exit(SpringApplication.exit(context));
+    }
+}
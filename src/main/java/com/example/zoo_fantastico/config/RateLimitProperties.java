@@ -0,0 +1,46 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+/**
+ * Token-bucket budgets for the REST API. Reads (GET, HEAD, OPTIONS) and writes are budgeted
+ * separately, both per client and for the whole instance; a request needs a token from its client's
+ * bucket and from the global one.
+ *
+ * @param enabled      turns rate limiting on
+ * @param clientHeader header identifying the client (an API key set by the gateway); only honoured on
+ *                     requests coming from one of {@code trustedProxies}
+ * @param trustedProxies remote addresses of the gateways allowed to name the client; empty means the
+ *                     header is ignored and clients are told apart by principal or remote address
+ * @param maxClients   distinct clients tracked at once; idle ones are forgotten, and beyond this many
+ *                     the newcomers share one bucket
+ * @param clientReads  read budget of each client
+ * @param clientWrites write budget of each client
+ * @param globalReads  read budget of the instance
+ * @param globalWrites write budget of the instance
+ */
+@ConfigurationProperties(prefix = "zoo.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("X-Client-Id") String clientHeader,
+        @DefaultValue Set<String> trustedProxies,
+        @DefaultValue("10000") int maxClients,
+        @DefaultValue Bucket clientReads,
+        @DefaultValue Bucket clientWrites,
+        @DefaultValue Bucket globalReads,
+        @DefaultValue Bucket globalWrites) {
+
+    /**
+     * @param rate  tokens added per second; 0 or less means unlimited
+     * @param burst bucket size, i.e. how many requests may arrive back to back
+     */
+    public record Bucket(@DefaultValue("0") double rate, @DefaultValue("1") int burst) {
+
+        public boolean unlimited() {
+            return rate <= 0;
+        }
+    }
+}
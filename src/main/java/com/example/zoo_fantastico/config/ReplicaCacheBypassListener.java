@@ -0,0 +1,53 @@
+package com.example.zoo_fantastico.config;
+
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Keeps replica reads out of the second-level and query caches. A replica may lag behind the primary;
+ * a result it returns just after a write would otherwise be cached as current and served to everyone
+ * until it expires. Read-only transactions that go to a replica therefore bypass the caches entirely;
+ * they are used and filled by primary reads and by writes. (Read-but-don't-store, {@code CacheMode.GET},
+ * is not enough: Hibernate still stores query results after a query-cache miss in that mode.)
+ */
+public class ReplicaCacheBypassListener implements TransactionExecutionListener {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public ReplicaCacheBypassListener(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && transaction.isReadOnly() && !ReplicaRoutingDataSource.pinnedToPrimary()) {
+            setCacheModes(CacheRetrieveMode.BYPASS, CacheStoreMode.BYPASS);
+        }
+    }
+
+    // With open-in-view the session outlives the transaction; give later ones the default back
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (transaction.isReadOnly()) setCacheModes(CacheRetrieveMode.USE, CacheStoreMode.USE);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        if (transaction.isReadOnly()) setCacheModes(CacheRetrieveMode.USE, CacheStoreMode.USE);
+    }
+
+    private void setCacheModes(CacheRetrieveMode retrieve, CacheStoreMode store) {
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        EntityManager entityManager = emf == null ? null : EntityManagerFactoryUtils.getTransactionalEntityManager(emf);
+        if (entityManager == null) return;
+        entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_RETRIEVE_MODE, retrieve);
+        entityManager.setProperty(AvailableSettings.JAKARTA_SHARED_CACHE_STORE_MODE, store);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.config.ReplicaProperties.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Primary/replica routing, active once {@code zoo.datasource.replicas[0].url} is set. The application
+ * DataSource is a {@link LazyConnectionDataSourceProxy}: it fetches the physical connection at the first
+ * statement, after the transaction manager has marked it read-only or not, and takes it from the
+ * replicas for read-only transactions and from the primary otherwise.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "zoo.datasource", name = "replicas[0].url")
+public class ReplicaDataSourceConfig {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaDataSource(HikariDataSource primaryDataSource, ReplicaProperties properties,
+                                                      MeterRegistry registry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            Replica replica = properties.replicas().get(i);
+            HikariDataSource pool = new HikariDataSource();
+            primaryDataSource.copyStateTo(pool);
+            pool.setPoolName("replica-" + i);
+            pool.setJdbcUrl(replica.url());
+            pool.setUsername(replica.username());
+            pool.setPassword(replica.password());
+            pool.setReadOnly(true);
+            // Replicas are not beans, so Actuator does not bind their pool metrics on its own
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replicas.add(pool);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, properties.selection(), registry);
+    }
+
+    /**
+     * Needs {@code spring.jpa.open-in-view=false}: Hibernate keeps a session's connection until the session
+     * closes, so with open-in-view a request that reads and then writes would send the write to the replica
+     * connection of the read (where a read-only replica rejects it).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaDataSource,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            log.warn("Read replicas are configured with spring.jpa.open-in-view enabled; writes after a read in the same request will fail");
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaCacheBypassListener replicaCacheBypassListener(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        return new ReplicaCacheBypassListener(entityManagerFactory);
+    }
+}
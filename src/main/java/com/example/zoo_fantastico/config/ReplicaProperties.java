@@ -0,0 +1,36 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas behind the {@code spring.datasource} primary. With at least one replica configured,
+ * {@code @Transactional(readOnly = true)} work is sent to a replica and everything else to the primary.
+ *
+ * @param replicas      read replicas; pool settings ({@code spring.datasource.hikari.*}) are taken from the primary
+ * @param selection     how a replica is picked for each read transaction
+ * @param readYourWrites after a client writes, its reads go to the primary for this long (covers replication lag);
+ *                      0 turns it off
+ */
+@ConfigurationProperties(prefix = "zoo.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("ROUND_ROBIN") Selection selection,
+        @DefaultValue("0s") Duration readYourWrites) {
+
+    public boolean enabled() {
+        return !replicas.isEmpty();
+    }
+
+    public record Replica(String url, String username, String password) { }
+
+    public enum Selection {
+        /** Each read transaction takes the next replica in turn. */
+        ROUND_ROBIN,
+        /** The replica with the fewest connections in use. */
+        LEAST_LOADED
+    }
+}
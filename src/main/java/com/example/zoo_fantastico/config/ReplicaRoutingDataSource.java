@@ -0,0 +1,110 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.config.ReplicaProperties.Selection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections for read-only transactions: from a replica picked round-robin or by fewest
+ * connections in use, or from the primary while the current thread is {@linkplain #pinPrimary pinned}
+ * to it (read-your-writes). A replica that cannot give a connection is skipped; if none can, the read
+ * falls back to the primary rather than failing.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<? extends DataSource> replicas;
+    private final Selection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas, Selection selection,
+                                    MeterRegistry registry) {
+        if (replicas.isEmpty()) throw new IllegalArgumentException("At least one replica is required");
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.fallbacks = Counter.builder("zoo.datasource.replica.fallbacks")
+                .description("Read transactions sent to the primary because no replica gave a connection")
+                .register(registry);
+    }
+
+    /** Sends this thread's read-only transactions to the primary until {@link #unpin()}. */
+    public static void pinPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    public static boolean pinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (pinnedToPrimary()) return primary.getConnection();
+        int first = pick();
+        for (int i = 0; i < replicas.size(); i++) {
+            DataSource replica = replicas.get((first + i) % replicas.size());
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                log.warn("Replica {} unavailable, trying the next one: {}", first + i, e.getMessage());
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica credentials come from zoo.datasource.replicas");
+    }
+
+    int pick() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        if (selection == Selection.ROUND_ROBIN) return start;
+        // Least loaded; scanning from the round-robin position spreads ties
+        int best = start;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            int candidate = (start + i) % replicas.size();
+            int load = activeConnections(replicas.get(candidate));
+            if (load < bestLoad) {
+                best = candidate;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private static int activeConnections(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+        }
+        return 0;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource hikari) hikari.close();
+        }
+    }
+}
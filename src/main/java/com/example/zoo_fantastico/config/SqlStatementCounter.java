@@ -0,0 +1,31 @@
+package com.example.zoo_fantastico.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread. A request filter opens a
+ * window with {@link #start()} and reads it back with {@link #stop()}; outside a window the
+ * inspector does nothing. Statements are passed through unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+
+    public void start() {
+        current.set(new int[1]);
+    }
+
+    /** Statements counted since {@link #start()} on this thread, or 0 when no window is open. */
+    public int stop() {
+        int[] count = current.get();
+        current.remove();
+        return count == null ? 0 : count[0];
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.zoo_fantastico.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * In-memory storage engine ({@code memory} profile).
+ *
+ * @param snapshotPath     file the data is saved to and restored from at startup; blank disables snapshots
+ * @param snapshotInterval delay between snapshots (one is also written on shutdown)
+ * @param stripes          number of lock stripes over the creature table, rounded up to a power of two
+ * @param walDir           directory of the write-ahead log segments; blank disables the log (so does a
+ *                         blank {@code snapshotPath}, since only a snapshot lets the log be compacted)
+ * @param walCompactSize   log size past which a snapshot is taken in the background and the log is reset
+ * @param lockTimeout      how long a transaction waits for a zone or creature-stripe lock held by another
+ *                         one before failing, as a lock wait timeout does in the database
+ */
+@ConfigurationProperties(prefix = "zoo.storage")
+public record StorageProperties(
+        @DefaultValue("data/zoo-memory.snapshot") Path snapshotPath,
+        @DefaultValue("5m") Duration snapshotInterval,
+        @DefaultValue("64") int stripes,
+        @DefaultValue("data/wal") Path walDir,
+        @DefaultValue("64MB") DataSize walCompactSize,
+        @DefaultValue("10s") Duration lockTimeout) { }
@@ -0,0 +1,21 @@
+package com.example.zoo_fantastico.controller;
+
+import com.example.zoo_fantastico.dto.CacheRegionStats;
+import com.example.zoo_fantastico.service.CacheStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    public CacheController(CacheStatsService cacheStatsService) { this.cacheStatsService = cacheStatsService; }
+
+    @GetMapping("/stats")
+    public List<CacheRegionStats> stats() { return cacheStatsService.regions(); }
+}
@@ -0,0 +1,25 @@
+package com.example.zoo_fantastico.controller;
+
+import com.example.zoo_fantastico.web.ChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    private final ChangeFeed changeFeed;
+
+    public ChangeFeedController(ChangeFeed changeFeed) { this.changeFeed = changeFeed; }
+
+    // EventSource sends Last-Event-ID on reconnect; ?since= lets other clients pass a stored token
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestParam(required = false) Set<Long> zoneId,
+                              @RequestParam(required = false) String since,
+                              @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(zoneId, since != null ? since : lastEventId);
+    }
+}
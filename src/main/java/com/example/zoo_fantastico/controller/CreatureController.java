@@ -1,44 +1,200 @@
 package com.example.zoo_fantastico.controller;
 
+import com.example.zoo_fantastico.dto.BatchItemResult;
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureHistoryEntry;
+import com.example.zoo_fantastico.dto.CreatureSearchHit;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.dto.HealthEvent;
+import com.example.zoo_fantastico.exception.ResourceNotFoundException;
 import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.service.CreatureHistoryService;
+import com.example.zoo_fantastico.service.CreatureSearchService;
 import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.HealthEventService;
+import com.example.zoo_fantastico.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/creatures")
 public class CreatureController {
 
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final CreatureService creatureService;
+    private final CreatureSearchService searchService;
+    private final ObjectProvider<CreatureHistoryService> historyService;
+    private final HealthEventService healthEventService;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
 
-    public CreatureController(CreatureService creatureService) {
+    public CreatureController(CreatureService creatureService, CreatureSearchService searchService,
+                              ObjectProvider<CreatureHistoryService> historyService, HealthEventService healthEventService,
+                              IdempotencyService idempotencyService, ObjectMapper objectMapper) {
         this.creatureService = creatureService;
+        this.searchService = searchService;
+        this.historyService = historyService;
+        this.healthEventService = healthEventService;
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
     }
 
+    /** A retry with the same {@code Idempotency-Key} gets the original 201 instead of a second creature. */
     @PostMapping
-    public ResponseEntity<Creature> create(@Valid @RequestBody Creature creature) {
-        Creature saved = creatureService.create(creature);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    public ResponseEntity<CreatureView> create(@Valid @RequestBody Creature creature,
+                                               @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /api/creatures", idempotencyKey, creature, () -> {
+            CreatureView saved = CreatureView.from(creatureService.create(creature));
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.of(saved)).body(saved);
+        });
     }
 
     @GetMapping
-    public List<Creature> all() { return creatureService.findAll(); }
+    public ResponseEntity<List<CreatureView>> all(CreatureFilter filter,
+                                                  @RequestParam(defaultValue = "0") long after,
+                                                  @RequestParam(defaultValue = "" + CreatureService.DEFAULT_PAGE_SIZE) int limit) {
+        List<CreatureView> page = creatureService.findPage(filter, after, limit);
+        return withNextLink(page, limit, page.isEmpty() ? 0 : page.get(page.size() - 1).id());
+    }
+
+    /** Sparse fieldset ({@code ?fields=name,dangerLevel}): only those columns are selected; id is always included. */
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> all(CreatureFilter filter,
+                                                         @RequestParam(defaultValue = "0") long after,
+                                                         @RequestParam(defaultValue = "" + CreatureService.DEFAULT_PAGE_SIZE) int limit,
+                                                         @RequestParam String fields) {
+        List<Map<String, Object>> page = creatureService.findPage(filter, after, limit, FieldSet.parse(fields, CreatureView.class));
+        return withNextLink(page, limit, page.isEmpty() ? 0 : (Long) page.get(page.size() - 1).get("id"));
+    }
+
+    /**
+     * Ranked search over name and species ({@code ?q=dragon roj}): accent-insensitive, prefix and typo
+     * tolerant, served from the in-memory index. {@code X-Total-Count} holds the number of matches.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CreatureSearchHit>> search(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "0") int offset,
+                                                          @RequestParam(defaultValue = "" + CreatureService.DEFAULT_PAGE_SIZE) int limit) {
+        CreatureSearchService.Page page = searchService.search(q, offset, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header("X-Total-Count", Integer.toString(page.total()));
+        int next = offset + page.hits().size();
+        if (!page.hits().isEmpty() && next < page.total()) {
+            String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("offset", next)
+                    .replaceQueryParam("limit", limit)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + uri + ">; rel=\"next\"");
+        }
+        return response.body(page.hits());
+    }
+
+    private static <T> ResponseEntity<List<T>> withNextLink(List<T> page, int limit, long lastId) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.size() == CreatureService.pageSize(limit)) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", lastId)
+                    .replaceQueryParam("limit", limit)
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page);
+    }
+
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = out -> {
+            BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+            creatureService.streamAll(c -> {
+                try {
+                    buffered.write(objectMapper.writeValueAsBytes(c));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            buffered.flush();
+        };
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping("/batch")
+    public List<BatchItemResult> createBatch(@RequestBody List<Creature> creatures) {
+        return creatureService.createBatch(creatures);
+    }
 
+    @PutMapping("/batch")
+    public List<BatchItemResult> updateBatch(@RequestBody List<Creature> creatures) {
+        return creatureService.updateBatch(creatures);
+    }
+
+    @DeleteMapping("/batch")
+    public List<BatchItemResult> deleteBatch(@RequestBody List<Long> ids) {
+        return creatureService.deleteBatch(ids);
+    }
+
+    /** Sensor feed: statuses are buffered, coalesced per creature and written in batches (202, or 429 when full). */
+    @PostMapping("/health")
+    public ResponseEntity<Void> health(@RequestBody List<HealthEvent> events) {
+        healthEventService.submit(events);
+        return ResponseEntity.accepted().build();
+    }
+
+    // A matching If-None-Match is answered with 304 by Spring when the response carries an ETag
     @GetMapping("/{id}")
-    public Creature byId(@PathVariable Long id) { return creatureService.findById(id); }
+    public ResponseEntity<CreatureView> byId(@PathVariable Long id) {
+        CreatureView view = creatureService.findViewById(id);
+        return ResponseEntity.ok().eTag(ETags.of(view)).body(view);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> byId(@PathVariable Long id, @RequestParam String fields) {
+        return creatureService.findViewById(id, FieldSet.parse(fields, CreatureView.class));
+    }
+
+    /**
+     * Health, danger level, size and zone changes recorded in [{@code from}, {@code to}) (ISO instants,
+     * both optional), oldest first; paged by version with {@code after} like the creature list (versions start at 0).
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<CreatureHistoryEntry>> history(@PathVariable Long id,
+                                                              @RequestParam(required = false) Instant from,
+                                                              @RequestParam(required = false) Instant to,
+                                                              @RequestParam(defaultValue = "-1") long after,
+                                                              @RequestParam(defaultValue = "" + CreatureService.DEFAULT_PAGE_SIZE) int limit) {
+        CreatureHistoryService history = historyService.getIfAvailable();
+        if (history == null) throw new ResourceNotFoundException("Creature history is not kept by the in-memory storage engine");
+        List<CreatureHistoryEntry> page = history.history(id, from, to, after, limit);
+        return withNextLink(page, limit, page.isEmpty() ? 0 : page.get(page.size() - 1).version());
+    }
 
     @PutMapping("/{id}")
-    public Creature update(@PathVariable Long id, @Valid @RequestBody Creature updated) {
-        return creatureService.update(id, updated);
+    public ResponseEntity<CreatureView> update(@PathVariable Long id, @Valid @RequestBody Creature updated,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CreatureView view = CreatureView.from(creatureService.update(id, updated, ETags.expectedVersions(ifMatch)));
+        return ResponseEntity.ok().eTag(ETags.of(view)).body(view);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        creatureService.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        creatureService.delete(id, ETags.expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
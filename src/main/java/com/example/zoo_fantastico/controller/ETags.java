@@ -0,0 +1,59 @@
+package com.example.zoo_fantastico.controller;
+
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity tags derived from the {@code @Version} columns, the same for every response of a resource.
+ * A creature's tag is its version followed by its zone's version, because the body carries the zone
+ * name; a zone's tag is its version followed by its creature count, because the count changes without
+ * touching the zone row. {@code If-Match} is only compared against the leading version.
+ */
+final class ETags {
+
+    private ETags() { }
+
+    static String of(CreatureView creature) {
+        return quote(creature.version() + "-" + creature.zoneVersion());
+    }
+
+    static String of(ZoneSummary zone) {
+        return ofZone(zone.version(), zone.creatureCount());
+    }
+
+    static String ofZone(long version, long creatureCount) {
+        return quote(version + "-" + creatureCount);
+    }
+
+    /**
+     * Versions accepted by an {@code If-Match} header, one per tag of its comma-separated list, or null
+     * when the header is absent or {@code *}. Tags this server could not have issued are ignored.
+     */
+    static List<Long> expectedVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        List<Long> versions = new ArrayList<>();
+        for (String part : ifMatch.split(",")) {
+            String tag = part.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            tag = tag.replace("\"", "");
+            int dash = tag.indexOf('-');
+            try {
+                versions.add(Long.parseLong(dash < 0 ? tag : tag.substring(0, dash)));
+            } catch (NumberFormatException e) {
+                // not one of ours, so it cannot match
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new VersionConflictException("If-Match does not match any known version: " + ifMatch);
+        }
+        return versions;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
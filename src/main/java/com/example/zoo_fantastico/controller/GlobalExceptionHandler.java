@@ -1,11 +1,23 @@
 package com.example.zoo_fantastico.controller;
 
+import com.example.zoo_fantastico.dto.BatchItemResult;
+import com.example.zoo_fantastico.exception.BatchValidationException;
+import com.example.zoo_fantastico.exception.HealthQueueFullException;
+import com.example.zoo_fantastico.exception.IdempotencyKeyInProgressException;
+import com.example.zoo_fantastico.exception.IdempotencyKeyReusedException;
+import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
 import com.example.zoo_fantastico.exception.ZoneNotEmptyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import java.util.List;
+
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -15,4 +27,65 @@ public class GlobalExceptionHandler {
             .status(HttpStatus.CONFLICT)
             .body(ex.getMessage());
     }
+
+    @ExceptionHandler(BatchValidationException.class)
+    public ResponseEntity<List<BatchItemResult>> handleBatchValidationException(BatchValidationException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(ex.getErrors());
+    }
+
+    @ExceptionHandler(ZoneCapacityException.class)
+    public ResponseEntity<String> handleZoneCapacityException(ZoneCapacityException ex) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(ex.getMessage());
+    }
+
+    // If-Match did not match, or another writer committed first (the @Version check at flush)
+    @ExceptionHandler({VersionConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleVersionConflict(RuntimeException ex) {
+        return ResponseEntity
+            .status(HttpStatus.PRECONDITION_FAILED)
+            .body(ex instanceof VersionConflictException ? ex.getMessage()
+                : "The resource was modified concurrently; reload it and retry");
+    }
+
+    @ExceptionHandler(HealthQueueFullException.class)
+    public ResponseEntity<String> handleHealthQueueFullException(HealthQueueFullException ex) {
+        return ResponseEntity
+            .status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(ex.getMessage());
+    }
+
+    // The original request with this Idempotency-Key is still running
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<String> handleIdempotencyKeyInProgressException(IdempotencyKeyInProgressException ex) {
+        return ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+            .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        return ResponseEntity
+            .status(HttpStatus.UNPROCESSABLE_ENTITY)
+            .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<String> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        return ResponseEntity
+            .status(HttpStatus.NOT_FOUND)
+            .body(ex.getMessage());
+    }
+
+    @ExceptionHandler({IllegalStateException.class, IllegalArgumentException.class})
+    public ResponseEntity<String> handleBadRequest(RuntimeException ex) {
+        return ResponseEntity
+            .status(HttpStatus.BAD_REQUEST)
+            .body(ex.getMessage());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.example.zoo_fantastico.controller;
+
+import com.example.zoo_fantastico.dto.ImportReport;
+import com.example.zoo_fantastico.service.BulkFormat;
+import com.example.zoo_fantastico.service.ImportExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api")
+public class ImportExportController {
+
+    private final ImportExportService importExportService;
+    private final ObjectMapper objectMapper;
+
+    public ImportExportController(ImportExportService importExportService, ObjectMapper objectMapper) {
+        this.importExportService = importExportService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        BulkFormat bulkFormat = BulkFormat.of(format);
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = bulkFormat.writer(new BufferedOutputStream(out, 64 * 1024), objectMapper)) {
+                importExportService.exportAll(record -> {
+                    try {
+                        writer.write(record);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(bulkFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("zoo." + bulkFormat.extension()).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Streams the report back while the upload is still being read: one NDJSON line per rejected row,
+     * a progress line per committed chunk and a final {@code done} line. Runs on the request thread,
+     * so a long import is not cut short by the async request timeout.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public void importData(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BulkFormat bulkFormat = BulkFormat.of(MediaType.parseMediaType(request.getContentType()));
+        response.setContentType(CreatureController.APPLICATION_NDJSON.toString());
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 8 * 1024);
+        importExportService.importAll(bulkFormat.reader(request.getInputStream(), objectMapper), (ImportReport line) -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(line));
+                out.write('\n');
+                if (line.error() == null) out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+}
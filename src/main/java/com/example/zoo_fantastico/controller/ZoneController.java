@@ -1,42 +1,92 @@
 package com.example.zoo_fantastico.controller;
 
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.dto.ZoneStats;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.dto.ZoneTransferRequest;
+import com.example.zoo_fantastico.dto.ZoneTransferResult;
 import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.IdempotencyService;
 import com.example.zoo_fantastico.service.ZoneService;
+import com.example.zoo_fantastico.service.ZoneStatsService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/zones")
 public class ZoneController {
 
     private final ZoneService zoneService;
+    private final ZoneStatsService zoneStatsService;
+    private final IdempotencyService idempotencyService;
 
-    public ZoneController(ZoneService zoneService) {this.zoneService = zoneService; }
+    public ZoneController(ZoneService zoneService, ZoneStatsService zoneStatsService,
+                          IdempotencyService idempotencyService) {
+        this.zoneService = zoneService;
+        this.zoneStatsService = zoneStatsService;
+        this.idempotencyService = idempotencyService;
+    }
 
+    /** A retry with the same {@code Idempotency-Key} gets the original 201 instead of a second zone. */
     @PostMapping
-    public ResponseEntity<Zone> create(@Valid @RequestBody Zone zone) {
-        Zone saved = zoneService.create(zone);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    public ResponseEntity<Zone> create(@Valid @RequestBody Zone zone,
+                                       @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("POST /api/zones", idempotencyKey, zone, () -> {
+            Zone saved = zoneService.create(zone);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(ETags.ofZone(saved.getVersion(), 0)).body(saved);
+        });
     }
 
     @GetMapping
-    public List<Zone> all() { return zoneService.findAll(); }
+    public List<ZoneSummary> all() { return zoneService.findAllSummaries(); }
+
+    /** Sparse fieldset ({@code ?fields=name,creatureCount}); id is always included. */
+    @GetMapping(params = "fields")
+    public List<Map<String, Object>> all(@RequestParam String fields) {
+        return zoneService.findAllSummaries(FieldSet.parse(fields, ZoneSummary.class));
+    }
+
+    @GetMapping("/stats")
+    public List<ZoneStats> stats() { return zoneStatsService.all(); }
+
+    @GetMapping("/{id}/stats")
+    public ZoneStats stats(@PathVariable Long id) { return zoneStatsService.stats(id); }
 
     @GetMapping("/{id}")
-    public Zone byId(@PathVariable Long id) { return zoneService.findById(id); }
+    public ResponseEntity<ZoneSummary> byId(@PathVariable Long id) {
+        ZoneSummary zone = zoneService.findSummaryById(id);
+        return ResponseEntity.ok().eTag(ETags.of(zone)).body(zone);
+    }
+
+    @GetMapping(value = "/{id}", params = "fields")
+    public Map<String, Object> byId(@PathVariable Long id, @RequestParam String fields) {
+        return zoneService.findSummaryById(id, FieldSet.parse(fields, ZoneSummary.class));
+    }
 
     @PutMapping("/{id}")
-    public Zone update(@PathVariable Long id, @Valid @RequestBody Zone updated) {
-        return zoneService.update(id, updated);
+    public ResponseEntity<Zone> update(@PathVariable Long id, @Valid @RequestBody Zone updated,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Zone saved = zoneService.update(id, updated, ETags.expectedVersions(ifMatch));
+        // Same tag as GET, so it can be sent back in If-None-Match; the write pinned this request to the primary
+        return ResponseEntity.ok().eTag(ETags.of(zoneService.findSummaryById(id))).body(saved);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        zoneService.delete(id);
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        zoneService.delete(id, ETags.expectedVersions(ifMatch));
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /** Moves the listed creatures (or all of them) to another zone; 409 if the target lacks room for all. */
+    @PostMapping("/{id}/transfer")
+    public ZoneTransferResult transfer(@PathVariable Long id, @Valid @RequestBody ZoneTransferRequest request) {
+        return zoneService.transfer(id, request.targetZoneId(), request.creatureIds());
+    }
+}
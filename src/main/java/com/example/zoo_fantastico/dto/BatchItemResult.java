@@ -0,0 +1,15 @@
+package com.example.zoo_fantastico.dto;
+
+/** Outcome of one item of a bulk request; {@code index} is its position in the payload. */
+public record BatchItemResult(int index, Long id, Status status, String error) {
+
+    public enum Status { CREATED, UPDATED, DELETED, INVALID, FAILED }
+
+    public static BatchItemResult ok(int index, Long id, Status status) {
+        return new BatchItemResult(index, id, status, null);
+    }
+
+    public static BatchItemResult error(int index, Long id, Status status, String error) {
+        return new BatchItemResult(index, id, status, error);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.zoo_fantastico.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * One line of an export/import file: a zone or a creature, told apart by {@code type}. Fields that do
+ * not apply to the type are null (empty cells in CSV). Creatures point at their zone through
+ * {@code zoneId}, which on import refers to a zone earlier in the same file or to an existing zone.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"type", "id", "name", "description", "capacity", "species", "size", "dangerLevel", "healthStatus", "zoneId"})
+public record BulkRecord(String type, Long id, String name, String description, Integer capacity,
+                         String species, Double size, Integer dangerLevel, String healthStatus, Long zoneId) {
+
+    public static final String ZONE = "zone";
+    public static final String CREATURE = "creature";
+
+    public static BulkRecord of(ZoneSummary z) {
+        return new BulkRecord(ZONE, z.id(), z.name(), z.description(), z.capacity(), null, null, null, null, null);
+    }
+
+    public static BulkRecord of(CreatureView c) {
+        return new BulkRecord(CREATURE, c.id(), c.name(), null, null, c.species(), c.size(), c.dangerLevel(),
+                c.healthStatus(), c.zoneId());
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.zoo_fantastico.dto;
+
+/** Counters of one second-level cache region since startup. */
+public record CacheRegionStats(String region, long size, long hits, long misses, double hitRate, long evictions) { }
@@ -0,0 +1,50 @@
+package com.example.zoo_fantastico.dto;
+
+import com.example.zoo_fantastico.model.Zone;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A committed change to a creature or zone, as sent on the change feed. {@code data} is the new state
+ * ({@link CreatureView} or a detached {@link Zone} copy) and is null for deletions. {@code zoneId} is the
+ * zone the change belongs to (the zone itself for zone changes), used for feed filtering.
+ * {@code previous} is the creature as it was before an update or delete; it is not serialized and
+ * lets listeners such as the zone statistics apply the change as a delta.
+ */
+public record ChangeEvent(Entity entity, Type type, long id, Long zoneId, Object data,
+                          @JsonIgnore CreatureView previous) {
+
+    public enum Entity { CREATURE, ZONE }
+
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static ChangeEvent creatureCreated(CreatureView created) {
+        return new ChangeEvent(Entity.CREATURE, Type.CREATED, created.id(), created.zoneId(), created, null);
+    }
+
+    public static ChangeEvent creatureUpdated(CreatureView before, CreatureView after) {
+        return new ChangeEvent(Entity.CREATURE, Type.UPDATED, after.id(), after.zoneId(), after, before);
+    }
+
+    public static ChangeEvent creatureDeleted(CreatureView deleted) {
+        return new ChangeEvent(Entity.CREATURE, Type.DELETED, deleted.id(), deleted.zoneId(), null, deleted);
+    }
+
+    public static ChangeEvent zone(Type type, Zone zone) {
+        Zone copy = new Zone();
+        copy.setId(zone.getId());
+        copy.setVersion(zone.getVersion());
+        copy.setName(zone.getName());
+        copy.setDescription(zone.getDescription());
+        copy.setCapacity(zone.getCapacity());
+        return new ChangeEvent(Entity.ZONE, type, zone.getId(), zone.getId(), copy, null);
+    }
+
+    public static ChangeEvent zoneDeleted(long id) {
+        return new ChangeEvent(Entity.ZONE, Type.DELETED, id, id, null, null);
+    }
+
+    /** SSE event name, e.g. {@code creature.updated}. */
+    public String name() {
+        return entity.name().toLowerCase() + "." + type.name().toLowerCase();
+    }
+}
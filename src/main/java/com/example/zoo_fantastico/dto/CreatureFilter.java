@@ -0,0 +1,46 @@
+package com.example.zoo_fantastico.dto;
+
+import com.example.zoo_fantastico.model.Creature;
+
+import java.util.Set;
+
+/**
+ * Query parameters of the creature listing. Every field is optional; {@code sort} is
+ * {@code field[,asc|desc]} over id, name, species, size, dangerLevel or healthStatus.
+ */
+public record CreatureFilter(String species, String healthStatus, Long zoneId,
+                             Integer minDanger, Integer maxDanger, String sort) {
+
+    public static final CreatureFilter NONE = new CreatureFilter(null, null, null, null, null, null);
+    public static final Set<String> SORTABLE = Set.of("id", "name", "species", "size", "dangerLevel", "healthStatus");
+
+    public boolean isEmpty() {
+        return species == null && healthStatus == null && zoneId == null
+                && minDanger == null && maxDanger == null && sortField().equals("id") && !descending();
+    }
+
+    public String sortField() {
+        String field = sort == null ? "id" : sort.split(",")[0].trim();
+        if (!SORTABLE.contains(field)) {
+            throw new IllegalArgumentException("Cannot sort by '" + field + "'; use one of " + SORTABLE);
+        }
+        return field;
+    }
+
+    public boolean descending() {
+        String[] parts = sort == null ? new String[0] : sort.split(",");
+        return parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
+    }
+
+    /** Value of the sort field on {@code c}, used as the keyset cursor. */
+    public Comparable<?> sortValue(Creature c) {
+        return switch (sortField()) {
+            case "name" -> c.getName();
+            case "species" -> c.getSpecies();
+            case "size" -> c.getSize();
+            case "dangerLevel" -> c.getDangerLevel();
+            case "healthStatus" -> c.getHealthStatus();
+            default -> c.getId();
+        };
+    }
+}
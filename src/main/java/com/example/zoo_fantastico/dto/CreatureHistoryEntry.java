@@ -0,0 +1,10 @@
+package com.example.zoo_fantastico.dto;
+
+import java.time.Instant;
+
+/**
+ * State of a creature right after one change (before it, for {@code DELETED}). {@code version} is the
+ * creature's version after the change, so it orders a creature's history and serves as its cursor.
+ */
+public record CreatureHistoryEntry(long creatureId, long version, Instant recordedAt, ChangeEvent.Type type,
+                                   String healthStatus, int dangerLevel, double size, Long zoneId) { }
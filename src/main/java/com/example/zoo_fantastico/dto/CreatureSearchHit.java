@@ -0,0 +1,4 @@
+package com.example.zoo_fantastico.dto;
+
+/** One ranked search result; higher scores match the query better (exact over prefix over fuzzy, name over species). */
+public record CreatureSearchHit(double score, CreatureView creature) { }
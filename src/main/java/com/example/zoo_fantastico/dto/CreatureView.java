@@ -0,0 +1,22 @@
+package com.example.zoo_fantastico.dto;
+
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Flat read model of a creature: the zone is reduced to its id and name, so serializing it
+ * never walks back into Zone.creatures. {@code zoneVersion} is not serialized; with {@code version}
+ * it makes up the ETag, since a zone rename changes the body without touching the creature row.
+ */
+public record CreatureView(Long id, String name, String species, double size, int dangerLevel,
+                           String healthStatus, Long zoneId, String zoneName, long version,
+                           @JsonIgnore long zoneVersion) {
+
+    public static CreatureView from(Creature c) {
+        Zone zone = c.getZone();
+        return new CreatureView(c.getId(), c.getName(), c.getSpecies(), c.getSize(), c.getDangerLevel(),
+                c.getHealthStatus(), zone == null ? null : zone.getId(), zone == null ? null : zone.getName(), c.getVersion(),
+                zone == null ? 0 : zone.getVersion());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.zoo_fantastico.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+
+/**
+ * Sparse fieldset of a read model ({@code ?fields=name,dangerLevel}). Names are the components of the
+ * full view record; {@code id} is always included so that clients can still address the rows and
+ * keyset pagination keeps working.
+ */
+public record FieldSet(List<String> names) {
+
+    public FieldSet {
+        names = List.copyOf(names);
+    }
+
+    /** Parses a comma-separated list, rejecting names that {@code view} does not have. */
+    public static FieldSet parse(String fields, Class<? extends Record> view) {
+        Set<String> allowed = new LinkedHashSet<>();
+        for (RecordComponent component : view.getRecordComponents()) {
+            // Components left out of the JSON (such as the zone version behind a creature's ETag) are not fields
+            if (!component.getAccessor().isAnnotationPresent(JsonIgnore.class)) allowed.add(component.getName());
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String name : fields.split(",")) {
+            String field = name.trim();
+            if (field.isEmpty()) continue;
+            if (!allowed.contains(field)) {
+                throw new IllegalArgumentException("Unknown field '" + field + "'; use any of " + allowed);
+            }
+            names.add(field);
+        }
+        return new FieldSet(new ArrayList<>(names));
+    }
+
+    public boolean contains(String name) {
+        return names.contains(name);
+    }
+}
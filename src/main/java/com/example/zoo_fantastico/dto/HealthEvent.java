@@ -0,0 +1,4 @@
+package com.example.zoo_fantastico.dto;
+
+/** A sensor reading: the latest known health status of one creature. */
+public record HealthEvent(Long creatureId, String healthStatus) { }
@@ -0,0 +1,20 @@
+package com.example.zoo_fantastico.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of the import report. {@code error} lines name the offending input line; {@code progress}
+ * lines follow every committed chunk and a final {@code done} line carries the totals.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportReport(String type, Long line, String error,
+                           Long processed, Long zones, Long creatures, Long failed) {
+
+    public static ImportReport error(long line, String error) {
+        return new ImportReport("error", line, error, null, null, null, null);
+    }
+
+    public static ImportReport progress(boolean done, long processed, long zones, long creatures, long failed) {
+        return new ImportReport(done ? "done" : "progress", null, null, processed, zones, creatures, failed);
+    }
+}
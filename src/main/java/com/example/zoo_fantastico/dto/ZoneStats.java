@@ -0,0 +1,10 @@
+package com.example.zoo_fantastico.dto;
+
+import java.util.Map;
+
+/**
+ * Operational statistics of a zone. {@code occupancy} is creatureCount / capacity; {@code healthStatus}
+ * counts creatures per status.
+ */
+public record ZoneStats(long zoneId, String name, int capacity, long creatureCount, double occupancy,
+                        double averageDanger, int maxDanger, double totalSize, Map<String, Long> healthStatus) { }
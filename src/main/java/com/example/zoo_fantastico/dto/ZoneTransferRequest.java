@@ -0,0 +1,8 @@
+package com.example.zoo_fantastico.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/** Body of {@code POST /api/zones/{id}/transfer}; an empty or missing {@code creatureIds} moves every creature. */
+public record ZoneTransferRequest(@NotNull Long targetZoneId, List<Long> creatureIds) { }
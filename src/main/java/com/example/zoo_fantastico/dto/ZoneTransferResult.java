@@ -0,0 +1,4 @@
+package com.example.zoo_fantastico.dto;
+
+/** Outcome of a zone transfer: how many creatures moved from one zone to the other. */
+public record ZoneTransferResult(long fromZoneId, long targetZoneId, int moved) { }
@@ -0,0 +1,16 @@
+package com.example.zoo_fantastico.exception;
+
+import com.example.zoo_fantastico.dto.BatchItemResult;
+
+import java.util.List;
+
+public class BatchValidationException extends RuntimeException {
+    private final List<BatchItemResult> errors;
+
+    public BatchValidationException(List<BatchItemResult> errors) {
+        super(errors.size() + " item(s) of the batch are invalid; nothing was written");
+        this.errors = errors;
+    }
+
+    public List<BatchItemResult> getErrors() { return errors; }
+}
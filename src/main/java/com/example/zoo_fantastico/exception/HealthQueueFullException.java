@@ -0,0 +1,14 @@
+package com.example.zoo_fantastico.exception;
+
+public class HealthQueueFullException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public HealthQueueFullException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
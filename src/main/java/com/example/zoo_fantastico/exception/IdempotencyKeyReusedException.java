@@ -0,0 +1,7 @@
+package com.example.zoo_fantastico.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.zoo_fantastico.exception;
+
+public class VersionConflictException extends RuntimeException {
+    public VersionConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.zoo_fantastico.exception;
+
+public class ZoneCapacityException extends RuntimeException {
+    public ZoneCapacityException(String message) {
+        super(message);
+    }
+}
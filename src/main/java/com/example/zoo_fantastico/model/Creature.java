@@ -1,18 +1,40 @@
 package com.example.zoo_fantastico.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Table(indexes = {
+        // equality column(s) first, then dangerLevel for range filters and sorting
+        @Index(name = "idx_creature_zone_danger", columnList = "zone_id, danger_level"),
+        @Index(name = "idx_creature_species_danger", columnList = "species, danger_level"),
+        @Index(name = "idx_creature_health_danger", columnList = "health_status, danger_level"),
+        @Index(name = "idx_creature_danger", columnList = "danger_level")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 public class Creature {
+    // Pooled sequence (a table on MySQL): ids are handed out in blocks, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "creature_seq")
+    @SequenceGenerator(name = "creature_seq", sequenceName = "creature_seq", allocationSize = 50)
     private Long id;
 
+    // Optimistic lock: bumped on every update, exposed to clients as the ETag
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
     @NotBlank
     @Column(nullable = false)
     private String name;
@@ -29,9 +51,13 @@ public class Creature {
     private int dangerLevel;
 
     @NotBlank
+    @Size(max = 255)
     private String healthStatus;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "zone_id", nullable = false)
+    @JsonIgnoreProperties({"creatures", "hibernateLazyInitializer"})
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Zone zone;
 }
@@ -0,0 +1,21 @@
+package com.example.zoo_fantastico.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of creatures currently assigned to a zone, maintained transactionally by the services.
+ * Kept out of {@link Zone} so the hot counter row can be locked and rewritten without touching
+ * (or evicting from cache) the zone itself.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+public class ZoneOccupancy {
+    @Id
+    private Long zoneId;
+
+    @Column(nullable = false)
+    private int creatureCount;
+}
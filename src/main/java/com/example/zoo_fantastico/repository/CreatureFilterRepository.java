@@ -0,0 +1,25 @@
+package com.example.zoo_fantastico.repository;
+
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface CreatureFilterRepository {
+
+    /**
+     * Keyset page of creatures matching {@code filter}, in the requested order with id as tie-breaker.
+     * {@code after} is the id of the last creature of the previous page (0 for the first page) and
+     * {@code afterValue} its value of the sort field.
+     */
+    List<CreatureView> findFiltered(CreatureFilter filter, long after, Comparable<?> afterValue, int limit);
+
+    /** Same page as {@link #findFiltered}, selecting only the columns of {@code fields}. */
+    List<Map<String, Object>> findFilteredFields(CreatureFilter filter, long after, Comparable<?> afterValue,
+                                                 int limit, FieldSet fields);
+
+    Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields);
+}
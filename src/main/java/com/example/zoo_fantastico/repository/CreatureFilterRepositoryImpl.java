@@ -0,0 +1,107 @@
+package com.example.zoo_fantastico.repository;
+
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.*;
+
+import java.util.*;
+
+class CreatureFilterRepositoryImpl implements CreatureFilterRepository {
+
+    private final EntityManager entityManager;
+
+    CreatureFilterRepositoryImpl(EntityManager entityManager) { this.entityManager = entityManager; }
+
+    @Override
+    public List<CreatureView> findFiltered(CreatureFilter filter, long after, Comparable<?> afterValue, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CreatureView> query = cb.createQuery(CreatureView.class);
+        Root<Creature> c = query.from(Creature.class);
+        Join<Creature, Zone> z = c.join("zone");
+        query.select(cb.construct(CreatureView.class, c.get("id"), c.get("name"), c.get("species"), c.get("size"),
+                c.get("dangerLevel"), c.get("healthStatus"), z.get("id"), z.get("name"), c.get("version"),
+                z.get("version")));
+        page(cb, query, c, filter, after, afterValue);
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFilteredFields(CreatureFilter filter, long after, Comparable<?> afterValue,
+                                                        int limit, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Creature> c = query.from(Creature.class);
+        query.multiselect(columns(c, fields));
+        page(cb, query, c, filter, after, afterValue);
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream().map(this::toMap).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Creature> c = query.from(Creature.class);
+        query.multiselect(columns(c, fields)).where(cb.equal(c.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst().map(this::toMap);
+    }
+
+    // zoneId is read from the foreign key; the zone table is only joined when zoneName is requested
+    private static List<Selection<?>> columns(Root<Creature> c, FieldSet fields) {
+        Join<Creature, Zone> z = fields.contains("zoneName") ? c.join("zone") : null;
+        List<Selection<?>> columns = new ArrayList<>(fields.names().size());
+        for (String field : fields.names()) {
+            Selection<?> column = switch (field) {
+                case "zoneId" -> c.get("zone").get("id");
+                case "zoneName" -> z.get("name");
+                default -> c.get(field);
+            };
+            columns.add(column.alias(field));
+        }
+        return columns;
+    }
+
+    private Map<String, Object> toMap(Tuple row) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (TupleElement<?> element : row.getElements()) map.put(element.getAlias(), row.get(element));
+        return map;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void page(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Creature> c, CreatureFilter filter,
+                             long after, Comparable<?> afterValue) {
+        String field = filter.sortField();
+        boolean desc = filter.descending();
+
+        // Equality predicates first, then the range on dangerLevel, matching the composite indexes on Creature
+        List<Predicate> where = new ArrayList<>();
+        if (filter.zoneId() != null) where.add(cb.equal(c.get("zone").get("id"), filter.zoneId()));
+        if (filter.species() != null) where.add(cb.equal(c.get("species"), filter.species()));
+        if (filter.healthStatus() != null) where.add(cb.equal(c.get("healthStatus"), filter.healthStatus()));
+        if (filter.minDanger() != null) where.add(cb.ge(c.get("dangerLevel"), filter.minDanger()));
+        if (filter.maxDanger() != null) where.add(cb.le(c.get("dangerLevel"), filter.maxDanger()));
+
+        Path<Comparable> sortPath = c.get(field);
+        Path<Long> id = c.get("id");
+        if (after > 0) {
+            if (field.equals("id")) {
+                where.add(desc ? cb.lessThan(id, after) : cb.greaterThan(id, after));
+            } else {
+                // (field, id) strictly after the cursor row
+                Comparable value = (Comparable) afterValue;
+                where.add(cb.or(
+                        desc ? cb.lessThan(sortPath, value) : cb.greaterThan(sortPath, value),
+                        cb.and(cb.equal(sortPath, value), cb.greaterThan(id, after))));
+            }
+        }
+
+        query.where(where.toArray(Predicate[]::new));
+        query.orderBy(field.equals("id") ? List.of(desc ? cb.desc(id) : cb.asc(id))
+                : List.of(desc ? cb.desc(sortPath) : cb.asc(sortPath), cb.asc(id)));
+    }
+}
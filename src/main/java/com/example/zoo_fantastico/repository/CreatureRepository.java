@@ -1,6 +1,84 @@
 package com.example.zoo_fantastico.repository;
 
+import com.example.zoo_fantastico.dto.CreatureView;
 import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.CreatureStore;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface CreatureRepository extends JpaRepository<Creature, Long> { }
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CreatureRepository extends JpaRepository<Creature, Long>, CreatureFilterRepository, CreatureStore {
+
+    String VIEW = "select new com.example.zoo_fantastico.dto.CreatureView(" +
+            "c.id, c.name, c.species, c.size, c.dangerLevel, c.healthStatus, z.id, z.name, c.version, z.version) " +
+            "from Creature c join c.zone z ";
+
+    // CRUD methods that CreatureStore declares too, redeclared so that calls on the repository resolve
+    @Override
+    <S extends Creature> S save(S creature);
+
+    @Override
+    Optional<Creature> findById(Long id);
+
+    @Override
+    void delete(Creature creature);
+
+    @Query(VIEW + "where c.id = :id")
+    Optional<CreatureView> findViewById(@Param("id") long id);
+
+    // Keyset page: rows strictly after the cursor, ordered by id (uses the PK index, no OFFSET scan)
+    @Query(VIEW + "where c.id > :after order by c.id")
+    List<CreatureView> findPageAfter(@Param("after") long after, Pageable pageable);
+
+    // Server-side cursor over the whole table; must be consumed inside a transaction and closed.
+    // Projections are not managed entities, so nothing accumulates in the persistence context.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW + "order by c.id")
+    Stream<CreatureView> streamAll();
+
+    // Full per-zone histograms for the statistics reconciliation: [zoneId, dangerLevel, count, sum(size)]
+    @Query("select c.zone.id, c.dangerLevel, count(c), sum(c.size) from Creature c group by c.zone.id, c.dangerLevel")
+    List<Object[]> dangerHistogram();
+
+    // [zoneId, healthStatus, count]
+    @Query("select c.zone.id, c.healthStatus, count(c) from Creature c group by c.zone.id, c.healthStatus")
+    List<Object[]> healthHistogram();
+
+    // A query, not findAllById: the statistics reconciliation needs the rows of its own snapshot, not the cache's
+    @Query(VIEW + "where c.id in :ids")
+    List<CreatureView> findViewsById(@Param("ids") Collection<Long> ids);
+
+    // Zone transfers: rows are locked in id order, so overlapping transfers queue instead of deadlocking
+    @Query(value = "select id from creature where zone_id = :zoneId order by id for update", nativeQuery = true)
+    List<Long> lockIdsInZone(@Param("zoneId") long zoneId);
+
+    @Query(value = "select id from creature where zone_id = :zoneId and id in (:ids) order by id for update", nativeQuery = true)
+    List<Long> lockIdsInZone(@Param("zoneId") long zoneId, @Param("ids") Collection<Long> ids);
+
+    @Query(VIEW + "where z.id = :zoneId order by c.id")
+    List<CreatureView> findViewsInZone(@Param("zoneId") long zoneId);
+
+    @Query(VIEW + "where z.id = :zoneId and c.id in :ids order by c.id")
+    List<CreatureView> findViewsInZone(@Param("zoneId") long zoneId, @Param("ids") Collection<Long> ids);
+
+    // Set-based move; bumps the version like an entity update would. Clears the persistence context,
+    // whose copies of the moved creatures would otherwise still point at the old zone.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Creature c set c.zone = :to, c.version = c.version + 1 where c.zone.id = :fromId")
+    int moveAll(@Param("fromId") long fromId, @Param("to") Zone to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Creature c set c.zone = :to, c.version = c.version + 1 where c.zone.id = :fromId and c.id in :ids")
+    int move(@Param("fromId") long fromId, @Param("to") Zone to, @Param("ids") Collection<Long> ids);
+}
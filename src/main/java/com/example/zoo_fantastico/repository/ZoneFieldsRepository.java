@@ -0,0 +1,15 @@
+package com.example.zoo_fantastico.repository;
+
+import com.example.zoo_fantastico.dto.FieldSet;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface ZoneFieldsRepository {
+
+    /** Zone summaries ordered by id, selecting only the columns of {@code fields}. */
+    List<Map<String, Object>> findAllFields(FieldSet fields);
+
+    Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields);
+}
@@ -0,0 +1,47 @@
+package com.example.zoo_fantastico.repository;
+
+import com.example.zoo_fantastico.dto.FieldSet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+class ZoneFieldsRepositoryImpl implements ZoneFieldsRepository {
+
+    private final EntityManager entityManager;
+
+    ZoneFieldsRepositoryImpl(EntityManager entityManager) { this.entityManager = entityManager; }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(FieldSet fields) {
+        return query(fields, "order by z.id").getResultList().stream().map(ZoneFieldsRepositoryImpl::toMap).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields) {
+        return query(fields, "where z.id = :id").setParameter("id", id)
+                .getResultStream().findFirst().map(ZoneFieldsRepositoryImpl::toMap);
+    }
+
+    // Field names were checked against ZoneSummary, so they are safe to splice into the query. The
+    // occupancy counters are only joined when creatureCount is requested; like the full summaries,
+    // the results are query-cached (one entry per distinct field list).
+    private TypedQuery<Tuple> query(FieldSet fields, String tail) {
+        String select = fields.names().stream()
+                .map(f -> (f.equals("creatureCount") ? "cast(coalesce(o.creatureCount, 0) as Long)" : "z." + f) + " as " + f)
+                .collect(Collectors.joining(", "));
+        String join = fields.contains("creatureCount") ? "left join ZoneOccupancy o on o.zoneId = z.id " : "";
+        return entityManager.createQuery("select " + select + " from Zone z " + join + tail, Tuple.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true);
+    }
+
+    private static Map<String, Object> toMap(Tuple row) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (TupleElement<?> element : row.getElements()) map.put(element.getAlias(), row.get(element));
+        return map;
+    }
+}
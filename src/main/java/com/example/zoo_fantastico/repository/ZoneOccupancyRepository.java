@@ -0,0 +1,59 @@
+package com.example.zoo_fantastico.repository;
+
+import com.example.zoo_fantastico.model.ZoneOccupancy;
+import com.example.zoo_fantastico.storage.OccupancyStore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Counters are only ever read and written with single statements, never as managed entities: a
+ * counter loaded into the persistence context would go stale after the next bulk update.
+ */
+public interface ZoneOccupancyRepository extends JpaRepository<ZoneOccupancy, Long>, OccupancyStore {
+
+    @Modifying
+    @Query(value = "insert into zone_occupancy (zone_id, creature_count) values (:zoneId, 0)", nativeQuery = true)
+    void insertEmpty(@Param("zoneId") long zoneId);
+
+    @Modifying
+    @Query("delete from ZoneOccupancy o where o.zoneId = :zoneId")
+    void deleteCounter(@Param("zoneId") long zoneId);
+
+    // Check and increment in one statement: the row lock taken by UPDATE serializes concurrent
+    // reservations, so a nearly full zone can never be oversubscribed
+    @Modifying
+    @Query("update ZoneOccupancy o set o.creatureCount = o.creatureCount + :n where o.zoneId = :zoneId " +
+            "and o.creatureCount + :n <= (select z.capacity from Zone z where z.id = :zoneId)")
+    int tryReserve(@Param("zoneId") long zoneId, @Param("n") int n);
+
+    @Modifying
+    @Query("update ZoneOccupancy o set o.creatureCount = o.creatureCount + :n where o.zoneId = :zoneId")
+    int add(@Param("zoneId") long zoneId, @Param("n") int n);
+
+    @Query(value = "select creature_count from zone_occupancy where zone_id = :zoneId for update", nativeQuery = true)
+    Optional<Integer> lockCount(@Param("zoneId") long zoneId);
+
+    // Ordered by id so that concurrent callers always lock rows in the same order (no deadlocks)
+    @Query(value = "select zone_id, creature_count from zone_occupancy where zone_id in (:zoneIds) " +
+            "order by zone_id for update", nativeQuery = true)
+    List<Object[]> lockCounts(@Param("zoneIds") Collection<Long> zoneIds);
+
+    // Seeds the counter of zones created before counters existed (one statement, no rows loaded)
+    @Modifying
+    @Query(value = "insert into zone_occupancy (zone_id, creature_count) " +
+            "select z.id, (select count(*) from creature c where c.zone_id = z.id) from zone z " +
+            "where not exists (select 1 from zone_occupancy o where o.zone_id = z.id)", nativeQuery = true)
+    int backfillMissing();
+
+    @Modifying
+    @Query(value = "insert into zone_occupancy (zone_id, creature_count) " +
+            "select z.id, (select count(*) from creature c where c.zone_id = z.id) from zone z " +
+            "where z.id = :zoneId and not exists (select 1 from zone_occupancy o where o.zone_id = z.id)", nativeQuery = true)
+    int backfill(@Param("zoneId") long zoneId);
+}
@@ -1,6 +1,50 @@
 package com.example.zoo_fantastico.repository;
 
+import com.example.zoo_fantastico.dto.ZoneSummary;
 import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.ZoneStore;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ZoneRepository extends JpaRepository<Zone, Long> { }
\ No newline at end of file
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ZoneRepository extends JpaRepository<Zone, Long>, ZoneFieldsRepository, ZoneStore {
+
+    String SUMMARY = "select new com.example.zoo_fantastico.dto.ZoneSummary(" +
+            "z.id, z.name, z.description, z.capacity, cast(coalesce(o.creatureCount, 0) as Long), z.version) " +
+            "from Zone z left join ZoneOccupancy o on o.zoneId = z.id ";
+
+    // CRUD methods that ZoneStore declares too, redeclared so that calls on the repository resolve
+    @Override
+    <S extends Zone> S save(S zone);
+
+    @Override
+    Optional<Zone> findById(Long id);
+
+    @Override
+    Zone getReferenceById(Long id);
+
+    @Override
+    void delete(Zone zone);
+
+    // Counts come from the maintained occupancy counters, so no creature row is read.
+    // Results are query-cached; Hibernate invalidates them whenever the zone or counter table changes.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY + "order by z.id")
+    List<ZoneSummary> findAllSummaries();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(SUMMARY + "where z.id = :id")
+    Optional<ZoneSummary> findSummaryById(@Param("id") long id);
+
+    // Uncached cursor for exports; consume inside a transaction and close
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY + "order by z.id")
+    Stream<ZoneSummary> streamAllSummaries();
+}
@@ -0,0 +1,146 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.BulkRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.http.MediaType;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * File formats of {@code /api/export} and {@code /api/import}. Both are read and written one record at a
+ * time, so neither side holds the file in memory. A line that cannot be parsed becomes a {@link Row}
+ * carrying the error instead of aborting the whole read.
+ */
+public enum BulkFormat {
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson");
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+    private static final CsvSchema CSV_SCHEMA = CSV_MAPPER.schemaFor(BulkRecord.class).withHeader();
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    BulkFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType mediaType() { return mediaType; }
+
+    public String extension() { return extension; }
+
+    public static BulkFormat of(String name) {
+        for (BulkFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(name)) return f;
+        }
+        throw new IllegalArgumentException("Unsupported format '" + name + "'; use csv or ndjson");
+    }
+
+    public static BulkFormat of(MediaType contentType) {
+        for (BulkFormat f : values()) {
+            if (f.mediaType.isCompatibleWith(contentType)) return f;
+        }
+        throw new IllegalArgumentException("Unsupported content type " + contentType + "; use text/csv or application/x-ndjson");
+    }
+
+    /** A parsed input line: {@code record} on success, otherwise {@code error}. */
+    public record Row(long line, BulkRecord record, String error) { }
+
+    public SequenceWriter writer(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        return this == CSV
+                ? CSV_MAPPER.writer(CSV_SCHEMA).writeValues(out)
+                : objectMapper.writer().withRootValueSeparator("\n").writeValues(out);
+    }
+
+    public Iterator<Row> reader(InputStream in, ObjectMapper objectMapper) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        return this == CSV ? new CsvRows(reader, objectMapper) : new NdjsonRows(reader, objectMapper);
+    }
+
+    private static final class NdjsonRows implements Iterator<Row> {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private String next;
+        private long line;
+
+        NdjsonRows(Reader reader, ObjectMapper objectMapper) {
+            this.reader = (BufferedReader) reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    String candidate = reader.readLine();
+                    if (candidate == null) return false;
+                    line++;
+                    if (!candidate.isBlank()) next = candidate;
+                }
+                return true;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String text = next;
+            next = null;
+            try {
+                return new Row(line, objectMapper.readValue(text, BulkRecord.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "Unreadable line: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // Cells are read as strings and converted separately, so a bad value fails its row, not the file
+    private static final class CsvRows implements Iterator<Row> {
+        private final MappingIterator<Map<String, String>> rows;
+        private final ObjectMapper objectMapper;
+        private long line = 1;
+        private boolean broken;
+
+        CsvRows(Reader reader, ObjectMapper objectMapper) throws IOException {
+            this.rows = CSV_MAPPER.readerFor(Map.class).with(CsvSchema.emptySchema().withHeader()).readValues(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !broken && rows.hasNext();
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            line++;
+            Map<String, String> cells;
+            try {
+                cells = rows.nextValue();
+            } catch (IOException | RuntimeException e) {
+                // Past a malformed quote the column boundaries are unknown; stop rather than guess
+                broken = true;
+                return new Row(line, null, "Unreadable CSV, import stopped: " + e.getMessage());
+            }
+            cells.values().removeIf(String::isEmpty);
+            try {
+                return new Row(line, objectMapper.convertValue(cells, BulkRecord.class), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(line, null, "Unreadable line: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.CacheRegionStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Service;
+
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CacheStatsService {
+
+    private final CacheManager entityCacheManager;
+
+    public CacheStatsService(CacheManager entityCacheManager) { this.entityCacheManager = entityCacheManager; }
+
+    public List<CacheRegionStats> regions() {
+        List<CacheRegionStats> regions = new ArrayList<>();
+        for (String name : entityCacheManager.getCacheNames()) {
+            Cache<?, ?> cache = entityCacheManager.getCache(name).unwrap(Cache.class);
+            CacheStats stats = cache.stats();
+            regions.add(new CacheRegionStats(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                    stats.hitRate(), stats.evictionCount()));
+        }
+        regions.sort((a, b) -> a.region().compareTo(b.region()));
+        return regions;
+    }
+}
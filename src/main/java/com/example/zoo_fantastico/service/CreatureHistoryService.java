@@ -0,0 +1,315 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.config.HistoryProperties;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureHistoryEntry;
+import com.example.zoo_fantastico.dto.CreatureView;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Append-only history of creature health, danger level, size and zone. Committed changes are queued in
+ * memory and written in JDBC batches by a scheduled flush, so the request that made the change never
+ * waits for the history insert. Changes that touch none of those fields (a rename, say) are not recorded.
+ *
+ * <p>History is partitioned by month (UTC), one {@code creature_history_yyyyMM} table per month created on
+ * first use. A range query reads only the months it overlaps, and retention drops whole tables instead of
+ * deleting rows.
+ *
+ * <p>The history lives in the database only, so it is not kept with the in-memory storage engine.
+ */
+@Service
+@Profile("!memory")
+public class CreatureHistoryService {
+    private static final Logger log = LoggerFactory.getLogger(CreatureHistoryService.class);
+
+    static final String TABLE_PREFIX = "creature_history_";
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Pattern TABLE = Pattern.compile(TABLE_PREFIX + "(\\d{6})", Pattern.CASE_INSENSITIVE);
+    private static final String COLUMNS = "creature_id, version, recorded_at, change_type, health_status, danger_level, size, zone_id";
+
+    private static final RowMapper<CreatureHistoryEntry> ROW = (rs, n) -> new CreatureHistoryEntry(
+            rs.getLong("creature_id"), rs.getLong("version"), rs.getTimestamp("recorded_at").toInstant(),
+            ChangeEvent.Type.valueOf(rs.getString("change_type")), rs.getString("health_status"),
+            rs.getInt("danger_level"), rs.getDouble("size"), rs.getObject("zone_id", Long.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HistoryProperties properties;
+    private final BatchProperties batchProperties;
+
+    private final Queue<CreatureHistoryEntry> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile NavigableSet<YearMonth> partitions;
+    private final Counter written;
+    private final Counter dropped;
+
+    public CreatureHistoryService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  HistoryProperties properties, BatchProperties batchProperties,
+                                  MeterRegistry registry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.batchProperties = batchProperties;
+        Gauge.builder("zoo.history.pending", size, AtomicInteger::get)
+                .description("Creature changes waiting to be written to the history").register(registry);
+        this.written = Counter.builder("zoo.history.written")
+                .description("Creature changes written to the history").register(registry);
+        this.dropped = Counter.builder("zoo.history.dropped")
+                .description("Creature changes left out of the history because the queue was full").register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        record(event, Instant.now());
+    }
+
+    /** Queues the change if it touches a tracked field; never blocks, drops it when the queue is full. */
+    void record(ChangeEvent event, Instant at) {
+        if (event.entity() != ChangeEvent.Entity.CREATURE) return;
+        CreatureHistoryEntry entry = entry(event, at);
+        if (entry == null) return;
+        if (size.incrementAndGet() > properties.capacity()) {
+            size.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        pending.add(entry);
+    }
+
+    private static CreatureHistoryEntry entry(ChangeEvent event, Instant at) {
+        CreatureView before = (CreatureView) event.previous();
+        CreatureView after = (CreatureView) event.data();
+        return switch (event.type()) {
+            case CREATED -> of(after, after.version(), at, event.type());
+            case UPDATED -> tracked(before).equals(tracked(after)) ? null : of(after, after.version(), at, event.type());
+            // The row is gone, so the deletion takes the version a next update would have had
+            case DELETED -> of(before, before.version() + 1, at, event.type());
+        };
+    }
+
+    private static CreatureHistoryEntry of(CreatureView v, long version, Instant at, ChangeEvent.Type type) {
+        return new CreatureHistoryEntry(v.id(), version, at, type, v.healthStatus(), v.dangerLevel(), v.size(), v.zoneId());
+    }
+
+    private static List<Object> tracked(CreatureView v) {
+        return Arrays.asList(v.healthStatus(), v.dangerLevel(), v.size(), v.zoneId());
+    }
+
+    public int pendingCount() {
+        return size.get();
+    }
+
+    /**
+     * Changes of creature {@code creatureId} recorded in [{@code from}, {@code to}) (either end may be null
+     * for no bound) with a version above {@code after}, oldest first, at most {@code limit} of them. Only the
+     * monthly tables overlapping the range are read. Changes still waiting for the next flush are not included.
+     */
+    @Transactional(readOnly = true)
+    public List<CreatureHistoryEntry> history(long creatureId, Instant from, Instant to, long after, int limit) {
+        if (from != null && to != null && !from.isBefore(to)) throw new IllegalArgumentException("from: must be before to");
+        int size = CreatureService.pageSize(limit);
+        NavigableSet<YearMonth> months = partitions();
+        if (from != null) months = months.tailSet(month(from), true);
+        if (to != null) months = months.headSet(month(to.minusNanos(1)), true);
+
+        StringBuilder where = new StringBuilder(" where creature_id = ? and version > ?");
+        List<Object> args = new ArrayList<>(List.of(creatureId, after));
+        if (from != null) {
+            where.append(" and recorded_at >= ?");
+            args.add(Timestamp.from(from));
+        }
+        if (to != null) {
+            where.append(" and recorded_at < ?");
+            args.add(Timestamp.from(to));
+        }
+        args.add(0);
+        List<CreatureHistoryEntry> entries = new ArrayList<>();
+        for (YearMonth month : months) {
+            args.set(args.size() - 1, size - entries.size());
+            entries.addAll(jdbcTemplate.query("select " + COLUMNS + " from " + table(month) + where + " order by version limit ?",
+                    ROW, args.toArray()));
+            if (entries.size() == size) break;
+        }
+        return entries;
+    }
+
+    /**
+     * Writes every queued change, one transaction per chunk and month. A chunk that fails is retried row by
+     * row: rows already stored are skipped, and on any other error the rest waits for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${zoo.history.flush-interval:1s}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<CreatureHistoryEntry> batch = new ArrayList<>(size.get());
+            for (CreatureHistoryEntry e; (e = pending.poll()) != null; ) {
+                size.decrementAndGet();
+                batch.add(e);
+            }
+            Map<YearMonth, List<CreatureHistoryEntry>> byMonth = new TreeMap<>();
+            for (CreatureHistoryEntry e : batch) byMonth.computeIfAbsent(month(e.recordedAt()), m -> new ArrayList<>()).add(e);
+
+            int chunkSize = Math.max(1, batchProperties.chunkSize());
+            List<CreatureHistoryEntry> retry = new ArrayList<>();
+            byMonth.forEach((month, entries) -> {
+                for (int from = 0; from < entries.size(); from += chunkSize) {
+                    List<CreatureHistoryEntry> chunk = entries.subList(from, Math.min(from + chunkSize, entries.size()));
+                    if (!retry.isEmpty()) {
+                        retry.addAll(chunk);
+                        continue;
+                    }
+                    try {
+                        String table = ensurePartition(month);
+                        transactionTemplate.executeWithoutResult(tx -> insert(table, chunk));
+                        written.increment(chunk.size());
+                    } catch (DataAccessException e) {
+                        insertOneByOne(month, chunk, retry);
+                    }
+                }
+            });
+            for (CreatureHistoryEntry e : retry) {
+                size.incrementAndGet();
+                pending.add(e);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void insertOneByOne(YearMonth month, List<CreatureHistoryEntry> chunk, List<CreatureHistoryEntry> retry) {
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                insert(ensurePartition(month), List.of(chunk.get(i)));
+                written.increment();
+            } catch (DuplicateKeyException e) {
+                // Already recorded; nothing to do
+            } catch (DataAccessException e) {
+                log.warn("History write of {} changes failed, retrying on next flush: {}", chunk.size() - i, e.getMessage());
+                retry.addAll(chunk.subList(i, chunk.size()));
+                return;
+            }
+        }
+    }
+
+    private void insert(String table, List<CreatureHistoryEntry> rows) {
+        jdbcTemplate.batchUpdate("insert into " + table + " (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?, ?)", rows, rows.size(),
+                (ps, e) -> {
+                    ps.setLong(1, e.creatureId());
+                    ps.setLong(2, e.version());
+                    ps.setTimestamp(3, Timestamp.from(e.recordedAt()));
+                    ps.setString(4, e.type().name());
+                    ps.setString(5, e.healthStatus());
+                    ps.setInt(6, e.dangerLevel());
+                    ps.setDouble(7, e.size());
+                    ps.setObject(8, e.zoneId());
+                });
+    }
+
+    /** Drops the months that ended more than {@code zoo.history.retention} ago. */
+    @Scheduled(fixedDelayString = "${zoo.history.prune-interval:1h}")
+    public void prune() {
+        prune(Instant.now());
+    }
+
+    /** Months dropped. */
+    int prune(Instant now) {
+        // A month goes only once its last instant is past the retention, so nothing younger is lost
+        Instant cutoff = now.minus(properties.retention());
+        int dropped = 0;
+        for (YearMonth month : List.copyOf(partitions().headSet(month(cutoff), false))) {
+            jdbcTemplate.execute("drop table " + table(month));
+            partitions.remove(month);
+            dropped++;
+            log.info("Dropped creature history for {}", month);
+        }
+        return dropped;
+    }
+
+    /** Months that have a history table. */
+    NavigableSet<YearMonth> partitions() {
+        NavigableSet<YearMonth> known = partitions;
+        if (known == null) {
+            known = new ConcurrentSkipListSet<>(existingPartitions());
+            partitions = known;
+        }
+        return known;
+    }
+
+    private String ensurePartition(YearMonth month) {
+        String table = table(month);
+        if (partitions().contains(month)) return table;
+        try {
+            jdbcTemplate.execute("create table " + table + " (creature_id bigint not null, version bigint not null,"
+                    + " recorded_at timestamp(6) not null, change_type varchar(16) not null, health_status varchar(255),"
+                    + " danger_level int not null, size double precision not null, zone_id bigint,"
+                    + " primary key (creature_id, version))");
+            jdbcTemplate.execute("create index " + table + "_recorded_at on " + table + " (recorded_at)");
+        } catch (DataAccessException e) {
+            // Another instance may have created it first
+            if (!existingPartitions().contains(month)) throw e;
+        }
+        partitions.add(month);
+        return table;
+    }
+
+    private Set<YearMonth> existingPartitions() {
+        return jdbcTemplate.execute((ConnectionCallback<Set<YearMonth>>) c -> {
+            Set<YearMonth> months = new HashSet<>();
+            DatabaseMetaData meta = c.getMetaData();
+            try (ResultSet rs = meta.getTables(c.getCatalog(), c.getSchema(), "%", new String[]{"TABLE"})) {
+                while (rs.next()) {
+                    Matcher m = TABLE.matcher(rs.getString("TABLE_NAME"));
+                    if (m.matches()) months.add(YearMonth.parse(m.group(1), MONTH));
+                }
+            }
+            return months;
+        });
+    }
+
+    private static YearMonth month(Instant at) {
+        return YearMonth.from(at.atOffset(ZoneOffset.UTC));
+    }
+
+    private static String table(YearMonth month) {
+        return TABLE_PREFIX + month.format(MONTH);
+    }
+
+    // Last chance to write what is still queued before the datasource goes away
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
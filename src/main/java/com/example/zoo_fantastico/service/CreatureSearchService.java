@@ -0,0 +1,278 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.ReplicaRoutingDataSource;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureSearchHit;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.model.Zone;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over creature names and species, so searching never scans the creature table.
+ * Text is folded to lower case without accents ("Dragón" is indexed as "dragon") and split into words;
+ * each query word must match a word of the creature exactly, as a prefix ("drag") or, for words of
+ * {@value #FUZZY_MIN_LENGTH} letters or more, within one or two typos ("dargon"). Matches in the name weigh
+ * more than matches in the species.
+ *
+ * <p>The index follows committed {@link ChangeEvent}s, like the zone statistics, and is rebuilt from the
+ * database at startup and periodically to pick up changes made elsewhere; events committed during a
+ * rebuild are replayed on top of it.
+ */
+@Service
+public class CreatureSearchService {
+    private static final Logger log = LoggerFactory.getLogger(CreatureSearchService.class);
+
+    static final int FUZZY_MIN_LENGTH = 4;
+    private static final int LONG_WORD = 8;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final double NAME_WEIGHT = 2;
+    private static final double SPECIES_WEIGHT = 1;
+
+    private final CreatureService creatureService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private Queue<ChangeEvent> recording;
+
+    public CreatureSearchService(CreatureService creatureService, MeterRegistry registry) {
+        this.creatureService = creatureService;
+        Gauge.builder("zoo.search.documents", this, CreatureSearchService::size)
+                .description("Creatures in the search index").register(registry);
+    }
+
+    /**
+     * Creatures matching every word of {@code query}, best first (ties by name, then id), skipping the first
+     * {@code offset}. Returns at most {@code limit} hits; {@link Page#total()} counts all matches.
+     */
+    public Page search(String query, int offset, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty()) throw new IllegalArgumentException("q: must contain at least one letter or digit");
+        if (offset < 0) throw new IllegalArgumentException("offset: must not be negative");
+        int size = CreatureService.pageSize(limit);
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String word : words) {
+                Map<Long, Double> matches = index.match(word);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    for (Map.Entry<Long, Double> e : scores.entrySet()) e.setValue(e.getValue() + matches.get(e.getKey()));
+                }
+                if (scores.isEmpty()) return new Page(List.of(), 0);
+            }
+            // Keep only the best offset + size; sorting every match would be wasted on deep result sets
+            Comparator<CreatureSearchHit> rank = Comparator.comparingDouble(CreatureSearchHit::score).reversed()
+                    .thenComparing(h -> h.creature().name(), Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(h -> h.creature().id());
+            int keep = (int) Math.min((long) offset + size, Integer.MAX_VALUE);
+            PriorityQueue<CreatureSearchHit> best = new PriorityQueue<>(rank.reversed());
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                best.add(new CreatureSearchHit(e.getValue(), index.docs.get(e.getKey()).view));
+                if (best.size() > keep) best.poll();
+            }
+            List<CreatureSearchHit> ranked = new ArrayList<>(best);
+            ranked.sort(rank);
+            List<CreatureSearchHit> hits = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+            return new Page(List.copyOf(hits), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (recording != null) recording.add(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    /** Re-reads every creature (names and species only, via a cursor) and swaps in the new index. */
+    @Scheduled(fixedDelayString = "${zoo.search.rebuild-interval:30m}",
+               initialDelayString = "${zoo.search.rebuild-interval:30m}")
+    public void rebuild() {
+        Queue<ChangeEvent> concurrent = new ConcurrentLinkedQueue<>();
+        lock.writeLock().lock();
+        try {
+            recording = concurrent;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index fresh = new Index();
+        boolean complete = false;
+        // A lagging replica would bring back what was just written
+        ReplicaRoutingDataSource.pinPrimary();
+        try {
+            creatureService.streamAll(fresh::put);
+            complete = true;
+        } catch (RuntimeException e) {
+            // A partial index would hide creatures until the next rebuild; the current one is kept up to date by events
+            log.error("Search index rebuild failed; keeping the current index of {} creatures", size(), e);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+            lock.writeLock().lock();
+            try {
+                if (complete && recording == concurrent) {
+                    concurrent.forEach(fresh::apply);
+                    index = fresh;
+                }
+                if (recording == concurrent) recording = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public record Page(List<CreatureSearchHit> hits, int total) { }
+
+    /** Lower case, accents removed, split on anything that is not a letter or digit. */
+    static List<String> words(String text) {
+        if (text == null) return List.of();
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String w : SEPARATORS.split(folded)) {
+            if (!w.isEmpty()) words.add(w);
+        }
+        return words;
+    }
+
+    /**
+     * Optimal string alignment distance (Levenshtein plus transpositions of adjacent letters), or
+     * {@code max + 1} as soon as it is known to exceed {@code max}.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] prev2 = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int d = Math.min(Math.min(prev[j] + 1, cur[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d = Math.min(d, prev2[j - 2] + 1);
+                }
+                cur[j] = d;
+                rowMin = Math.min(rowMin, d);
+            }
+            if (rowMin > max) return max + 1;
+            int[] t = prev2; prev2 = prev; prev = cur; cur = t;
+        }
+        return Math.min(prev[b.length()], max + 1);
+    }
+
+    /** Not thread-safe; guarded by the service's lock (or private to a rebuild). */
+    private static final class Index {
+        // word -> creature id -> fields the word occurs in (NAME | SPECIES)
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+        private final Map<Long, Doc> docs = new HashMap<>();
+
+        private static final int NAME = 1, SPECIES = 2;
+
+        void apply(ChangeEvent event) {
+            if (event.entity() == ChangeEvent.Entity.ZONE) {
+                if (event.type() == ChangeEvent.Type.UPDATED && event.data() instanceof Zone zone) renameZone(zone);
+                return;
+            }
+            if (event.data() instanceof CreatureView view) put(view);
+            else remove(event.id());
+        }
+
+        void put(CreatureView view) {
+            remove(view.id());
+            Map<String, Integer> fields = new HashMap<>();
+            for (String w : words(view.name())) fields.merge(w, NAME, (a, b) -> a | b);
+            for (String w : words(view.species())) fields.merge(w, SPECIES, (a, b) -> a | b);
+            fields.forEach((word, mask) -> postings.computeIfAbsent(word, k -> new HashMap<>()).put(view.id(), mask));
+            docs.put(view.id(), new Doc(view, fields.keySet().toArray(String[]::new)));
+        }
+
+        void remove(long id) {
+            Doc doc = docs.remove(id);
+            if (doc == null) return;
+            for (String word : doc.words) {
+                Map<Long, Integer> ids = postings.get(word);
+                if (ids != null && ids.remove(id) != null && ids.isEmpty()) postings.remove(word);
+            }
+        }
+
+        private void renameZone(Zone zone) {
+            for (Map.Entry<Long, Doc> e : docs.entrySet()) {
+                CreatureView v = e.getValue().view;
+                if (zone.getId().equals(v.zoneId()) && !Objects.equals(zone.getName(), v.zoneName())) {
+                    e.setValue(new Doc(new CreatureView(v.id(), v.name(), v.species(), v.size(), v.dangerLevel(),
+                            v.healthStatus(), v.zoneId(), zone.getName(), v.version(), zone.getVersion()), e.getValue().words));
+                }
+            }
+        }
+
+        /** Best score of {@code word} for every creature it matches. */
+        Map<Long, Double> match(String word) {
+            Map<Long, Double> scores = new HashMap<>();
+            // Exact and prefix matches are one contiguous range of the sorted dictionary
+            for (Map.Entry<String, Map<Long, Integer>> e : postings.subMap(word, true, word + Character.MAX_VALUE, true).entrySet()) {
+                String term = e.getKey();
+                double quality = term.length() == word.length() ? 3 : 1 + (double) word.length() / term.length();
+                collect(scores, e.getValue(), quality);
+            }
+            if (word.length() >= FUZZY_MIN_LENGTH) {
+                int maxEdits = word.length() >= LONG_WORD ? 2 : 1;
+                for (Map.Entry<String, Map<Long, Integer>> e : postings.entrySet()) {
+                    String term = e.getKey();
+                    if (term.startsWith(word)) continue;
+                    // A typo in the first letters of a longer word still counts, so compare against its prefix too
+                    String candidate = term.length() > word.length() + maxEdits ? term.substring(0, word.length()) : term;
+                    int edits = distance(word, candidate, maxEdits);
+                    if (edits <= maxEdits) collect(scores, e.getValue(), (candidate == term ? 1.0 : 0.75) / (1 + edits));
+                }
+            }
+            return scores;
+        }
+
+        private static void collect(Map<Long, Double> scores, Map<Long, Integer> ids, double quality) {
+            ids.forEach((id, mask) -> {
+                double score = quality * ((mask & NAME) != 0 ? NAME_WEIGHT : SPECIES_WEIGHT);
+                scores.merge(id, score, Math::max);
+            });
+        }
+    }
+
+    private record Doc(CreatureView view, String[] words) { }
+}
@@ -1,43 +1,369 @@
 package com.example.zoo_fantastico.service;
 
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.dto.BatchItemResult;
+import com.example.zoo_fantastico.dto.BatchItemResult.Status;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.exception.BatchValidationException;
 import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.exception.VersionConflictException;
 import com.example.zoo_fantastico.model.Creature;
-import com.example.zoo_fantastico.repository.CreatureRepository;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.CreatureStore;
+import com.example.zoo_fantastico.storage.ZoneStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "zoo.service")
 public class CreatureService {
-    private final CreatureRepository creatureRepository;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
 
-    public CreatureService(CreatureRepository creatureRepository) {
-        this.creatureRepository = creatureRepository;
+    private final CreatureStore creatureStore;
+    private final ZoneStore zoneStore;
+    private final ZoneOccupancyService occupancyService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final HealthEventService healthEvents;
+    private final ApplicationEventPublisher events;
+
+    public CreatureService(CreatureStore creatureStore, ZoneStore zoneStore,
+                           ZoneOccupancyService occupancyService,
+                           TransactionTemplate transactionTemplate, Validator validator,
+                           BatchProperties batchProperties, HealthEventService healthEvents,
+                           ApplicationEventPublisher events) {
+        this.creatureStore = creatureStore;
+        this.zoneStore = zoneStore;
+        this.occupancyService = occupancyService;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+        this.healthEvents = healthEvents;
+        this.events = events;
+    }
+
+    /** Takes a place in the creature's zone (failing if it is full) and inserts the creature. */
+    @Transactional
+    public Creature create(Creature creature) {
+        if (creature.getZone() == null || creature.getZone().getId() == null) {
+            throw new IllegalArgumentException("zone.id is required");
+        }
+        long zoneId = creature.getZone().getId();
+        occupancyService.reserve(zoneId, 1);
+        creature.setZone(zoneStore.getReferenceById(zoneId));
+        Creature saved = creatureStore.save(creature);
+        events.publishEvent(ChangeEvent.creatureCreated(CreatureView.from(saved)));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Creature> findAll() { return creatureStore.findAll(); }
+
+    /** Keyset page: up to {@code limit} creatures with id greater than {@code after}, ordered by id. */
+    @Transactional(readOnly = true)
+    public List<CreatureView> findPage(long after, int limit) {
+        return findPage(CreatureFilter.NONE, after, limit);
+    }
+
+    /** Keyset page of the creatures matching {@code filter}, filtered and sorted in the database. */
+    @Transactional(readOnly = true)
+    public List<CreatureView> findPage(CreatureFilter filter, long after, int limit) {
+        if (filter.isEmpty()) {
+            return creatureStore.findPageAfter(after, PageRequest.ofSize(pageSize(limit)));
+        }
+        return creatureStore.findFiltered(filter, after, cursorValue(filter, after), pageSize(limit));
+    }
+
+    /** Same page as {@link #findPage(CreatureFilter, long, int)} with only the columns in {@code fields}. */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findPage(CreatureFilter filter, long after, int limit, FieldSet fields) {
+        return creatureStore.findFilteredFields(filter, after, cursorValue(filter, after), pageSize(limit), fields);
+    }
+
+    private Comparable<?> cursorValue(CreatureFilter filter, long after) {
+        if (after <= 0 || filter.sortField().equals("id")) return null;
+        // The cursor row's sort value; usually served by the entity cache
+        return filter.sortValue(creatureStore.findById(after).orElseThrow(() -> new IllegalArgumentException(
+                "Cursor creature " + after + " no longer exists; restart from the first page")));
+    }
+
+    public static int pageSize(int requested) { return Math.max(1, Math.min(requested, MAX_PAGE_SIZE)); }
+
+    /**
+     * Pushes every creature to {@code sink} straight off a JDBC cursor. Rows are read as projections,
+     * so the persistence context (and the heap) stays flat whatever the table size.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<CreatureView> sink) {
+        try (Stream<CreatureView> rows = creatureStore.streamAll()) {
+            rows.forEach(sink);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public CreatureView findViewById(Long id) {
+        return creatureStore.findViewById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Creature not found"));
     }
 
-    public Creature create(Creature creature) { return creatureRepository.save(creature); }
-    public List<Creature> findAll() { return creatureRepository.findAll(); }
+    @Transactional(readOnly = true)
+    public Map<String, Object> findViewById(long id, FieldSet fields) {
+        return creatureStore.findFieldsById(id, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("Creature not found"));
+    }
 
+    @Transactional(readOnly = true)
     public Creature findById(Long id) {
-        return creatureRepository.findById(id)
+        return creatureStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Creature not found"));
     }
 
+    @Transactional
     public Creature update(Long id, Creature updated) {
+        return update(id, updated, null);
+    }
+
+    /**
+     * Conditional update: {@code expectedVersions} (from If-Match) must include the stored version, or
+     * {@link VersionConflictException} is thrown. A concurrent writer that commits between this check
+     * and the flush is caught by the {@code @Version} column instead.
+     */
+    @Transactional
+    public Creature update(Long id, Creature updated, Collection<Long> expectedVersions) {
         Creature c = findById(id);
-        c.setName(updated.getName());
-        c.setSpecies(updated.getSpecies());
-        c.setSize(updated.getSize());
-        c.setDangerLevel(updated.getDangerLevel());
-        c.setHealthStatus(updated.getHealthStatus());
-        return creatureRepository.save(c);
+        checkVersion(expectedVersions, c.getVersion(), id);
+        CreatureView before = CreatureView.from(c);
+        copyFields(updated, c);
+        Creature saved = creatureStore.save(c);
+        creatureStore.flush(); // the change event carries the bumped version
+        events.publishEvent(ChangeEvent.creatureUpdated(before, CreatureView.from(saved)));
+        return saved;
     }
 
+    @Transactional
     public void delete(Long id) {
+        delete(id, null);
+    }
+
+    @Transactional
+    public void delete(Long id, Collection<Long> expectedVersions) {
         Creature c = findById(id);
-        if ("critical".equalsIgnoreCase(c.getHealthStatus())) {
+        checkVersion(expectedVersions, c.getVersion(), id);
+        if (isCritical(c)) {
             throw new IllegalStateException("Cannot delete a creature in critical health");
         }
-        creatureRepository.delete(c);
+        CreatureView deleted = CreatureView.from(c);
+        // Counter first, row second: the lock order of ZoneService.transfer
+        occupancyService.release(c.getZone().getId(), 1);
+        creatureStore.delete(c);
+        events.publishEvent(ChangeEvent.creatureDeleted(deleted));
+    }
+
+    // -------------------- batch --------------------
+
+    /**
+     * Inserts all creatures in JDBC batches, one transaction per chunk. The payload is validated up
+     * front (constraints and zone references) and rejected as a whole if any item is invalid; items
+     * that do not fit in their zone's remaining capacity are reported as failed.
+     */
+    public List<BatchItemResult> createBatch(List<Creature> creatures) {
+        checkBatchSize(creatures.size());
+        List<BatchItemResult> invalid = new ArrayList<>();
+        for (int i = 0; i < creatures.size(); i++) {
+            Creature c = creatures.get(i);
+            String error = violations(c);
+            if (error == null && (c.getZone() == null || c.getZone().getId() == null)) {
+                error = "zone.id: must not be null";
+            }
+            if (error != null) invalid.add(BatchItemResult.error(i, null, Status.INVALID, error));
+        }
+        if (invalid.isEmpty()) {
+            Set<Long> zoneIds = creatures.stream().map(c -> c.getZone().getId()).collect(Collectors.toSet());
+            Set<Long> existing = zoneStore.findAllById(zoneIds).stream().map(Zone::getId).collect(Collectors.toSet());
+            for (int i = 0; i < creatures.size(); i++) {
+                if (!existing.contains(creatures.get(i).getZone().getId())) {
+                    invalid.add(BatchItemResult.error(i, null, Status.INVALID, "Zone not found"));
+                }
+            }
+        }
+        if (!invalid.isEmpty()) throw new BatchValidationException(invalid);
+
+        return inChunks(creatures, (offset, chunk) -> {
+            Map<Long, Integer> free = occupancyService.reserveUpTo(
+                    ZoneOccupancyService.countByZone(chunk.stream().map(c -> c.getZone().getId()).toList()));
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Creature c = chunk.get(i);
+                if (free.merge(c.getZone().getId(), -1, Integer::sum) < 0) {
+                    results.add(BatchItemResult.error(offset + i, null, Status.FAILED, "Zone is full"));
+                    continue;
+                }
+                c.setId(null);
+                c.setZone(zoneStore.getReferenceById(c.getZone().getId()));
+                creatureStore.save(c);
+                events.publishEvent(ChangeEvent.creatureCreated(CreatureView.from(c)));
+                results.add(BatchItemResult.ok(offset + i, c.getId(), Status.CREATED));
+            }
+            return results;
+        });
+    }
+
+    /** Applies the same field copy as {@link #update} to every item; items must carry their id. */
+    public List<BatchItemResult> updateBatch(List<Creature> creatures) {
+        checkBatchSize(creatures.size());
+        List<BatchItemResult> invalid = new ArrayList<>();
+        for (int i = 0; i < creatures.size(); i++) {
+            Creature c = creatures.get(i);
+            String error = c.getId() == null ? "id: must not be null" : violations(c);
+            if (error != null) invalid.add(BatchItemResult.error(i, c.getId(), Status.INVALID, error));
+        }
+        if (!invalid.isEmpty()) throw new BatchValidationException(invalid);
+
+        return inChunks(creatures, (offset, chunk) -> {
+            Map<Long, Creature> existing = loadById(chunk.stream().map(Creature::getId).toList());
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            Map<Long, CreatureView> before = new LinkedHashMap<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Creature updated = chunk.get(i);
+                Creature c = existing.get(updated.getId());
+                if (c == null) {
+                    results.add(BatchItemResult.error(offset + i, updated.getId(), Status.FAILED, "Creature not found"));
+                    continue;
+                }
+                before.putIfAbsent(c.getId(), CreatureView.from(c));
+                copyFields(updated, c);
+                creatureStore.save(c);
+                results.add(BatchItemResult.ok(offset + i, c.getId(), Status.UPDATED));
+            }
+            creatureStore.flush();
+            before.forEach((id, view) ->
+                    events.publishEvent(ChangeEvent.creatureUpdated(view, CreatureView.from(existing.get(id)))));
+            return results;
+        });
+    }
+
+    /** Deletes by id; missing and critical creatures are reported per item and left untouched. */
+    public List<BatchItemResult> deleteBatch(List<Long> ids) {
+        checkBatchSize(ids.size());
+        List<BatchItemResult> invalid = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (ids.get(i) == null) invalid.add(BatchItemResult.error(i, null, Status.INVALID, "id: must not be null"));
+        }
+        if (!invalid.isEmpty()) throw new BatchValidationException(invalid);
+
+        return inChunks(ids, (offset, chunk) -> {
+            Map<Long, Creature> existing = loadById(chunk);
+            List<Creature> doomed = new ArrayList<>();
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                Creature c = existing.remove(id);
+                if (c == null) {
+                    results.add(BatchItemResult.error(offset + i, id, Status.FAILED, "Creature not found"));
+                } else if (isCritical(c)) {
+                    results.add(BatchItemResult.error(offset + i, id, Status.FAILED, "Cannot delete a creature in critical health"));
+                } else {
+                    doomed.add(c);
+                    results.add(BatchItemResult.ok(offset + i, id, Status.DELETED));
+                }
+            }
+            // Counters first, rows second: the lock order of ZoneService.transfer
+            occupancyService.releaseAll(ZoneOccupancyService.countByZone(
+                    doomed.stream().map(c -> c.getZone().getId()).toList()));
+            for (Creature c : doomed) {
+                events.publishEvent(ChangeEvent.creatureDeleted(CreatureView.from(c)));
+                creatureStore.delete(c);
+            }
+            return results;
+        });
+    }
+
+    private interface ChunkWriter<T> {
+        List<BatchItemResult> write(int offset, List<T> chunk);
+    }
+
+    /**
+     * Runs {@code writer} over consecutive chunks, each in its own transaction. A chunk that fails to
+     * commit is reported as failed item by item; the chunks before and after it are unaffected.
+     */
+    private <T> List<BatchItemResult> inChunks(List<T> items, ChunkWriter<T> writer) {
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        int chunkSize = Math.max(1, batchProperties.chunkSize());
+        for (int offset = 0; offset < items.size(); offset += chunkSize) {
+            int from = offset;
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            try {
+                results.addAll(transactionTemplate.execute(tx -> writer.write(from, chunk)));
+            } catch (RuntimeException e) {
+                String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (int i = 0; i < chunk.size(); i++) {
+                    Object item = chunk.get(i);
+                    Long id = item instanceof Creature c ? c.getId() : item instanceof Long l ? l : null;
+                    results.add(BatchItemResult.error(from + i, id, Status.FAILED, error));
+                }
+            }
+        }
+        return results;
+    }
+
+    private Map<Long, Creature> loadById(List<Long> ids) {
+        return creatureStore.findAllById(ids).stream()
+                .collect(Collectors.toMap(Creature::getId, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    private void checkBatchSize(int size) {
+        if (size > batchProperties.maxItems()) {
+            throw new IllegalArgumentException("Batch too large: " + size + " items (max " + batchProperties.maxItems() + ")");
+        }
+    }
+
+    private String violations(Creature c) {
+        Set<ConstraintViolation<Creature>> violations = validator.validate(c);
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // A status still buffered in HealthEventService is newer than the stored one. One that is being
+    // flushed concurrently bumps the version, so the delete then fails its optimistic lock instead.
+    private boolean isCritical(Creature c) {
+        String pending = healthEvents.pendingStatus(c.getId());
+        return "critical".equalsIgnoreCase(pending != null ? pending : c.getHealthStatus());
+    }
+
+    private static void checkVersion(Collection<Long> expected, long actual, Long id) {
+        if (expected != null && !expected.contains(actual)) {
+            throw new VersionConflictException(String.format(
+                "Creature %d is at version %d, not %s", id, actual,
+                expected.stream().map(String::valueOf).collect(Collectors.joining(" or "))));
+        }
+    }
+
+    private static void copyFields(Creature from, Creature to) {
+        to.setName(from.getName());
+        to.setSpecies(from.getSpecies());
+        to.setSize(from.getSize());
+        to.setDangerLevel(from.getDangerLevel());
+        to.setHealthStatus(from.getHealthStatus());
     }
 }
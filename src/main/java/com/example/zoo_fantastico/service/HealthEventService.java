@@ -0,0 +1,248 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.config.HealthIngestionProperties;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.HealthEvent;
+import com.example.zoo_fantastico.exception.HealthQueueFullException;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.storage.CreatureStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers health-status events and writes them in batches. Events are coalesced per creature (only the
+ * latest status is kept), so a sensor reporting many times between flushes costs one row update.
+ * The buffer is bounded by the number of distinct creatures pending; once full, new creatures are
+ * rejected with {@link HealthQueueFullException} until the next flush drains it.
+ *
+ * <p>An entry stays visible through {@link #pendingStatus} until the transaction that writes it has
+ * committed, so readers that combine the pending status with the stored one never miss an update.
+ */
+@Service
+public class HealthEventService {
+    private static final Logger log = LoggerFactory.getLogger(HealthEventService.class);
+
+    private final CreatureStore creatureStore;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskScheduler taskScheduler;
+    private final HealthIngestionProperties properties;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher events;
+    private final Validator validator;
+
+    private final Map<Long, String> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Failed writes per creature, for the status that failed; guarded by flushLock
+    private final Map<Long, Failure> failures = new HashMap<>();
+    private final Counter rejected;
+    private final Counter written;
+    private final Counter dropped;
+
+    private record Failure(String status, int attempts) { }
+
+    public HealthEventService(CreatureStore creatureStore, TransactionTemplate transactionTemplate,
+                              TaskScheduler taskScheduler, HealthIngestionProperties properties,
+                              BatchProperties batchProperties, ApplicationEventPublisher events,
+                              Validator validator, MeterRegistry registry) {
+        this.creatureStore = creatureStore;
+        this.transactionTemplate = transactionTemplate;
+        this.taskScheduler = taskScheduler;
+        this.properties = properties;
+        this.batchProperties = batchProperties;
+        this.events = events;
+        this.validator = validator;
+        Gauge.builder("zoo.health.pending", size, AtomicInteger::get)
+                .description("Creatures with a health status waiting to be written").register(registry);
+        this.rejected = Counter.builder("zoo.health.rejected")
+                .description("Health events refused because the buffer was full").register(registry);
+        this.written = Counter.builder("zoo.health.written")
+                .description("Creature health statuses written to the database").register(registry);
+        this.dropped = Counter.builder("zoo.health.dropped")
+                .description("Health statuses given up on after repeated write failures").register(registry);
+    }
+
+    /**
+     * Queues the events (later events for the same creature replace earlier ones). Events accepted
+     * before the buffer filled up stay queued even if the call ends with {@link HealthQueueFullException}.
+     */
+    public int submit(List<HealthEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            HealthEvent e = events.get(i);
+            if (e == null || e.creatureId() == null) {
+                throw new IllegalArgumentException("[" + i + "].creatureId: must not be null");
+            }
+            // The constraints of the column it ends up in, so a flush never fails on the value itself
+            Set<ConstraintViolation<Creature>> violations = validator.validateValue(Creature.class, "healthStatus", e.healthStatus());
+            if (!violations.isEmpty()) {
+                throw new IllegalArgumentException("[" + i + "].healthStatus: " + violations.iterator().next().getMessage());
+            }
+        }
+        int accepted = 0;
+        for (HealthEvent e : events) {
+            if (!offer(e.creatureId(), e.healthStatus())) {
+                rejected.increment(events.size() - accepted);
+                requestFlush();
+                throw new HealthQueueFullException(String.format(
+                    "Health event buffer is full; accepted %d of %d events", accepted, events.size()),
+                    Math.max(1, properties.flushInterval().toSeconds()));
+            }
+            accepted++;
+        }
+        if (size.get() >= properties.flushThreshold()) requestFlush();
+        return accepted;
+    }
+
+    private boolean offer(long creatureId, String status) {
+        boolean[] full = {false};
+        pending.compute(creatureId, (id, previous) -> {
+            if (previous == null && size.incrementAndGet() > properties.capacity()) {
+                size.decrementAndGet();
+                full[0] = true;
+                return null;
+            }
+            return status;
+        });
+        return !full[0];
+    }
+
+    /** Status received for the creature but not yet committed, or null if there is none. */
+    public String pendingStatus(long creatureId) {
+        return pending.get(creatureId);
+    }
+
+    public int pendingCount() {
+        return size.get();
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::flush, Instant.now());
+        }
+    }
+
+    /**
+     * Writes every pending status, one transaction per chunk. Entities come from the second-level
+     * cache where possible and updates go out as JDBC batches; the {@code @Version} check makes a
+     * chunk that races a concurrent PUT or delete fail. A failed chunk is retried one creature at a
+     * time, so one bad event cannot hold back the others; an event whose own write keeps failing is
+     * dropped after {@code zoo.health.max-attempts} flushes. Events for creatures that no longer exist
+     * are dropped.
+     */
+    @Scheduled(fixedDelayString = "${zoo.health.flush-interval:200ms}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            List<Map.Entry<Long, String>> snapshot = new ArrayList<>(pending.size());
+            pending.forEach((id, status) -> snapshot.add(Map.entry(id, status)));
+            int chunkSize = Math.max(1, batchProperties.chunkSize());
+            for (int from = 0; from < snapshot.size(); from += chunkSize) {
+                List<Map.Entry<Long, String>> chunk = snapshot.subList(from, Math.min(from + chunkSize, snapshot.size()));
+                try {
+                    written.increment(transactionTemplate.execute(tx -> write(chunk)));
+                } catch (RuntimeException e) {
+                    log.warn("Health status flush of {} creatures failed, retrying one by one: {}", chunk.size(), e.getMessage());
+                    writeOneByOne(chunk);
+                    continue;
+                }
+                committed(chunk);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void writeOneByOne(List<Map.Entry<Long, String>> chunk) {
+        for (int i = 0; i < chunk.size(); i++) {
+            List<Map.Entry<Long, String>> one = List.of(chunk.get(i));
+            try {
+                written.increment(transactionTemplate.execute(tx -> write(one)));
+                committed(one);
+            } catch (TransientDataAccessException | DataAccessResourceFailureException e) {
+                // The database, not the event: leave the rest for the next flush without counting attempts
+                log.warn("Health status write of {} creatures failed, retrying on next flush: {}", chunk.size() - i, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                failed(chunk.get(i), e);
+            }
+        }
+    }
+
+    // Only now, after commit, may readers fall back to the stored status
+    private void committed(List<Map.Entry<Long, String>> entries) {
+        for (Map.Entry<Long, String> entry : entries) {
+            failures.remove(entry.getKey());
+            if (pending.remove(entry.getKey(), entry.getValue())) size.decrementAndGet();
+        }
+    }
+
+    private void failed(Map.Entry<Long, String> entry, RuntimeException e) {
+        long id = entry.getKey();
+        Failure previous = failures.get(id);
+        int attempts = previous != null && previous.status().equals(entry.getValue()) ? previous.attempts() + 1 : 1;
+        if (attempts < properties.maxAttempts()) {
+            failures.put(id, new Failure(entry.getValue(), attempts));
+            log.warn("Health status of creature {} failed to write ({} of {} attempts): {}",
+                    id, attempts, properties.maxAttempts(), e.getMessage());
+            return;
+        }
+        failures.remove(id);
+        if (pending.remove(id, entry.getValue())) size.decrementAndGet();
+        dropped.increment();
+        log.error("Dropping health status '{}' of creature {} after {} failed attempts: {}",
+                entry.getValue(), id, attempts, e.getMessage());
+    }
+
+    private int write(List<Map.Entry<Long, String>> chunk) {
+        Map<Long, Creature> creatures = new HashMap<>();
+        creatureStore.findAllById(chunk.stream().map(Map.Entry::getKey).toList())
+                .forEach(c -> creatures.put(c.getId(), c));
+        Map<Long, CreatureView> before = new HashMap<>();
+        for (Map.Entry<Long, String> entry : chunk) {
+            Creature c = creatures.get(entry.getKey());
+            if (c != null && !entry.getValue().equals(c.getHealthStatus())) {
+                before.put(c.getId(), CreatureView.from(c));
+                c.setHealthStatus(entry.getValue());
+                creatureStore.save(c);
+            }
+        }
+        creatureStore.flush();
+        before.forEach((id, view) ->
+                events.publishEvent(ChangeEvent.creatureUpdated(view, CreatureView.from(creatures.get(id)))));
+        return before.size();
+    }
+
+    // Last chance to write what is still buffered before the datasource goes away
+    @PreDestroy
+    void drain() {
+        flush();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.IdempotencyProperties;
+import com.example.zoo_fantastico.exception.IdempotencyKeyInProgressException;
+import com.example.zoo_fantastico.exception.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates retried POSTs carrying an {@code Idempotency-Key}. The first request with a key runs;
+ * its response is remembered and replayed to every later request with the same key and body, so a
+ * client retrying after a timeout gets the original 201 instead of a second row.
+ *
+ * <p>Requests still running are tracked apart from the completed ones: a duplicate arriving meanwhile
+ * waits for the original instead of running again, and the in-flight map only ever holds as many keys as
+ * there are concurrent requests. Completed responses live in a Caffeine cache bounded by
+ * {@code zoo.idempotency.max-keys} and expired after {@code zoo.idempotency.ttl}. A request that fails is
+ * not remembered, so the client may retry it with the same key. The store is per instance; behind a load
+ * balancer retries must reach the same node (or the key be hashed to it) to be deduplicated.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Entry> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Entry> completed;
+    private final Counter replayed;
+
+    public IdempotencyService(IdempotencyProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        Gauge.builder("zoo.idempotency.keys", completed, Cache::estimatedSize)
+                .description("Completed requests remembered for Idempotency-Key replay").register(registry);
+        this.replayed = Counter.builder("zoo.idempotency.replayed")
+                .description("Duplicate requests answered with the original response").register(registry);
+    }
+
+    /**
+     * Runs {@code action} once per {@code scope} and {@code key}; without a key it simply runs. A repeated
+     * key with a different {@code request} body is refused, as it is most likely a client bug.
+     */
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Supplier<ResponseEntity<T>> action) {
+        if (key == null) return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = scope + ' ' + key;
+        Entry mine = new Entry(fingerprint(request), new CompletableFuture<>());
+        while (true) {
+            Entry existing = completed.getIfPresent(id);
+            if (existing == null) {
+                existing = inFlight.putIfAbsent(id, mine);
+                // The original may have completed between the two lookups
+                if (existing == null && (existing = completed.getIfPresent(id)) != null) inFlight.remove(id, mine);
+            }
+            if (existing == null) return run(id, mine, action);
+            ResponseEntity<T> response = await(key, mine, existing);
+            if (response != null) return response;
+            // The original failed and was forgotten; compete to run it again
+        }
+    }
+
+    private <T> ResponseEntity<T> run(String id, Entry entry, Supplier<ResponseEntity<T>> action) {
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(id, entry);
+            entry.response.completeExceptionally(e);
+            throw e;
+        }
+        completed.put(id, entry);
+        inFlight.remove(id, entry);
+        entry.response.complete(response);
+        return response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> await(String key, Entry mine, Entry existing) {
+        if (!Arrays.equals(mine.fingerprint, existing.fingerprint)) {
+            throw new IdempotencyKeyReusedException(
+                    HEADER + " '" + key + "' was already used with a different request body");
+        }
+        ResponseEntity<T> original;
+        try {
+            original = (ResponseEntity<T>) existing.response.get(properties.waitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(
+                    "A request with " + HEADER + " '" + key + "' is still in progress",
+                    Math.max(1, properties.waitTimeout().toSeconds()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(
+                    "Interrupted while waiting for " + HEADER + " '" + key + "'", 1);
+        } catch (ExecutionException e) {
+            // The original run failed; the first waiter to get here runs it again
+            return null;
+        }
+        replayed.increment();
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private record Entry(byte[] fingerprint, CompletableFuture<ResponseEntity<?>> response) { }
+}
@@ -0,0 +1,217 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.dto.BulkRecord;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.ChangeEvent.Type;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ImportReport;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.CreatureStore;
+import com.example.zoo_fantastico.storage.ZoneStore;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Whole-zoo export and import. Export walks two JDBC cursors (zones, then creatures) and hands each
+ * row to the caller as it is read. Import consumes its input the same way: rows are validated one by
+ * one, collected into chunks of {@code zoo.batch.chunk-size} and each chunk is written in its own
+ * transaction with batched inserts, so memory stays flat whatever the file size.
+ *
+ * <p>Imported rows always become new rows. Zone ids in the file are remembered (source id to new id)
+ * so creatures further down can point at them; a {@code zoneId} that no zone in the file declared
+ * refers to a zone that already exists. Bad rows are reported and skipped; a chunk that fails to
+ * commit reports every row in it.
+ */
+@Service
+public class ImportExportService {
+
+    private final ZoneStore zoneStore;
+    private final CreatureStore creatureStore;
+    private final ZoneOccupancyService occupancyService;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher events;
+
+    public ImportExportService(ZoneStore zoneStore, CreatureStore creatureStore,
+                               ZoneOccupancyService occupancyService,
+                               TransactionTemplate transactionTemplate, Validator validator,
+                               BatchProperties batchProperties, ApplicationEventPublisher events) {
+        this.zoneStore = zoneStore;
+        this.creatureStore = creatureStore;
+        this.occupancyService = occupancyService;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+        this.batchProperties = batchProperties;
+        this.events = events;
+    }
+
+    /** Zones first, so that re-importing the output resolves every creature's zone. */
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<BulkRecord> sink) {
+        try (Stream<ZoneSummary> zones = zoneStore.streamAllSummaries()) {
+            zones.map(BulkRecord::of).forEach(sink);
+        }
+        try (Stream<CreatureView> creatures = creatureStore.streamAll()) {
+            creatures.map(BulkRecord::of).forEach(sink);
+        }
+    }
+
+    /** Imports every row, sending errors and per-chunk progress to {@code report}; returns the totals. */
+    public ImportReport importAll(Iterator<BulkFormat.Row> rows, Consumer<ImportReport> report) {
+        Progress progress = new Progress();
+        int chunkSize = Math.max(1, batchProperties.chunkSize());
+        List<BulkFormat.Row> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            BulkFormat.Row row = rows.next();
+            progress.processed++;
+            if (row.record() != null && BulkRecord.ZONE.equals(row.record().type()) && row.record().id() != null) {
+                progress.declaredZones.add(row.record().id());
+            }
+            String error = row.error() != null ? row.error() : violations(row.record());
+            if (error != null) {
+                progress.failed++;
+                report.accept(ImportReport.error(row.line(), error));
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                write(chunk, progress, report);
+                chunk.clear();
+                report.accept(progress.report(false));
+            }
+        }
+        if (!chunk.isEmpty()) write(chunk, progress, report);
+        ImportReport done = progress.report(true);
+        report.accept(done);
+        return done;
+    }
+
+    private void write(List<BulkFormat.Row> chunk, Progress progress, Consumer<ImportReport> report) {
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(tx -> writeChunk(chunk, progress));
+        } catch (RuntimeException e) {
+            String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            progress.failed += chunk.size();
+            chunk.forEach(row -> report.accept(ImportReport.error(row.line(), error)));
+            return;
+        }
+        // Only committed zones may be referenced by later chunks
+        progress.zoneIds.putAll(result.zoneIds());
+        progress.zones += result.zoneIds().size();
+        progress.creatures += result.creatures();
+        progress.failed += result.errors().size();
+        result.errors().forEach(report);
+    }
+
+    private record ChunkResult(Map<Long, Long> zoneIds, int creatures, List<ImportReport> errors) { }
+
+    private ChunkResult writeChunk(List<BulkFormat.Row> chunk, Progress progress) {
+        Map<Long, Long> zoneIds = new HashMap<>();
+        List<ImportReport> errors = new ArrayList<>();
+        List<BulkFormat.Row> creatures = new ArrayList<>();
+        List<Long> targets = new ArrayList<>();
+        for (BulkFormat.Row row : chunk) {
+            BulkRecord r = row.record();
+            if (BulkRecord.ZONE.equals(r.type())) {
+                Zone zone = toZone(r);
+                zoneStore.save(zone);
+                occupancyService.register(zone.getId());
+                events.publishEvent(ChangeEvent.zone(Type.CREATED, zone));
+                if (r.id() != null) zoneIds.put(r.id(), zone.getId());
+                continue;
+            }
+            Long target = zoneIds.get(r.zoneId());
+            if (target == null) target = progress.zoneIds.get(r.zoneId());
+            if (target == null && progress.declaredZones.contains(r.zoneId())) {
+                errors.add(ImportReport.error(row.line(), "Zone " + r.zoneId() + " of this file was not imported"));
+                continue;
+            }
+            creatures.add(row);
+            targets.add(target != null ? target : r.zoneId());
+        }
+
+        Map<Long, Integer> free = occupancyService.reserveUpTo(ZoneOccupancyService.countByZone(targets));
+        int created = 0;
+        for (int i = 0; i < creatures.size(); i++) {
+            BulkFormat.Row row = creatures.get(i);
+            long zoneId = targets.get(i);
+            Integer left = free.computeIfPresent(zoneId, (id, n) -> n - 1);
+            if (left == null) {
+                errors.add(ImportReport.error(row.line(), "Zone not found"));
+                continue;
+            }
+            if (left < 0) {
+                errors.add(ImportReport.error(row.line(), "Zone is full"));
+                continue;
+            }
+            Creature c = toCreature(row.record());
+            c.setZone(zoneStore.getReferenceById(zoneId));
+            creatureStore.save(c);
+            events.publishEvent(ChangeEvent.creatureCreated(CreatureView.from(c)));
+            created++;
+        }
+        return new ChunkResult(zoneIds, created, errors);
+    }
+
+    private String violations(BulkRecord r) {
+        if (r.type() == null) return "type: must be zone or creature";
+        Set<? extends ConstraintViolation<?>> violations;
+        switch (r.type()) {
+            case BulkRecord.ZONE -> violations = validator.validate(toZone(r));
+            case BulkRecord.CREATURE -> {
+                if (r.zoneId() == null) return "zoneId: must not be null";
+                violations = validator.validate(toCreature(r));
+            }
+            default -> { return "type: must be zone or creature"; }
+        }
+        if (violations.isEmpty()) return null;
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    // Missing numbers fall back to values that fail validation rather than to valid defaults
+    private static Zone toZone(BulkRecord r) {
+        Zone zone = new Zone();
+        zone.setName(r.name());
+        zone.setDescription(r.description());
+        zone.setCapacity(r.capacity() == null ? 0 : r.capacity());
+        return zone;
+    }
+
+    private static Creature toCreature(BulkRecord r) {
+        Creature c = new Creature();
+        c.setName(r.name());
+        c.setSpecies(r.species());
+        c.setSize(r.size() == null ? -1 : r.size());
+        c.setDangerLevel(r.dangerLevel() == null ? 0 : r.dangerLevel());
+        c.setHealthStatus(r.healthStatus());
+        return c;
+    }
+
+    private static final class Progress {
+        final Map<Long, Long> zoneIds = new HashMap<>();
+        final Set<Long> declaredZones = new HashSet<>();
+        long processed, zones, creatures, failed;
+
+        ImportReport report(boolean done) {
+            return ImportReport.progress(done, processed, zones, creatures, failed);
+        }
+    }
+}
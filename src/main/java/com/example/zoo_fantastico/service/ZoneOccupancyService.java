@@ -0,0 +1,121 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.OccupancyStore;
+import com.example.zoo_fantastico.storage.ZoneStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-zone creature counters. Every method joins the caller's transaction, so a counter
+ * change commits or rolls back together with the creature rows that caused it. Zones written outside
+ * the services (scripts, older versions) get their counter seeded from the creature table on first use.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class ZoneOccupancyService {
+    private static final Logger log = LoggerFactory.getLogger(ZoneOccupancyService.class);
+
+    private final OccupancyStore occupancyStore;
+    private final ZoneStore zoneStore;
+
+    public ZoneOccupancyService(OccupancyStore occupancyStore, ZoneStore zoneStore) {
+        this.occupancyStore = occupancyStore;
+        this.zoneStore = zoneStore;
+    }
+
+    public void register(long zoneId) { occupancyStore.insertEmpty(zoneId); }
+
+    public void unregister(long zoneId) { occupancyStore.deleteCounter(zoneId); }
+
+    /** Takes {@code n} places in the zone, or fails without changing anything if they are not free. */
+    public void reserve(long zoneId, int n) {
+        if (occupancyStore.tryReserve(zoneId, n) == 0
+                && (occupancyStore.backfill(zoneId) == 0 || occupancyStore.tryReserve(zoneId, n) == 0)) {
+            Zone zone = zoneStore.findById(zoneId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+            throw new ZoneCapacityException(String.format(
+                    "Zone '%s' (ID: %d) has no room for %d more creature(s); capacity is %d.",
+                    zone.getName(), zone.getId(), n, zone.getCapacity()));
+        }
+    }
+
+    public void release(long zoneId, int n) { occupancyStore.add(zoneId, -n); }
+
+    /**
+     * Reserves as many of the requested places as each zone can still take. Counter rows are locked in
+     * zone id order, so concurrent batches cannot deadlock each other. Zones without a counter (that
+     * is, zones that do not exist) are granted nothing.
+     *
+     * @return places granted per zone id
+     */
+    public Map<Long, Integer> reserveUpTo(Map<Long, Integer> requested) {
+        Map<Long, Integer> granted = new HashMap<>();
+        if (requested.isEmpty()) return granted;
+        Map<Long, Integer> counts = lockedCounts(requested.keySet());
+        // Read capacities only once the counters are locked: a concurrent capacity change locks them too
+        Map<Long, Integer> capacities = zoneStore.findAllById(requested.keySet()).stream()
+                .collect(Collectors.toMap(Zone::getId, Zone::getCapacity));
+        counts.forEach((zoneId, count) -> {
+            int free = Math.max(0, capacities.get(zoneId) - count);
+            int n = Math.min(free, requested.get(zoneId));
+            if (n > 0) occupancyStore.add(zoneId, n);
+            granted.put(zoneId, n);
+        });
+        return granted;
+    }
+
+    /**
+     * Current counts of several zones, with their counter rows locked in zone id order until the
+     * transaction ends. Zones that do not exist are missing from the result.
+     */
+    public Map<Long, Integer> lockedCounts(Collection<Long> zoneIds) {
+        List<Object[]> counters = occupancyStore.lockCounts(zoneIds);
+        if (counters.size() < new HashSet<>(zoneIds).size()) {
+            zoneIds.forEach(occupancyStore::backfill);
+            counters = occupancyStore.lockCounts(zoneIds);
+        }
+        Map<Long, Integer> counts = new TreeMap<>();
+        for (Object[] row : counters) counts.put(((Number) row[0]).longValue(), ((Number) row[1]).intValue());
+        return counts;
+    }
+
+    /** Moves {@code n} places from one zone to another; both counters must already be locked. */
+    public void move(long fromZoneId, long toZoneId, int n) {
+        occupancyStore.add(fromZoneId, -n);
+        occupancyStore.add(toZoneId, n);
+    }
+
+    /** Releases places in several zones, in zone id order. */
+    public void releaseAll(Map<Long, Integer> released) {
+        new TreeMap<>(released).forEach((zoneId, n) -> { if (n > 0) release(zoneId, n); });
+    }
+
+    /** Current count with the counter row locked until the transaction ends. */
+    public int lockedCount(long zoneId) {
+        occupancyStore.backfill(zoneId);
+        return occupancyStore.lockCount(zoneId).orElse(0);
+    }
+
+    public static Map<Long, Integer> countByZone(Collection<Long> zoneIds) {
+        return zoneIds.stream().collect(Collectors.toMap(Function.identity(), id -> 1, Integer::sum, TreeMap::new));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int seeded = occupancyStore.backfillMissing();
+        if (seeded > 0) log.info("Seeded occupancy counters for {} zone(s)", seeded);
+    }
+}
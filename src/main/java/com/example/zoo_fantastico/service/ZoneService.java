@@ -1,48 +1,184 @@
 package com.example.zoo_fantastico.service;
 
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.ChangeEvent.Type;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.dto.ZoneTransferResult;
+import com.example.zoo_fantastico.dto.ZoneSummary;
 import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
 import com.example.zoo_fantastico.exception.ZoneNotEmptyException;
 import com.example.zoo_fantastico.model.Zone;
-import com.example.zoo_fantastico.repository.ZoneRepository;
+import com.example.zoo_fantastico.storage.CreatureStore;
+import com.example.zoo_fantastico.storage.ZoneStore;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
+@Observed(name = "zoo.service")
 public class ZoneService{
 
-    private final ZoneRepository zoneRepository;
+    private final ZoneStore zoneStore;
+    private final CreatureStore creatureStore;
+    private final ZoneOccupancyService occupancyService;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher events;
 
-    public ZoneService(ZoneRepository zoneRepository) {this.zoneRepository = zoneRepository; }
+    public ZoneService(ZoneStore zoneStore, CreatureStore creatureStore,
+                       ZoneOccupancyService occupancyService, BatchProperties batchProperties,
+                       ApplicationEventPublisher events) {
+        this.zoneStore = zoneStore;
+        this.creatureStore = creatureStore;
+        this.occupancyService = occupancyService;
+        this.batchProperties = batchProperties;
+        this.events = events;
+    }
+
+    @Transactional
+    public Zone create(Zone zone){
+        Zone saved = zoneStore.save(zone);
+        occupancyService.register(saved.getId());
+        events.publishEvent(ChangeEvent.zone(Type.CREATED, saved));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Zone> findAll() { return zoneStore.findAll(); }
 
-    public Zone create(Zone zone){ return zoneRepository.save(zone); }
+    @Transactional(readOnly = true)
+    public List<ZoneSummary> findAllSummaries() { return zoneStore.findAllSummaries(); }
+
+    @Transactional(readOnly = true)
+    public ZoneSummary findSummaryById(long id){
+        return zoneStore.findSummaryById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+    }
 
-    public List<Zone> findAll() { return zoneRepository.findAll(); }
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllSummaries(FieldSet fields) { return zoneStore.findAllFields(fields); }
 
+    @Transactional(readOnly = true)
+    public Map<String, Object> findSummaryById(long id, FieldSet fields){
+        return zoneStore.findFieldsById(id, fields)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+    }
+
+    @Transactional(readOnly = true)
     public Zone findById(long id){
-        return zoneRepository.findById(id)
+        return zoneStore.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
     }
 
+    @Transactional
     public Zone update(long id, Zone updated){
+        return update(id, updated, null);
+    }
+
+    // expectedVersions come from If-Match (any may match); null means unconditional (the @Version column still guards the flush)
+    @Transactional
+    public Zone update(long id, Zone updated, Collection<Long> expectedVersions){
         Zone z = findById(id);
+        checkVersion(expectedVersions, z.getVersion(), id);
+        if (updated.getCapacity() < z.getCapacity()) {
+            int count = occupancyService.lockedCount(id);
+            if (updated.getCapacity() < count) {
+                throw new ZoneCapacityException(String.format(
+                    "Cannot lower the capacity of zone '%s' (ID: %d) to %d because it contains %d creatures.",
+                    z.getName(), z.getId(), updated.getCapacity(), count));
+            }
+        }
         z.setName(updated.getName());
         z.setDescription(updated.getDescription());
         z.setCapacity(updated.getCapacity());
-        return zoneRepository.save(z);
+        Zone saved = zoneStore.save(z);
+        zoneStore.flush(); // the change event carries the bumped version
+        events.publishEvent(ChangeEvent.zone(Type.UPDATED, saved));
+        return saved;
     }
 
+    // The counter row stays locked until commit, so no creature can be added while the zone is deleted
+    @Transactional
     public void delete(long id){
+        delete(id, null);
+    }
+
+    @Transactional
+    public void delete(long id, Collection<Long> expectedVersions){
         Zone zone = findById(id);
-        if(!zone.getCreatures().isEmpty()){
+        checkVersion(expectedVersions, zone.getVersion(), id);
+        int count = occupancyService.lockedCount(id);
+        if(count > 0){
             throw new ZoneNotEmptyException(
                 String.format("Cannot delete zone '%s' (ID: %d) because it contains %d creatures. Remove all creatures first.", 
                     zone.getName(), 
                     zone.getId(), 
-                    zone.getCreatures().size())
+                    count)
             );
         }
-        zoneRepository.delete(zone);
+        occupancyService.unregister(id);
+        zoneStore.delete(zone);
+        events.publishEvent(ChangeEvent.zoneDeleted(id));
+    }
+
+    /**
+     * Moves creatures of zone {@code fromId} (those in {@code creatureIds}, or all of them when it is
+     * empty) to zone {@code toId} with a single UPDATE. Ids that are not in the source zone are ignored.
+     * Either every selected creature moves or, if the target lacks room, none does.
+     *
+     * <p>Locks are always taken in the same order: both occupancy counters by zone id, then the creature
+     * rows by id. Creature creates and deletes take their counter before touching rows as well, so
+     * concurrent transfers (in either direction) and single-row writes wait for each other instead of
+     * deadlocking.
+     */
+    @Transactional
+    public ZoneTransferResult transfer(long fromId, long toId, List<Long> creatureIds) {
+        if (fromId == toId) {
+            throw new IllegalArgumentException("Source and target zone must be different");
+        }
+        boolean all = creatureIds == null || creatureIds.isEmpty();
+        if (!all && creatureIds.size() > batchProperties.maxItems()) {
+            throw new IllegalArgumentException("Too many creatureIds: " + creatureIds.size()
+                    + " (max " + batchProperties.maxItems() + "); omit them to move the whole zone");
+        }
+        Map<Long, Integer> counts = occupancyService.lockedCounts(List.of(fromId, toId));
+        if (counts.size() < 2) throw new ResourceNotFoundException("Zone not found");
+        Zone target = findById(toId);
+
+        List<Long> ids = all ? creatureStore.lockIdsInZone(fromId) : creatureStore.lockIdsInZone(fromId, creatureIds);
+        if (ids.isEmpty()) return new ZoneTransferResult(fromId, toId, 0);
+        if (counts.get(toId) + ids.size() > target.getCapacity()) {
+            throw new ZoneCapacityException(String.format(
+                "Zone '%s' (ID: %d) has no room for %d more creature(s); capacity is %d and it holds %d.",
+                target.getName(), toId, ids.size(), target.getCapacity(), counts.get(toId)));
+        }
+
+        List<CreatureView> before = all ? creatureStore.findViewsInZone(fromId)
+                : creatureStore.findViewsInZone(fromId, creatureIds);
+        int moved = all ? creatureStore.moveAll(fromId, target) : creatureStore.move(fromId, target, ids);
+        occupancyService.move(fromId, toId, moved);
+        for (CreatureView v : before) {
+            events.publishEvent(ChangeEvent.creatureUpdated(v, new CreatureView(v.id(), v.name(), v.species(),
+                    v.size(), v.dangerLevel(), v.healthStatus(), toId, target.getName(), v.version() + 1, target.getVersion())));
+        }
+        return new ZoneTransferResult(fromId, toId, moved);
+    }
+
+    private static void checkVersion(Collection<Long> expected, long actual, long id) {
+        if (expected != null && !expected.contains(actual)) {
+            throw new VersionConflictException(String.format(
+                "Zone %d is at version %d, not %s", id, actual,
+                expected.stream().map(String::valueOf).collect(Collectors.joining(" or "))));
+        }
     }
 
 
@@ -0,0 +1,257 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.ReplicaRoutingDataSource;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ZoneStats;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.storage.CreatureStore;
+import com.example.zoo_fantastico.storage.ZoneStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-zone statistics kept in memory and updated from committed {@link ChangeEvent}s, so reading them
+ * never touches the creature table. Updates and deletes carry the previous state of the creature and
+ * are applied as deltas; danger levels are kept as a histogram (they range over 1..10), which keeps
+ * the maximum exact under deletions.
+ *
+ * <p>Changes made by other instances or directly in the database are not seen here, so the aggregates
+ * are rebuilt from two GROUP BY queries at startup and then periodically. Both run in one read-only
+ * REPEATABLE_READ transaction on the primary, so they see the same snapshot. Events recorded while the
+ * rebuild runs may or may not be in that snapshot; the affected creatures are read again in the same
+ * transaction and only their changes newer than the snapshot's version are applied. Zones whose
+ * aggregates had drifted are logged and counted in {@code zoo.stats.drift}.
+ */
+@Service
+public class ZoneStatsService {
+    private static final Logger log = LoggerFactory.getLogger(ZoneStatsService.class);
+    private static final int MAX_DANGER = 10;
+
+    private final CreatureStore creatureStore;
+    private final ZoneStore zoneStore;
+    private final Counter drift;
+    private final TransactionTemplate snapshotReads;
+
+    private final ReentrantReadWriteLock swap = new ReentrantReadWriteLock();
+    private volatile Map<Long, Aggregate> aggregates = new ConcurrentHashMap<>();
+    private Queue<ChangeEvent> recording;
+
+    public ZoneStatsService(CreatureStore creatureStore, ZoneStore zoneStore,
+                            PlatformTransactionManager transactionManager, MeterRegistry registry) {
+        this.creatureStore = creatureStore;
+        this.zoneStore = zoneStore;
+        this.snapshotReads = new TransactionTemplate(transactionManager);
+        this.snapshotReads.setReadOnly(true);
+        this.snapshotReads.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.drift = Counter.builder("zoo.stats.drift")
+                .description("Zones whose incremental statistics differed from a full recount").register(registry);
+    }
+
+    public ZoneStats stats(long zoneId) {
+        ZoneSummary zone = zoneStore.findSummaryById(zoneId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zone not found"));
+        return toStats(zone);
+    }
+
+    public List<ZoneStats> all() {
+        return zoneStore.findAllSummaries().stream().map(this::toStats).toList();
+    }
+
+    private ZoneStats toStats(ZoneSummary zone) {
+        Aggregate a = aggregates.get(zone.id());
+        return a == null ? new Aggregate().toStats(zone) : a.toStats(zone);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(ChangeEvent event) {
+        swap.readLock().lock();
+        try {
+            apply(aggregates, event);
+            Queue<ChangeEvent> log = recording;
+            if (log != null) log.add(event);
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    private static void apply(Map<Long, Aggregate> target, ChangeEvent event) {
+        if (event.entity() == ChangeEvent.Entity.ZONE) {
+            if (event.type() == ChangeEvent.Type.DELETED) target.remove(event.id());
+            return;
+        }
+        CreatureView before = event.previous();
+        if (before != null && before.zoneId() != null) {
+            target.computeIfAbsent(before.zoneId(), id -> new Aggregate()).add(before, -1);
+        }
+        if (event.data() instanceof CreatureView after && after.zoneId() != null) {
+            target.computeIfAbsent(after.zoneId(), id -> new Aggregate()).add(after, 1);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    /** Rebuilds every aggregate from the database and returns the number of zones that had drifted. */
+    @Scheduled(fixedDelayString = "${zoo.stats.reconcile-interval:10m}",
+               initialDelayString = "${zoo.stats.reconcile-interval:10m}")
+    public int reconcile() {
+        Queue<ChangeEvent> concurrent = new ConcurrentLinkedQueue<>();
+        swap.writeLock().lock();
+        try {
+            recording = concurrent;
+        } finally {
+            swap.writeLock().unlock();
+        }
+
+        int drifted;
+        // A lagging replica would miss changes committed before the recording started
+        ReplicaRoutingDataSource.pinPrimary();
+        try {
+            drifted = snapshotReads.execute(status -> {
+                Map<Long, Aggregate> fresh = new ConcurrentHashMap<>();
+                for (Object[] row : creatureStore.dangerHistogram()) {
+                    fresh.computeIfAbsent(((Number) row[0]).longValue(), id -> new Aggregate())
+                            .addDanger(((Number) row[1]).intValue(), ((Number) row[2]).longValue(), ((Number) row[3]).doubleValue());
+                }
+                for (Object[] row : creatureStore.healthHistogram()) {
+                    fresh.computeIfAbsent(((Number) row[0]).longValue(), id -> new Aggregate())
+                            .addHealth((String) row[1], ((Number) row[2]).longValue());
+                }
+                // Blocks onChange until the swap, so every event is either replayed here or applied to fresh.
+                // The read below is a plain snapshot read, which takes no row locks.
+                swap.writeLock().lock();
+                try {
+                    replay(fresh, concurrent);
+                    int count = countDrift(aggregates, fresh);
+                    aggregates = fresh;
+                    recording = null;
+                    return count;
+                } finally {
+                    swap.writeLock().unlock();
+                }
+            });
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+            swap.writeLock().lock();
+            try {
+                if (recording == concurrent) recording = null;
+            } finally {
+                swap.writeLock().unlock();
+            }
+        }
+        if (drifted > 0) {
+            log.warn("Zone statistics had drifted for {} zone(s); replaced with a full recount", drifted);
+            drift.increment(drifted);
+        }
+        return drifted;
+    }
+
+    /**
+     * Applies the recorded events the snapshot does not contain yet. Per creature only the newest
+     * recorded state matters (a deletion is final): if it is newer than the snapshot's row, the row's
+     * contribution is replaced by it. Must run in the snapshot's transaction.
+     */
+    private void replay(Map<Long, Aggregate> fresh, Queue<ChangeEvent> recorded) {
+        Map<Long, ChangeEvent> newest = new HashMap<>();
+        for (ChangeEvent event : recorded) {
+            if (event.entity() == ChangeEvent.Entity.ZONE) {
+                apply(fresh, event);
+            } else {
+                newest.merge(event.id(), event, (a, b) -> version(b) > version(a) ? b : a);
+            }
+        }
+        if (newest.isEmpty()) return;
+        Map<Long, CreatureView> snapshot = new HashMap<>();
+        creatureStore.findViewsById(newest.keySet()).forEach(v -> snapshot.put(v.id(), v));
+        newest.forEach((id, event) -> {
+            CreatureView before = snapshot.get(id);
+            if (before != null && version(event) <= before.version()) return;
+            if (before == null && event.type() == ChangeEvent.Type.DELETED) return;
+            apply(fresh, new ChangeEvent(event.entity(), event.type(), id, event.zoneId(), event.data(), before));
+        });
+    }
+
+    private static long version(ChangeEvent event) {
+        return event.data() instanceof CreatureView after ? after.version() : Long.MAX_VALUE;
+    }
+
+    private static int countDrift(Map<Long, Aggregate> live, Map<Long, Aggregate> fresh) {
+        Set<Long> zones = new HashSet<>(live.keySet());
+        zones.addAll(fresh.keySet());
+        int drifted = 0;
+        for (Long zoneId : zones) {
+            Aggregate a = live.getOrDefault(zoneId, new Aggregate());
+            Aggregate b = fresh.getOrDefault(zoneId, new Aggregate());
+            if (!a.sameAs(b)) drifted++;
+        }
+        return drifted;
+    }
+
+    /** Mutable counters of one zone; all access is synchronized on the instance. */
+    private static final class Aggregate {
+        private final long[] dangerCounts = new long[MAX_DANGER + 1];
+        private double sizeSum;
+        private final Map<String, Long> health = new TreeMap<>();
+
+        synchronized void add(CreatureView c, int sign) {
+            dangerCounts[bucket(c.dangerLevel())] += sign;
+            sizeSum += sign * c.size();
+            if (c.healthStatus() != null) health.merge(c.healthStatus(), (long) sign, Long::sum);
+            health.values().removeIf(n -> n == 0);
+        }
+
+        synchronized void addDanger(int level, long count, double size) {
+            dangerCounts[bucket(level)] += count;
+            sizeSum += size;
+        }
+
+        synchronized void addHealth(String status, long count) {
+            if (status != null) health.merge(status, count, Long::sum);
+        }
+
+        private static int bucket(int level) {
+            return Math.max(0, Math.min(MAX_DANGER, level));
+        }
+
+        synchronized ZoneStats toStats(ZoneSummary zone) {
+            long count = 0, dangerSum = 0;
+            int max = 0;
+            for (int level = 0; level <= MAX_DANGER; level++) {
+                count += dangerCounts[level];
+                dangerSum += level * dangerCounts[level];
+                if (dangerCounts[level] > 0) max = level;
+            }
+            return new ZoneStats(zone.id(), zone.name(), zone.capacity(), count,
+                    zone.capacity() == 0 ? 0 : (double) count / zone.capacity(),
+                    count == 0 ? 0 : (double) dangerSum / count, max,
+                    count == 0 ? 0 : sizeSum, Map.copyOf(health));
+        }
+
+        synchronized boolean sameAs(Aggregate other) {
+            synchronized (other) {
+                return Arrays.equals(dangerCounts, other.dangerCounts)
+                        && Math.abs(sizeSum - other.sizeSum) < 1e-6
+                        && health.equals(other.health);
+            }
+        }
+    }
+}
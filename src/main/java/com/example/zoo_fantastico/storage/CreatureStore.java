@@ -0,0 +1,85 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Creature storage used by the services. {@code CreatureRepository} implements it on JPA (the default)
+ * and {@link MemoryCreatureStore} in memory ({@code memory} profile).
+ *
+ * <p>Writes must go through {@link #save} even for loaded creatures: JPA would flush managed entities
+ * on its own, but the in-memory engine hands out copies and only sees what is saved. Either way the
+ * {@code version} is checked and bumped, and a stale one fails with an optimistic locking exception.
+ */
+public interface CreatureStore {
+
+    /** Inserts a creature without id, or updates it; the id and version are written back to it. */
+    <S extends Creature> S save(S creature);
+
+    Optional<Creature> findById(Long id);
+
+    List<Creature> findAllById(Iterable<Long> ids);
+
+    List<Creature> findAll();
+
+    long count();
+
+    void delete(Creature creature);
+
+    /** Pushes pending writes to the backend, so that saved creatures carry their new version. */
+    void flush();
+
+    Optional<CreatureView> findViewById(long id);
+
+    /** Keyset page ordered by id: creatures strictly after {@code after}. */
+    List<CreatureView> findPageAfter(long after, Pageable pageable);
+
+    /** Every creature ordered by id; close the stream (and, on JPA, consume it inside a transaction). */
+    Stream<CreatureView> streamAll();
+
+    /**
+     * Keyset page of creatures matching {@code filter}, in the requested order with id as tie-breaker.
+     * {@code after} is the id of the last creature of the previous page (0 for the first page) and
+     * {@code afterValue} its value of the sort field.
+     */
+    List<CreatureView> findFiltered(CreatureFilter filter, long after, Comparable<?> afterValue, int limit);
+
+    /** Same page as {@link #findFiltered}, with only the fields in {@code fields}. */
+    List<Map<String, Object>> findFilteredFields(CreatureFilter filter, long after, Comparable<?> afterValue,
+                                                 int limit, FieldSet fields);
+
+    Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields);
+
+    /** Per-zone danger histogram: rows of [zoneId, dangerLevel, count, sum(size)]. */
+    List<Object[]> dangerHistogram();
+
+    /** Per-zone health histogram: rows of [zoneId, healthStatus, count]. */
+    List<Object[]> healthHistogram();
+
+    /** Views of the given creatures, read from the backend even when an entity cache holds them. */
+    List<CreatureView> findViewsById(Collection<Long> ids);
+
+    /** Ids of the creatures in the zone, locked in id order until the transaction ends. */
+    List<Long> lockIdsInZone(long zoneId);
+
+    List<Long> lockIdsInZone(long zoneId, Collection<Long> ids);
+
+    List<CreatureView> findViewsInZone(long zoneId);
+
+    List<CreatureView> findViewsInZone(long zoneId, Collection<Long> ids);
+
+    /** Moves every creature of zone {@code fromId} to {@code to}, bumping their versions. */
+    int moveAll(long fromId, Zone to);
+
+    int move(long fromId, Zone to, Collection<Long> ids);
+}
@@ -0,0 +1,332 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.MemoryStorage.CreatureRow;
+import com.example.zoo_fantastico.storage.MemoryStorage.ZoneRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * {@link CreatureStore} over {@link MemoryStorage}. Filtered pages start from the most selective
+ * index the filter allows (zone, then species, then healthStatus, else every id) and check the other
+ * conditions row by row. Pages in id order walk the sorted index from the cursor and stop once full;
+ * other orders scan the candidates and keep the best {@code limit} rows in a bounded heap.
+ */
+@Component
+@Profile("memory")
+public class MemoryCreatureStore implements CreatureStore {
+
+    private final MemoryStorage storage;
+
+    public MemoryCreatureStore(MemoryStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public <S extends Creature> S save(S creature) {
+        if (creature.getZone() == null || creature.getZone().getId() == null) {
+            throw new DataIntegrityViolationException("Creature zone must not be null");
+        }
+        if (creature.getName() == null || creature.getSpecies() == null) {
+            throw new DataIntegrityViolationException("Creature name and species must not be null");
+        }
+        CreatureRow row = new CreatureRow(creature.getId() == null ? 0 : creature.getId(), creature.getVersion(),
+                creature.getName(), creature.getSpecies(), creature.getSize(), creature.getDangerLevel(),
+                creature.getHealthStatus(), creature.getZone().getId());
+        CreatureRow stored = creature.getId() == null || storage.creature(creature.getId()) == null
+                ? storage.insertCreature(row)
+                : storage.updateCreature(row);
+        creature.setId(stored.id());
+        creature.setVersion(stored.version());
+        return creature;
+    }
+
+    @Override
+    public Optional<Creature> findById(Long id) {
+        return Optional.ofNullable(storage.creature(id)).map(this::toCreature);
+    }
+
+    @Override
+    public List<Creature> findAllById(Iterable<Long> ids) {
+        List<Creature> creatures = new ArrayList<>();
+        for (Long id : ids) {
+            CreatureRow row = storage.creature(id);
+            if (row != null) creatures.add(toCreature(row));
+        }
+        return creatures;
+    }
+
+    @Override
+    public List<Creature> findAll() {
+        return rows(storage.creatureIds()).map(this::toCreature).toList();
+    }
+
+    @Override
+    public long count() {
+        return storage.creatureCount();
+    }
+
+    @Override
+    public void delete(Creature creature) {
+        storage.deleteCreature(creature.getId(), creature.getVersion());
+    }
+
+    @Override
+    public void flush() { }
+
+    @Override
+    public Optional<CreatureView> findViewById(long id) {
+        return Optional.ofNullable(storage.creature(id)).map(this::toView);
+    }
+
+    @Override
+    public List<CreatureView> findPageAfter(long after, Pageable pageable) {
+        return rows(storage.creatureIds().tailSet(after, false)).limit(pageable.getPageSize()).map(this::toView).toList();
+    }
+
+    @Override
+    public Stream<CreatureView> streamAll() {
+        return rows(storage.creatureIds()).map(this::toView);
+    }
+
+    @Override
+    public List<CreatureView> findFiltered(CreatureFilter filter, long after, Comparable<?> afterValue, int limit) {
+        return page(filter, after, afterValue, limit).stream().map(this::toView).toList();
+    }
+
+    @Override
+    public List<Map<String, Object>> findFilteredFields(CreatureFilter filter, long after, Comparable<?> afterValue,
+                                                        int limit, FieldSet fields) {
+        return page(filter, after, afterValue, limit).stream().map(row -> fields(toView(row), fields)).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields) {
+        return findViewById(id).map(view -> fields(view, fields));
+    }
+
+    @Override
+    public List<Object[]> dangerHistogram() {
+        record Key(long zoneId, int dangerLevel) { }
+        Map<Key, double[]> buckets = new HashMap<>();
+        storage.forEachCreature(row -> {
+            double[] bucket = buckets.computeIfAbsent(new Key(row.zoneId(), row.dangerLevel()), k -> new double[2]);
+            bucket[0]++;
+            bucket[1] += row.size();
+        });
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((k, b) -> rows.add(new Object[]{k.zoneId(), k.dangerLevel(), (long) b[0], b[1]}));
+        return rows;
+    }
+
+    @Override
+    public List<Object[]> healthHistogram() {
+        record Key(long zoneId, String healthStatus) { }
+        Map<Key, Long> buckets = new HashMap<>();
+        storage.forEachCreature(row -> buckets.merge(new Key(row.zoneId(), row.healthStatus()), 1L, Long::sum));
+        List<Object[]> rows = new ArrayList<>(buckets.size());
+        buckets.forEach((k, n) -> rows.add(new Object[]{k.zoneId(), k.healthStatus(), n}));
+        return rows;
+    }
+
+    @Override
+    public List<CreatureView> findViewsById(Collection<Long> ids) {
+        return rows(ids).map(this::toView).toList();
+    }
+
+    @Override
+    public List<Long> lockIdsInZone(long zoneId) {
+        return lockIdsInZone(zoneId, null);
+    }
+
+    // Locks the candidates, then reads them again: a row may have left the zone before its stripe was locked
+    @Override
+    public List<Long> lockIdsInZone(long zoneId, Collection<Long> ids) {
+        List<Long> candidates = idsInZone(zoneId, ids);
+        storage.lockCreatures(candidates);
+        return idsInZone(zoneId, ids);
+    }
+
+    @Override
+    public List<CreatureView> findViewsInZone(long zoneId) {
+        return findViewsInZone(zoneId, null);
+    }
+
+    @Override
+    public List<CreatureView> findViewsInZone(long zoneId, Collection<Long> ids) {
+        return rows(idsInZone(zoneId, ids)).filter(row -> row.zoneId() == zoneId).map(this::toView).toList();
+    }
+
+    @Override
+    public int moveAll(long fromId, Zone to) {
+        return storage.moveCreatures(fromId, to.getId(), List.copyOf(storage.creaturesInZone(fromId)));
+    }
+
+    @Override
+    public int move(long fromId, Zone to, Collection<Long> ids) {
+        return storage.moveCreatures(fromId, to.getId(), ids);
+    }
+
+    // -------------------- filtering --------------------
+
+    private List<CreatureRow> page(CreatureFilter filter, long after, Comparable<?> afterValue, int limit) {
+        String field = filter.sortField();
+        boolean desc = filter.descending();
+        NavigableSet<Long> candidates = candidates(filter);
+        List<CreatureRow> page = new ArrayList<>();
+        if (field.equals("id")) {
+            NavigableSet<Long> ordered = desc ? candidates.descendingSet() : candidates;
+            if (after > 0) ordered = ordered.tailSet(after, false);
+            for (long id : ordered) {
+                CreatureRow row = storage.creature(id);
+                if (row == null || !matches(filter, row)) continue;
+                page.add(row);
+                if (page.size() == limit) break;
+            }
+            return page;
+        }
+
+        Comparator<CreatureRow> order = order(field, desc);
+        // The best `limit` rows after the cursor; the head of the heap is the worst of them
+        PriorityQueue<CreatureRow> best = new PriorityQueue<>(order.reversed());
+        for (long id : candidates) {
+            CreatureRow row = storage.creature(id);
+            if (row == null || !matches(filter, row)) continue;
+            if (after > 0 && !isAfter(row, field, desc, after, afterValue)) continue;
+            if (best.size() < limit) {
+                best.add(row);
+            } else if (order.compare(row, best.peek()) < 0) {
+                best.poll();
+                best.add(row);
+            }
+        }
+        page.addAll(best);
+        page.sort(order);
+        return page;
+    }
+
+    private NavigableSet<Long> candidates(CreatureFilter filter) {
+        if (filter.zoneId() != null) return storage.creaturesInZone(filter.zoneId());
+        if (filter.species() != null) return storage.creaturesOfSpecies(filter.species());
+        if (filter.healthStatus() != null) return storage.creaturesWithHealth(filter.healthStatus());
+        return storage.creatureIds();
+    }
+
+    private static boolean matches(CreatureFilter filter, CreatureRow row) {
+        return (filter.zoneId() == null || filter.zoneId() == row.zoneId())
+                && (filter.species() == null || filter.species().equals(row.species()))
+                && (filter.healthStatus() == null || filter.healthStatus().equals(row.healthStatus()))
+                && (filter.minDanger() == null || row.dangerLevel() >= filter.minDanger())
+                && (filter.maxDanger() == null || row.dangerLevel() <= filter.maxDanger());
+    }
+
+    // (field, id) strictly after the cursor row; id is always ascending, as in the JPA query
+    private static boolean isAfter(CreatureRow row, String field, boolean desc, long after, Comparable<?> afterValue) {
+        int cmp = compare(value(row, field), afterValue);
+        return (desc ? cmp < 0 : cmp > 0) || (cmp == 0 && row.id() > after);
+    }
+
+    private static Comparator<CreatureRow> order(String field, boolean desc) {
+        Comparator<CreatureRow> byField = (a, b) -> compare(value(a, field), value(b, field));
+        return (desc ? byField.reversed() : byField).thenComparingLong(CreatureRow::id);
+    }
+
+    private static Comparable<?> value(CreatureRow row, String field) {
+        return switch (field) {
+            case "name" -> row.name();
+            case "species" -> row.species();
+            case "size" -> row.size();
+            case "dangerLevel" -> row.dangerLevel();
+            case "healthStatus" -> row.healthStatus();
+            default -> row.id();
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static int compare(Comparable a, Comparable b) {
+        return a.compareTo(b);
+    }
+
+    // -------------------- mapping --------------------
+
+    private List<Long> idsInZone(long zoneId, Collection<Long> ids) {
+        Set<Long> wanted = ids == null ? null : new HashSet<>(ids);
+        List<Long> result = new ArrayList<>();
+        for (long id : storage.creaturesInZone(zoneId)) {
+            if (wanted != null && !wanted.contains(id)) continue;
+            CreatureRow row = storage.creature(id);
+            if (row != null && row.zoneId() == zoneId) result.add(id);
+        }
+        return result;
+    }
+
+    private Stream<CreatureRow> rows(Collection<Long> ids) {
+        return ids.stream().map(storage::creature).filter(Objects::nonNull);
+    }
+
+    private Creature toCreature(CreatureRow row) {
+        Creature c = new Creature();
+        c.setId(row.id());
+        c.setVersion(row.version());
+        c.setName(row.name());
+        c.setSpecies(row.species());
+        c.setSize(row.size());
+        c.setDangerLevel(row.dangerLevel());
+        c.setHealthStatus(row.healthStatus());
+        ZoneRow zone = storage.zone(row.zoneId());
+        if (zone != null) {
+            c.setZone(MemoryZoneStore.toZone(zone));
+        } else {
+            c.setZone(new Zone());
+            c.getZone().setId(row.zoneId());
+        }
+        return c;
+    }
+
+    private CreatureView toView(CreatureRow row) {
+        ZoneRow zone = storage.zone(row.zoneId());
+        return new CreatureView(row.id(), row.name(), row.species(), row.size(), row.dangerLevel(),
+                row.healthStatus(), row.zoneId(), zone == null ? null : zone.name(), row.version(),
+                zone == null ? 0 : zone.version());
+    }
+
+    private static Map<String, Object> fields(CreatureView view, FieldSet fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String field : fields.names()) {
+            map.put(field, switch (field) {
+                case "id" -> view.id();
+                case "name" -> view.name();
+                case "species" -> view.species();
+                case "size" -> view.size();
+                case "dangerLevel" -> view.dangerLevel();
+                case "healthStatus" -> view.healthStatus();
+                case "zoneId" -> view.zoneId();
+                case "zoneName" -> view.zoneName();
+                case "version" -> view.version();
+                default -> throw new IllegalArgumentException("Unknown field '" + field + "'");
+            });
+        }
+        return map;
+    }
+}
@@ -0,0 +1,832 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.config.StorageProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Tables of the in-memory engine ({@code memory} profile), read and written by {@link MemoryZoneStore}
+ * and {@link MemoryCreatureStore}. Rows are immutable records in {@link LongMap}s keyed by id:
+ *
+ * <ul>
+ *   <li>Zones sit in one map; each has its own lock, which (like a row lock in the database) writers
+ *       hold until their transaction ends, and carries the zone's occupancy counter.</li>
+ *   <li>Creatures are spread over lock stripes by id. Each stripe has a read/write lock over its map,
+ *       only ever held for the map access itself, and a writer lock that serializes changes to its rows.
+ *       A transaction that writes a row keeps its stripe's writer lock until it ends, so no other one can
+ *       build on a change that may still be rolled back; {@link #lockCreatures} takes them up front, in
+ *       stripe order.</li>
+ *   <li>Sorted id sets index the creatures overall and by zone, species and healthStatus.</li>
+ * </ul>
+ *
+ * Readers never wait for a transaction. Every change registers its inverse with the
+ * {@link MemoryTransactionManager}, so a rollback restores the previous rows and counters.
+ *
+ * <p>The tables are saved to {@code zoo.storage.snapshot-path} periodically, on shutdown and whenever
+ * the {@link WriteAheadLog} asks for a compaction; at startup the snapshot is memory-mapped and the log
+ * replayed over it. Write transactions share a barrier that a snapshot takes exclusively while it copies
+ * the rows, so a snapshot only ever contains whole transactions. Every write is stamped with an LSN,
+ * taken under the lock of the row it changes, and the snapshot records the last LSN it contains.
+ */
+@Component
+@Profile("memory")
+public class MemoryStorage {
+    private static final Logger log = LoggerFactory.getLogger(MemoryStorage.class);
+
+    private static final int MAGIC = 0x5A4F4F4D; // "ZOOM"
+    private static final int FORMAT = 2;
+
+    record ZoneRow(long id, long version, String name, String description, int capacity) { }
+
+    record CreatureRow(long id, long version, String name, String species, double size, int dangerLevel,
+                       String healthStatus, long zoneId) {
+
+        CreatureRow withVersion(long version) {
+            return new CreatureRow(id, version, name, species, size, dangerLevel, healthStatus, zoneId);
+        }
+
+        CreatureRow withZone(long zoneId, long version) {
+            return new CreatureRow(id, version, name, species, size, dangerLevel, healthStatus, zoneId);
+        }
+
+        boolean sameContent(CreatureRow other) {
+            return name.equals(other.name) && species.equals(other.species) && size == other.size
+                    && dangerLevel == other.dangerLevel && Objects.equals(healthStatus, other.healthStatus)
+                    && zoneId == other.zoneId;
+        }
+    }
+
+    private static final class ZoneSlot {
+        final ReentrantLock lock = new ReentrantLock();
+        volatile ZoneRow row;
+        // Occupancy counter, guarded by lock; -1 while the zone has none
+        volatile int count = -1;
+
+        ZoneSlot(ZoneRow row) { this.row = row; }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock writer = new ReentrantLock();
+        final ReentrantReadWriteLock access = new ReentrantReadWriteLock();
+        final LongMap<CreatureRow> rows = new LongMap<>();
+    }
+
+    private final StorageProperties properties;
+    private final WriteAheadLog wal;
+    private final ReentrantReadWriteLock zonesAccess = new ReentrantReadWriteLock();
+    private final LongMap<ZoneSlot> zones = new LongMap<>();
+    private final Stripe[] stripes;
+    private final NavigableSet<Long> creatureIds = new ConcurrentSkipListSet<>();
+    private final Map<Long, NavigableSet<Long>> byZone = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Long>> bySpecies = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Long>> byHealth = new ConcurrentHashMap<>();
+    private final AtomicLong zoneSequence = new AtomicLong();
+    private final AtomicLong creatureSequence = new AtomicLong();
+    private final ReentrantReadWriteLock barrier = new ReentrantReadWriteLock();
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong lsn = new AtomicLong();
+    private final ExecutorService compaction;
+    private long savedChanges = -1;
+    private final Timer snapshotTimer;
+
+    public MemoryStorage(StorageProperties properties, WriteAheadLog wal, MeterRegistry registry) {
+        this.properties = properties;
+        this.wal = wal;
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("zoo-wal-compaction-");
+        threads.setDaemon(true);
+        this.compaction = Executors.newSingleThreadExecutor(threads);
+        int n = Math.max(1, properties.stripes());
+        this.stripes = new Stripe[n == 1 ? 1 : Integer.highestOneBit(n - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) stripes[i] = new Stripe();
+        Gauge.builder("zoo.storage.creatures", this, MemoryStorage::creatureCount)
+                .description("Creatures held by the in-memory storage engine").register(registry);
+        this.snapshotTimer = Timer.builder("zoo.storage.snapshot")
+                .description("Time to write a snapshot of the in-memory storage engine").register(registry);
+    }
+
+    // -------------------- zones --------------------
+
+    ZoneRow zone(long id) {
+        ZoneSlot slot = slot(id);
+        return slot == null ? null : slot.row;
+    }
+
+    /** All zones ordered by id. */
+    List<ZoneRow> zones() {
+        List<ZoneRow> rows = new ArrayList<>();
+        zonesAccess.readLock().lock();
+        try {
+            zones.forEach((id, slot) -> rows.add(slot.row));
+        } finally {
+            zonesAccess.readLock().unlock();
+        }
+        rows.sort(Comparator.comparingLong(ZoneRow::id));
+        return rows;
+    }
+
+    /** Occupancy counter of the zone, 0 if it has none. */
+    int count(long zoneId) {
+        ZoneSlot slot = slot(zoneId);
+        return slot == null ? 0 : Math.max(0, slot.count);
+    }
+
+    ZoneRow insertZone(String name, String description, int capacity) {
+        boolean entered = enterWrite();
+        try {
+            ZoneSlot slot = new ZoneSlot(new ZoneRow(zoneSequence.incrementAndGet(), 0, name, description, capacity));
+            long id = slot.row.id();
+            putSlot(slot);
+            log(records -> records.zone(lsn.incrementAndGet(), slot.row));
+            onRollback(() -> removeSlot(id));
+            return slot.row;
+        } finally {
+            exitWrite(entered);
+        }
+    }
+
+    /** Writes name, description and capacity if {@code changed.version()} is still current. */
+    ZoneRow updateZone(ZoneRow changed) {
+        boolean entered = enterWrite();
+        try {
+            ZoneSlot slot = slot(changed.id());
+            if (slot == null) throw stale("Zone", changed.id());
+            Runnable unlock = lock(slot.lock);
+            try {
+                ZoneRow current = slot.row;
+                if (current.version() != changed.version()) throw stale("Zone", changed.id());
+                if (current.name().equals(changed.name()) && current.description().equals(changed.description())
+                        && current.capacity() == changed.capacity()) {
+                    return current;
+                }
+                ZoneRow next = new ZoneRow(current.id(), current.version() + 1, changed.name(),
+                        changed.description(), changed.capacity());
+                slot.row = next;
+                changes.incrementAndGet();
+                log(records -> records.zone(lsn.incrementAndGet(), next));
+                onRollback(() -> { if (slot.row == next) slot.row = current; });
+                return next;
+            } finally {
+                unlock.run();
+            }
+        } finally {
+            exitWrite(entered);
+        }
+    }
+
+    /** Removes the zone, which must hold no creature; a zone that is already gone is ignored. */
+    void deleteZone(long id, long expectedVersion) {
+        boolean entered = enterWrite();
+        try {
+            ZoneSlot slot = slot(id);
+            if (slot == null) return;
+            Runnable unlock = lock(slot.lock);
+            try {
+                if (slot.row.version() != expectedVersion) throw stale("Zone", id);
+                if (!creaturesInZone(id).isEmpty()) {
+                    throw new DataIntegrityViolationException("Zone " + id + " still holds creatures");
+                }
+                removeSlot(id);
+                log(records -> records.zoneDeleted(lsn.incrementAndGet(), id));
+                onRollback(() -> putSlot(slot));
+            } finally {
+                unlock.run();
+            }
+        } finally {
+            exitWrite(entered);
+        }
+    }
+
+    void createCounter(long zoneId) {
+        updateCounter(zoneId, slot -> {
+            if (slot.count >= 0) return 0;
+            slot.count = 0;
+            onRollback(() -> slot.count = -1);
+            return 1;
+        });
+    }
+
+    void deleteCounter(long zoneId) {
+        updateCounter(zoneId, slot -> {
+            int previous = slot.count;
+            slot.count = -1;
+            onRollback(() -> slot.count = previous);
+            return 1;
+        });
+    }
+
+    /** Adds {@code n} to the zone's counter, if it has one and (with {@code withinCapacity}) there is room. */
+    int addToCounter(long zoneId, int n, boolean withinCapacity) {
+        return updateCounter(zoneId, slot -> {
+            if (slot.count < 0 || (withinCapacity && slot.count + n > slot.row.capacity())) return 0;
+            slot.count += n;
+            onRollback(() -> slot.count -= n);
+            return 1;
+        });
+    }
+
+    /** Creates the zone's counter from its creatures if it has none; returns 1 if it did. */
+    int backfillCounter(long zoneId) {
+        return updateCounter(zoneId, slot -> {
+            if (slot.count >= 0) return 0;
+            slot.count = creaturesInZone(zoneId).size();
+            onRollback(() -> slot.count = -1);
+            return 1;
+        });
+    }
+
+    /** The zone's counter (null if it has none), locked until the transaction ends. */
+    Integer lockCounter(long zoneId) {
+        ZoneSlot slot = slot(zoneId);
+        if (slot == null) return null;
+        if (MemoryTransactionManager.current() != null) {
+            // Like any lock held to the end of a transaction, only taken once inside the barrier
+            enterWrite();
+            lock(slot.lock);
+        }
+        return slot.count < 0 ? null : slot.count;
+    }
+
+    private interface CounterUpdate {
+        int apply(ZoneSlot slot);
+    }
+
+    private int updateCounter(long zoneId, CounterUpdate update) {
+        boolean entered = enterWrite();
+        try {
+            ZoneSlot slot = slot(zoneId);
+            if (slot == null) return 0;
+            Runnable unlock = lock(slot.lock);
+            try {
+                int updated = update.apply(slot);
+                if (updated > 0) {
+                    changes.incrementAndGet();
+                    int count = slot.count;
+                    log(records -> records.counter(lsn.incrementAndGet(), zoneId, count));
+                }
+                return updated;
+            } finally {
+                unlock.run();
+            }
+        } finally {
+            exitWrite(entered);
+        }
+    }
+
+    private ZoneSlot slot(long id) {
+        zonesAccess.readLock().lock();
+        try {
+            return zones.get(id);
+        } finally {
+            zonesAccess.readLock().unlock();
+        }
+    }
+
+    private void putSlot(ZoneSlot slot) {
+        zonesAccess.writeLock().lock();
+        try {
+            zones.put(slot.row.id(), slot);
+        } finally {
+            zonesAccess.writeLock().unlock();
+        }
+        changes.incrementAndGet();
+    }
+
+    private void removeSlot(long id) {
+        zonesAccess.writeLock().lock();
+        try {
+            zones.remove(id);
+        } finally {
+            zonesAccess.writeLock().unlock();
+        }
+        NavigableSet<Long> ids = byZone.get(id);
+        if (ids != null && ids.isEmpty()) byZone.remove(id, ids);
+        changes.incrementAndGet();
+    }
+
+    // -------------------- creatures --------------------
+
+    CreatureRow creature(long id) {
+        Stripe stripe = stripe(id);
+        stripe.access.readLock().lock();
+        try {
+            return stripe.rows.get(id);
+        } finally {
+            stripe.access.readLock().unlock();
+        }
+    }
+
+    long creatureCount() {
+        long count = 0;
+        for (Stripe stripe : stripes) {
+            stripe.access.readLock().lock();
+            try {
+                count += stripe.rows.size();
+            } finally {
+                stripe.access.readLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    /** Every creature id in ascending order; a live view, so rows may be gone by the time they are read. */
+    NavigableSet<Long> creatureIds() {
+        return Collections.unmodifiableNavigableSet(creatureIds);
+    }
+
+    NavigableSet<Long> creaturesInZone(long zoneId) {
+        return index(byZone.get(zoneId));
+    }
+
+    NavigableSet<Long> creaturesOfSpecies(String species) {
+        return index(bySpecies.get(species));
+    }
+
+    NavigableSet<Long> creaturesWithHealth(String healthStatus) {
+        return index(byHealth.get(healthStatus));
+    }
+
+    /** Feeds every creature to {@code sink}, one stripe at a time, outside of any lock. */
+    void forEachCreature(Consumer<CreatureRow> sink) {
+        for (Stripe stripe : stripes) {
+            List<CreatureRow> rows;
+            stripe.access.readLock().lock();
+            try {
+                rows = new ArrayList<>(stripe.rows.size());
+                stripe.rows.forEach((id, row) -> rows.add(row));
+            } finally {
+                stripe.access.readLock().unlock();
+            }
+            rows.forEach(sink);
+        }
+    }
+
+    /** Stores {@code row} under a new id, at version 0. */
+    CreatureRow insertCreature(CreatureRow row) {
+        boolean entered = enterWrite();
+        try {
+            requireZone(row.zoneId());
+            CreatureRow stored = new CreatureRow(creatureSequence.incrementAndGet(), 0, row.name(), row.species(),
+                    row.size(), row.dangerLevel(), row.healthStatus(), row.zoneId());
+            Stripe stripe = stripe(stored.id());
+            Runnable unlock = lock(stripe.writer);
+            try {
+                putCreature(stripe, stored, null);
+                log(records -> records.creature(lsn.incrementAndGet(), stored));
+            } finally {
+                unlock.run();
+            }
+            onRollback(() -> restoreCreature(stored, null));
+            return stored;
+        } finally {
+            exitWrite(entered);
+        }
+    }
+
+    /** Writes {@code changed} if its version is still current; returns the row as stored. */
+    CreatureRow updateCreature(CreatureRow changed) {
+        boolean entered = enterWrite();
+        Runnable unlock = () -> { };
+        try {
+            Stripe stripe = stripe(changed.id());
+            unlock = lock(stripe.writer);
+            CreatureRow current = stripe.rows.get(changed.id());
+            if (current == null || current.version() != changed.version()) throw stale("Creature", changed.id());
+            if (current.sameContent(changed)) return current;
+            if (changed.zoneId() != current.zoneId()) requireZone(changed.zoneId());
+            CreatureRow next = changed.withVersion(current.version() + 1);
+            putCreature(stripe, next, current);
+            log(records -> records.creature(lsn.incrementAndGet(), next));
+            onRollback(() -> restoreCreature(next, current));
+            return next;
+        } finally {
+            unlock.run();
+            exitWrite(entered);
+        }
+    }
+
+    /** Removes the creature if {@code expectedVersion} is still current; one that is already gone is ignored. */
+    void deleteCreature(long id, long expectedVersion) {
+        boolean entered = enterWrite();
+        Runnable unlock = () -> { };
+        try {
+            Stripe stripe = stripe(id);
+            unlock = lock(stripe.writer);
+            CreatureRow current = stripe.rows.get(id);
+            if (current == null) return;
+            if (current.version() != expectedVersion) throw stale("Creature", id);
+            putCreature(stripe, null, current);
+            log(records -> records.creatureDeleted(lsn.incrementAndGet(), id));
+            onRollback(() -> restoreCreature(null, current));
+        } finally {
+            unlock.run();
+            exitWrite(entered);
+        }
+    }
+
+    /**
+     * Moves those of {@code ids} that are in zone {@code fromZoneId} to {@code toZoneId}, bumping their
+     * versions; returns how many moved.
+     */
+    int moveCreatures(long fromZoneId, long toZoneId, Collection<Long> ids) {
+        boolean entered = enterWrite();
+        try {
+            requireZone(toZoneId);
+            lockCreatures(ids);
+            int moved = 0;
+            for (long id : ids) {
+                Stripe stripe = stripe(id);
+                Runnable unlock = lock(stripe.writer);
+                try {
+                    CreatureRow current = stripe.rows.get(id);
+                    if (current == null || current.zoneId() != fromZoneId) continue;
+                    CreatureRow next = current.withZone(toZoneId, current.version() + 1);
+                    putCreature(stripe, next, current);
+                    log(records -> records.creature(lsn.incrementAndGet(), next));
+                    onRollback(() -> restoreCreature(next, current));
+                    moved++;
+                } finally {
+                    unlock.run();
+                }
+            }
+            return moved;
+        } finally {
+            exitWrite(entered);
+        }
+    }
+
+    /**
+     * Locks the stripes of the given creatures until the transaction ends (no-op outside of one). Stripes
+     * are always taken in index order, so transactions locking overlapping sets queue instead of deadlocking.
+     */
+    void lockCreatures(Collection<Long> ids) {
+        if (MemoryTransactionManager.current() == null) return;
+        enterWrite();
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (long id : ids) indexes.add(stripeIndex(id));
+        for (int i : indexes) lock(stripes[i].writer);
+    }
+
+    // Undo of a write: puts back `previous` if `written` (null for a delete) is still what is stored. The
+    // rolling-back transaction still holds the stripe, so no other one has written the row since
+    private void restoreCreature(CreatureRow written, CreatureRow previous) {
+        long id = written != null ? written.id() : previous.id();
+        Stripe stripe = stripe(id);
+        stripe.writer.lock();
+        try {
+            if (stripe.rows.get(id) == written) putCreature(stripe, previous, written);
+        } finally {
+            stripe.writer.unlock();
+        }
+    }
+
+    // Caller holds the stripe's writer lock. Replaces `previous` (null for an insert) by `row` (null for
+    // a delete) in the map, then in the indexes whose key changed
+    private void putCreature(Stripe stripe, CreatureRow row, CreatureRow previous) {
+        long id = row != null ? row.id() : previous.id();
+        stripe.access.writeLock().lock();
+        try {
+            if (row != null) stripe.rows.put(id, row);
+            else stripe.rows.remove(id);
+        } finally {
+            stripe.access.writeLock().unlock();
+        }
+        if (previous == null) creatureIds.add(id);
+        if (row == null) creatureIds.remove(id);
+        reindex(byZone, previous == null ? null : previous.zoneId(), row == null ? null : row.zoneId(), id);
+        reindex(bySpecies, previous == null ? null : previous.species(), row == null ? null : row.species(), id);
+        reindex(byHealth, previous == null ? null : previous.healthStatus(), row == null ? null : row.healthStatus(), id);
+        changes.incrementAndGet();
+    }
+
+    private static <K> void reindex(Map<K, NavigableSet<Long>> index, K from, K to, long id) {
+        if (Objects.equals(from, to)) return;
+        if (to != null) index.computeIfAbsent(to, k -> new ConcurrentSkipListSet<>()).add(id);
+        if (from != null) {
+            NavigableSet<Long> ids = index.get(from);
+            if (ids != null) ids.remove(id);
+        }
+    }
+
+    private static NavigableSet<Long> index(NavigableSet<Long> ids) {
+        return ids == null ? Collections.emptyNavigableSet() : Collections.unmodifiableNavigableSet(ids);
+    }
+
+    private void requireZone(long zoneId) {
+        if (slot(zoneId) == null) throw new DataIntegrityViolationException("Zone " + zoneId + " does not exist");
+    }
+
+    private int stripeIndex(long id) {
+        return (int) id & (stripes.length - 1);
+    }
+
+    private Stripe stripe(long id) {
+        return stripes[stripeIndex(id)];
+    }
+
+    // -------------------- transactions --------------------
+
+    // Inside a transaction the barrier is shared until it ends (and entered only once); outside of one,
+    // for the call only, in which case the caller must exitWrite
+    private boolean enterWrite() {
+        MemoryTransactionManager.Transaction tx = MemoryTransactionManager.current();
+        if (tx == null) {
+            barrier.readLock().lock();
+            return true;
+        }
+        if (barrier.getReadHoldCount() == 0) {
+            barrier.readLock().lock();
+            tx.hold(barrier.readLock());
+        }
+        return false;
+    }
+
+    private void exitWrite(boolean entered) {
+        if (entered) barrier.readLock().unlock();
+    }
+
+    // Inside a transaction the lock is kept until it ends and the returned action does nothing. Waiting is
+    // bounded there, so transactions locking rows in opposite orders fail instead of waiting on each other
+    private Runnable lock(ReentrantLock lock) {
+        MemoryTransactionManager.Transaction tx = MemoryTransactionManager.current();
+        if (tx == null) {
+            lock.lock();
+            return lock::unlock;
+        }
+        if (!lock.isHeldByCurrentThread()) {
+            try {
+                if (!lock.tryLock(properties.lockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                    throw new CannotAcquireLockException("Lock wait timeout exceeded after " + properties.lockTimeout());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotAcquireLockException("Interrupted while waiting for a lock", e);
+            }
+            tx.hold(lock);
+        }
+        return () -> { };
+    }
+
+    // Adds the record of a write (made under the row's lock, which orders the LSNs of each row) to the
+    // transaction's frame, written when it commits; outside of a transaction it is written at once
+    private void log(Consumer<WriteAheadLog.Records> record) {
+        if (!wal.isOpen()) return;
+        MemoryTransactionManager.Transaction tx = MemoryTransactionManager.current();
+        if (tx != null) {
+            record.accept(tx.redo());
+            return;
+        }
+        WriteAheadLog.Records records = new WriteAheadLog.Records();
+        record.accept(records);
+        wal.commit(records);
+    }
+
+    private static void onRollback(Runnable undo) {
+        MemoryTransactionManager.Transaction tx = MemoryTransactionManager.current();
+        if (tx != null) tx.onRollback(undo);
+    }
+
+    private static OptimisticLockingFailureException stale(String entity, long id) {
+        return new OptimisticLockingFailureException(
+                entity + " " + id + " was updated or deleted by another transaction");
+    }
+
+    // -------------------- snapshots and recovery --------------------
+
+    /**
+     * Maps the snapshot, if there is one, and replays the write-ahead log over it, then opens the log
+     * for new writes. A snapshot or log that cannot be read stops the startup rather than letting the
+     * next snapshot overwrite it with an empty zoo.
+     */
+    @PostConstruct
+    void restore() {
+        long started = System.nanoTime();
+        Path path = snapshotPath();
+        long snapshotLsn = path != null && Files.exists(path) ? readSnapshot(path) : 0;
+        savedChanges = changes.get();
+        Replayed replayed = new Replayed();
+        long last = wal.replay(snapshotLsn, replayed);
+        replayed.apply();
+        lsn.set(last);
+        wal.open(last + 1, () -> compaction.execute(this::snapshot));
+        log.info("Restored {} zones and {} creatures (up to LSN {}) in {} ms", zones().size(), creatureCount(), last,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    // Returns the LSN of the snapshot
+    private long readSnapshot(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) throw new IllegalStateException("Snapshot " + path + " is too large to map");
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(in.slice(0, (int) size - Long.BYTES));
+            if (in.getLong((int) size - Long.BYTES) != crc.getValue()) {
+                throw new IllegalStateException("Snapshot " + path + " is corrupt (checksum)");
+            }
+            int format;
+            if (in.getInt() != MAGIC || (format = in.getInt()) > FORMAT) {
+                throw new IllegalStateException("Snapshot " + path + " is not a zoo snapshot of format " + FORMAT);
+            }
+            zoneSequence.set(in.getLong());
+            creatureSequence.set(in.getLong());
+            // Format 1 predates the write-ahead log
+            long snapshotLsn = format >= 2 ? in.getLong() : 0;
+            List<ZoneSlot> slots = new ArrayList<>();
+            for (int i = in.getInt(); i > 0; i--) slots.add(new ZoneSlot(RowCodec.readZone(in)));
+            slots.forEach(this::putSlot);
+            for (long i = in.getLong(); i > 0; i--) {
+                CreatureRow row = RowCodec.readCreature(in);
+                putCreature(stripe(row.id()), row, null);
+            }
+            // Counters are derived, so they always match the creatures of the snapshot
+            for (ZoneSlot slot : slots) slot.count = creaturesInZone(slot.row.id()).size();
+            return snapshotLsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read snapshot " + path, e);
+        }
+    }
+
+    /**
+     * The newest image of each row, counter and deletion found in the log. Concurrent transactions may
+     * commit in another order than they wrote, so the LSN, not the position in the log, decides.
+     */
+    private final class Replayed implements WriteAheadLog.Replay {
+        private record Image<T>(long lsn, T value) { }
+
+        private final Map<Long, Image<ZoneRow>> zoneImages = new HashMap<>();
+        private final Map<Long, Image<Integer>> counterImages = new HashMap<>();
+        private final Map<Long, Image<CreatureRow>> creatureImages = new HashMap<>();
+
+        @Override
+        public void zone(long lsn, ZoneRow row) { newest(zoneImages, row.id(), new Image<>(lsn, row)); }
+
+        @Override
+        public void zoneDeleted(long lsn, long id) { newest(zoneImages, id, new Image<>(lsn, null)); }
+
+        @Override
+        public void counter(long lsn, long zoneId, int count) { newest(counterImages, zoneId, new Image<>(lsn, count)); }
+
+        @Override
+        public void creature(long lsn, CreatureRow row) { newest(creatureImages, row.id(), new Image<>(lsn, row)); }
+
+        @Override
+        public void creatureDeleted(long lsn, long id) { newest(creatureImages, id, new Image<>(lsn, null)); }
+
+        private static <T> void newest(Map<Long, Image<T>> images, long id, Image<T> image) {
+            images.merge(id, image, (a, b) -> a.lsn() >= b.lsn() ? a : b);
+        }
+
+        // Zones first, so counters find their zone whatever order the log had
+        void apply() {
+            zoneImages.forEach((id, image) -> {
+                ZoneSlot slot = slot(id);
+                if (image.value() == null) {
+                    if (slot != null) removeSlot(id);
+                } else if (slot == null) {
+                    putSlot(new ZoneSlot(image.value()));
+                } else {
+                    slot.row = image.value();
+                }
+                zoneSequence.accumulateAndGet(id, Math::max);
+            });
+            counterImages.forEach((zoneId, image) -> {
+                ZoneSlot slot = slot(zoneId);
+                if (slot != null) slot.count = image.value();
+            });
+            creatureImages.forEach((id, image) -> {
+                Stripe stripe = stripe(id);
+                CreatureRow current = stripe.rows.get(id);
+                if (image.value() != null || current != null) putCreature(stripe, image.value(), current);
+                creatureSequence.accumulateAndGet(id, Math::max);
+            });
+        }
+    }
+
+    /**
+     * Writes every zone and creature to a temporary file, forces it to disk and moves it over the
+     * snapshot, so a crash while writing leaves the previous snapshot intact; then drops the log
+     * segments it covers. Skipped when nothing changed since the last one.
+     */
+    @Scheduled(fixedDelayString = "${zoo.storage.snapshot-interval:5m}",
+               initialDelayString = "${zoo.storage.snapshot-interval:5m}")
+    public synchronized void snapshot() {
+        Path path = snapshotPath();
+        if (path == null) return;
+        List<ZoneRow> zoneRows;
+        List<CreatureRow> creatureRows = new ArrayList<>();
+        long zoneSeq, creatureSeq, snapshotLsn, changed;
+        barrier.writeLock().lock();
+        try {
+            changed = changes.get();
+            if (changed == savedChanges) return;
+            zoneRows = zones();
+            forEachCreature(creatureRows::add);
+            zoneSeq = zoneSequence.get();
+            creatureSeq = creatureSequence.get();
+            snapshotLsn = lsn.get();
+            wal.rotate(snapshotLsn + 1);
+        } finally {
+            barrier.writeLock().unlock();
+        }
+
+        long started = System.nanoTime();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try {
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                DataOutputStream out = new DataOutputStream(
+                        new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), crc));
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT);
+                out.writeLong(zoneSeq);
+                out.writeLong(creatureSeq);
+                out.writeLong(snapshotLsn);
+                out.writeInt(zoneRows.size());
+                for (ZoneRow z : zoneRows) RowCodec.writeZone(out, z);
+                out.writeLong(creatureRows.size());
+                for (CreatureRow c : creatureRows) RowCodec.writeCreature(out, c);
+                out.flush();
+                out.writeLong(crc.getValue());
+                out.flush();
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The log segments stay, so nothing is lost; a snapshot mapped at startup may still block the
+            // move on Windows until it is unmapped
+            log.warn("Snapshot to {} failed, keeping the previous one: {}", path, e.getMessage());
+            return;
+        }
+        savedChanges = changed;
+        wal.discardBefore(snapshotLsn + 1);
+        long elapsed = System.nanoTime() - started;
+        snapshotTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.debug("Saved {} zones and {} creatures (up to LSN {}) to {} in {} ms", zoneRows.size(),
+                creatureRows.size(), snapshotLsn, path, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    // Runs after the services (and the last health-event flush) are gone: they all depend on the stores.
+    // The log closes after this, since the storage depends on it
+    @PreDestroy
+    void close() {
+        compaction.shutdown();
+        snapshot();
+    }
+
+    private Path snapshotPath() {
+        Path path = properties.snapshotPath();
+        return path == null || path.toString().isBlank() ? null : path;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.zoo_fantastico.storage;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.SmartTransactionObject;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Transaction manager of the in-memory engine, so that {@code @Transactional}, {@code TransactionTemplate}
+ * and after-commit event listeners work as they do on JPA. A transaction is an undo log plus the locks
+ * taken on its behalf: {@link MemoryStorage} writes take effect immediately (other transactions see
+ * them before commit, as with READ UNCOMMITTED), commit waits for the transaction's redo records to reach
+ * the {@link WriteAheadLog}, rollback replays the undo log newest first, and the locks are released once
+ * the transaction has completed either way.
+ */
+@Component("transactionManager")
+@Profile("memory")
+public class MemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    private static final Object RESOURCE = MemoryTransactionManager.class;
+
+    private final WriteAheadLog wal;
+
+    public MemoryTransactionManager(WriteAheadLog wal) {
+        this.wal = wal;
+    }
+
+    static final class Transaction {
+        private final Deque<Runnable> undo = new ArrayDeque<>();
+        private final Deque<Lock> held = new ArrayDeque<>();
+        private WriteAheadLog.Records redo;
+        private boolean rollbackOnly;
+
+        void onRollback(Runnable action) { undo.push(action); }
+
+        /** Keeps {@code lock} (already acquired by the caller) until the transaction has completed. */
+        void hold(Lock lock) { held.push(lock); }
+
+        /** The log records of the transaction's writes, appended to the {@link WriteAheadLog} at commit. */
+        WriteAheadLog.Records redo() {
+            if (redo == null) redo = new WriteAheadLog.Records();
+            return redo;
+        }
+    }
+
+    /** The transaction bound to the calling thread, or null outside of one. */
+    static Transaction current() {
+        return (Transaction) TransactionSynchronizationManager.getResource(RESOURCE);
+    }
+
+    private static final class Handle implements SmartTransactionObject {
+        Transaction transaction;
+
+        Handle(Transaction transaction) { this.transaction = transaction; }
+
+        @Override
+        public boolean isRollbackOnly() { return transaction != null && transaction.rollbackOnly; }
+
+        @Override
+        public void flush() { }
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Handle(current());
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((Handle) transaction).transaction != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Handle handle = (Handle) transaction;
+        handle.transaction = new Transaction();
+        TransactionSynchronizationManager.bindResource(RESOURCE, handle.transaction);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((Handle) transaction).transaction = null;
+        return TransactionSynchronizationManager.unbindResource(RESOURCE);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(RESOURCE, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        Transaction tx = ((Handle) status.getTransaction()).transaction;
+        // A failed append throws, and the changes are rolled back from the undo log
+        if (tx.redo != null) wal.commit(tx.redo);
+        tx.undo.clear();
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        Deque<Runnable> undo = ((Handle) status.getTransaction()).transaction.undo;
+        while (!undo.isEmpty()) undo.pop().run();
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        ((Handle) status.getTransaction()).transaction.rollbackOnly = true;
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        Transaction tx = ((Handle) transaction).transaction;
+        TransactionSynchronizationManager.unbindResource(RESOURCE);
+        while (!tx.held.isEmpty()) tx.held.pop().unlock();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.storage.MemoryStorage.ZoneRow;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * {@link ZoneStore} and {@link OccupancyStore} over {@link MemoryStorage}. Zones are handed out as
+ * copies; changes reach the tables through {@link #save} and {@link #delete} only.
+ */
+@Component
+@Profile("memory")
+public class MemoryZoneStore implements ZoneStore, OccupancyStore {
+
+    private final MemoryStorage storage;
+
+    public MemoryZoneStore(MemoryStorage storage) {
+        this.storage = storage;
+    }
+
+    @Override
+    public <S extends Zone> S save(S zone) {
+        if (zone.getName() == null || zone.getDescription() == null) {
+            throw new DataIntegrityViolationException("Zone name and description must not be null");
+        }
+        ZoneRow current = zone.getId() == null ? null : storage.zone(zone.getId());
+        ZoneRow stored = current == null
+                ? storage.insertZone(zone.getName(), zone.getDescription(), zone.getCapacity())
+                : storage.updateZone(new ZoneRow(zone.getId(), zone.getVersion(), zone.getName(),
+                        zone.getDescription(), zone.getCapacity()));
+        zone.setId(stored.id());
+        zone.setVersion(stored.version());
+        return zone;
+    }
+
+    @Override
+    public Optional<Zone> findById(Long id) {
+        return Optional.ofNullable(storage.zone(id)).map(MemoryZoneStore::toZone);
+    }
+
+    @Override
+    public List<Zone> findAllById(Iterable<Long> ids) {
+        List<Zone> zones = new ArrayList<>();
+        for (Long id : ids) {
+            ZoneRow row = storage.zone(id);
+            if (row != null) zones.add(toZone(row));
+        }
+        return zones;
+    }
+
+    @Override
+    public List<Zone> findAll() {
+        return storage.zones().stream().map(MemoryZoneStore::toZone).toList();
+    }
+
+    @Override
+    public Zone getReferenceById(Long id) {
+        ZoneRow row = storage.zone(id);
+        if (row != null) return toZone(row);
+        Zone zone = new Zone();
+        zone.setId(id);
+        return zone;
+    }
+
+    @Override
+    public void delete(Zone zone) {
+        storage.deleteZone(zone.getId(), zone.getVersion());
+    }
+
+    @Override
+    public void flush() { }
+
+    @Override
+    public List<ZoneSummary> findAllSummaries() {
+        return storage.zones().stream().map(this::toSummary).toList();
+    }
+
+    @Override
+    public Optional<ZoneSummary> findSummaryById(long id) {
+        return Optional.ofNullable(storage.zone(id)).map(this::toSummary);
+    }
+
+    @Override
+    public Stream<ZoneSummary> streamAllSummaries() {
+        return findAllSummaries().stream();
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(FieldSet fields) {
+        return findAllSummaries().stream().map(s -> fields(s, fields)).toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields) {
+        return findSummaryById(id).map(s -> fields(s, fields));
+    }
+
+    // -------------------- occupancy --------------------
+
+    @Override
+    public void insertEmpty(long zoneId) { storage.createCounter(zoneId); }
+
+    @Override
+    public void deleteCounter(long zoneId) { storage.deleteCounter(zoneId); }
+
+    @Override
+    public int tryReserve(long zoneId, int n) { return storage.addToCounter(zoneId, n, true); }
+
+    @Override
+    public int add(long zoneId, int n) { return storage.addToCounter(zoneId, n, false); }
+
+    @Override
+    public Optional<Integer> lockCount(long zoneId) {
+        return Optional.ofNullable(storage.lockCounter(zoneId));
+    }
+
+    @Override
+    public List<Object[]> lockCounts(Collection<Long> zoneIds) {
+        List<Object[]> counts = new ArrayList<>();
+        for (long zoneId : new TreeSet<>(zoneIds)) {
+            Integer count = storage.lockCounter(zoneId);
+            if (count != null) counts.add(new Object[]{zoneId, count});
+        }
+        return counts;
+    }
+
+    @Override
+    public int backfillMissing() {
+        int seeded = 0;
+        for (ZoneRow zone : storage.zones()) seeded += storage.backfillCounter(zone.id());
+        return seeded;
+    }
+
+    @Override
+    public int backfill(long zoneId) { return storage.backfillCounter(zoneId); }
+
+    static Zone toZone(ZoneRow row) {
+        Zone zone = new Zone();
+        zone.setId(row.id());
+        zone.setVersion(row.version());
+        zone.setName(row.name());
+        zone.setDescription(row.description());
+        zone.setCapacity(row.capacity());
+        return zone;
+    }
+
+    private ZoneSummary toSummary(ZoneRow row) {
+        return new ZoneSummary(row.id(), row.name(), row.description(), row.capacity(), storage.count(row.id()),
+                row.version());
+    }
+
+    private static Map<String, Object> fields(ZoneSummary zone, FieldSet fields) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (String field : fields.names()) {
+            map.put(field, switch (field) {
+                case "id" -> zone.id();
+                case "name" -> zone.name();
+                case "description" -> zone.description();
+                case "capacity" -> zone.capacity();
+                case "creatureCount" -> zone.creatureCount();
+                case "version" -> zone.version();
+                default -> throw new IllegalArgumentException("Unknown field '" + field + "'");
+            });
+        }
+        return map;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.zoo_fantastico.storage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Per-zone creature counters behind {@code ZoneOccupancyService}, implemented by
+ * {@code ZoneOccupancyRepository} (JPA) and {@link MemoryZoneStore}. Locks taken here are held until
+ * the surrounding transaction ends.
+ */
+public interface OccupancyStore {
+
+    void insertEmpty(long zoneId);
+
+    void deleteCounter(long zoneId);
+
+    /** Adds {@code n} to the counter if the zone's capacity allows it; returns the number of counters changed. */
+    int tryReserve(long zoneId, int n);
+
+    int add(long zoneId, int n);
+
+    /** Current count, with the counter locked. */
+    Optional<Integer> lockCount(long zoneId);
+
+    /** Rows of [zoneId, count] for the zones that have a counter, locked in zone id order. */
+    List<Object[]> lockCounts(Collection<Long> zoneIds);
+
+    /** Seeds missing counters from the creatures; returns the number of counters created. */
+    int backfillMissing();
+
+    int backfill(long zoneId);
+}
@@ -0,0 +1,65 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.storage.MemoryStorage.CreatureRow;
+import com.example.zoo_fantastico.storage.MemoryStorage.ZoneRow;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary row format shared by the snapshot and the write-ahead log: big-endian fields in declaration
+ * order, strings as a length-prefixed UTF-8 (length -1 for null). Rows are written through a
+ * {@link DataOutput} and read back from a (memory-mapped) {@link ByteBuffer}.
+ */
+final class RowCodec {
+
+    private RowCodec() { }
+
+    static void writeZone(DataOutput out, ZoneRow z) throws IOException {
+        out.writeLong(z.id());
+        out.writeLong(z.version());
+        writeString(out, z.name());
+        writeString(out, z.description());
+        out.writeInt(z.capacity());
+    }
+
+    static ZoneRow readZone(ByteBuffer in) {
+        return new ZoneRow(in.getLong(), in.getLong(), readString(in), readString(in), in.getInt());
+    }
+
+    static void writeCreature(DataOutput out, CreatureRow c) throws IOException {
+        out.writeLong(c.id());
+        out.writeLong(c.version());
+        writeString(out, c.name());
+        writeString(out, c.species());
+        out.writeDouble(c.size());
+        out.writeInt(c.dangerLevel());
+        writeString(out, c.healthStatus());
+        out.writeLong(c.zoneId());
+    }
+
+    static CreatureRow readCreature(ByteBuffer in) {
+        return new CreatureRow(in.getLong(), in.getLong(), readString(in), readString(in), in.getDouble(),
+                in.getInt(), readString(in), in.getLong());
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,427 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.config.StorageProperties;
+import com.example.zoo_fantastico.storage.MemoryStorage.CreatureRow;
+import com.example.zoo_fantastico.storage.MemoryStorage.ZoneRow;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log of the in-memory engine. {@link MemoryStorage} records the after-image of every row,
+ * deletion and occupancy counter it writes; a transaction's records are appended as one frame when it
+ * commits, and the commit returns once the frame is on disk. Frames queue up for a single writer thread
+ * that writes whatever has accumulated and then forces the file once, so concurrent commits share an
+ * fsync (group commit).
+ *
+ * <p>The log is a series of segments named after the first LSN (log sequence number) they may hold. A
+ * snapshot starts a new segment and, once it is safely on disk, deletes the older ones; a segment that
+ * outgrows {@code zoo.storage.wal-compact-size} asks for such a snapshot in the background. At startup
+ * the segments are memory-mapped and replayed over the snapshot. A frame is {@code [length][crc][records]};
+ * a torn or corrupt frame ends the replay of its segment, so a crash mid-write loses at most the commits
+ * that had not returned yet.
+ */
+@Component
+@Profile("memory")
+public class WriteAheadLog {
+    private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER = 8;
+
+    static final byte ZONE = 1;
+    static final byte ZONE_DELETED = 2;
+    static final byte COUNTER = 3;
+    static final byte CREATURE = 4;
+    static final byte CREATURE_DELETED = 5;
+
+    /** The records of one transaction (or of one write outside of a transaction), in the order written. */
+    static final class Records {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        void zone(long lsn, ZoneRow row) {
+            try {
+                header(ZONE, lsn);
+                RowCodec.writeZone(out, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void zoneDeleted(long lsn, long id) { idRecord(ZONE_DELETED, lsn, id); }
+
+        void counter(long lsn, long zoneId, int count) {
+            try {
+                header(COUNTER, lsn);
+                out.writeLong(zoneId);
+                out.writeInt(count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void creature(long lsn, CreatureRow row) {
+            try {
+                header(CREATURE, lsn);
+                RowCodec.writeCreature(out, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void creatureDeleted(long lsn, long id) { idRecord(CREATURE_DELETED, lsn, id); }
+
+        boolean isEmpty() { return bytes.size() == 0; }
+
+        private void idRecord(byte type, long lsn, long id) {
+            try {
+                header(type, lsn);
+                out.writeLong(id);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void header(byte type, long lsn) throws IOException {
+            out.writeByte(type);
+            out.writeLong(lsn);
+        }
+    }
+
+    /** Receives the replayed records, oldest segment first. */
+    interface Replay {
+        void zone(long lsn, ZoneRow row);
+        void zoneDeleted(long lsn, long id);
+        void counter(long lsn, long zoneId, int count);
+        void creature(long lsn, CreatureRow row);
+        void creatureDeleted(long lsn, long id);
+    }
+
+    private record Pending(ByteBuffer frame, CompletableFuture<Void> done) { }
+
+    private static final Pending CLOSE = new Pending(null, null);
+
+    private final Path dir;
+    private final long compactSize;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Object segmentLock = new Object();
+    private final Timer syncTimer;
+    private final DistributionSummary groupSize;
+    // Guarded by segmentLock
+    private FileChannel channel;
+    private long segmentStart;
+    private long segmentBytes;
+    private boolean compactionRequested;
+    private Runnable compaction = () -> { };
+    private Thread writer;
+    private volatile boolean open;
+
+    public WriteAheadLog(StorageProperties properties, MeterRegistry registry) {
+        boolean snapshots = properties.snapshotPath() != null && !properties.snapshotPath().toString().isBlank();
+        Path walDir = properties.walDir();
+        this.dir = snapshots && walDir != null && !walDir.toString().isBlank() ? walDir : null;
+        this.compactSize = properties.walCompactSize() == null ? Long.MAX_VALUE : properties.walCompactSize().toBytes();
+        this.syncTimer = Timer.builder("zoo.storage.wal.sync")
+                .description("Time to write and force one group of write-ahead log frames").register(registry);
+        this.groupSize = DistributionSummary.builder("zoo.storage.wal.group")
+                .description("Commits made durable by one fsync of the write-ahead log").register(registry);
+    }
+
+    boolean enabled() {
+        return dir != null;
+    }
+
+    /** True between {@link #open} and {@link #close}: only then are records kept. */
+    boolean isOpen() {
+        return open;
+    }
+
+    /**
+     * Feeds the records with an LSN above {@code afterLsn} to {@code sink}, segment by segment; returns
+     * the highest LSN seen (at least {@code afterLsn}).
+     */
+    long replay(long afterLsn, Replay sink) {
+        if (!enabled() || !Files.isDirectory(dir)) return afterLsn;
+        List<Long> starts = segments();
+        long last = afterLsn;
+        int frames = 0;
+        for (int i = 0; i < starts.size(); i++) {
+            // Every record of this segment precedes the next segment's first LSN
+            if (i + 1 < starts.size() && starts.get(i + 1) <= afterLsn + 1) continue;
+            Path segment = segment(starts.get(i));
+            try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+                if (in.size() > Integer.MAX_VALUE) throw new IllegalStateException("Segment " + segment + " is too large");
+                MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+                while (buffer.hasRemaining()) {
+                    int length = buffer.remaining() < HEADER ? -1 : buffer.getInt(buffer.position());
+                    if (length <= 0 || length > buffer.remaining() - HEADER) {
+                        log.warn("Write-ahead log {} ends with a torn frame at {}; ignoring the rest",
+                                segment, buffer.position());
+                        break;
+                    }
+                    buffer.position(buffer.position() + Integer.BYTES);
+                    int checksum = buffer.getInt();
+                    ByteBuffer frame = buffer.slice(buffer.position(), length);
+                    CRC32 crc = new CRC32();
+                    crc.update(frame.duplicate());
+                    if ((int) crc.getValue() != checksum) {
+                        log.warn("Write-ahead log {} has a corrupt frame at {}; ignoring the rest",
+                                segment, buffer.position() - HEADER);
+                        break;
+                    }
+                    last = Math.max(last, replayFrame(frame, afterLsn, sink));
+                    buffer.position(buffer.position() + length);
+                    frames++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read write-ahead log " + segment, e);
+            }
+        }
+        log.info("Replayed {} write-ahead log frames from {} (up to LSN {})", frames, dir, last);
+        return last;
+    }
+
+    private static long replayFrame(ByteBuffer frame, long afterLsn, Replay sink) {
+        long last = afterLsn;
+        while (frame.hasRemaining()) {
+            byte type = frame.get();
+            long lsn = frame.getLong();
+            boolean apply = lsn > afterLsn;
+            switch (type) {
+                case ZONE -> {
+                    ZoneRow row = RowCodec.readZone(frame);
+                    if (apply) sink.zone(lsn, row);
+                }
+                case ZONE_DELETED -> {
+                    long id = frame.getLong();
+                    if (apply) sink.zoneDeleted(lsn, id);
+                }
+                case COUNTER -> {
+                    long zoneId = frame.getLong();
+                    int count = frame.getInt();
+                    if (apply) sink.counter(lsn, zoneId, count);
+                }
+                case CREATURE -> {
+                    CreatureRow row = RowCodec.readCreature(frame);
+                    if (apply) sink.creature(lsn, row);
+                }
+                case CREATURE_DELETED -> {
+                    long id = frame.getLong();
+                    if (apply) sink.creatureDeleted(lsn, id);
+                }
+                default -> throw new IllegalStateException("Unknown write-ahead log record type " + type);
+            }
+            last = Math.max(last, lsn);
+        }
+        return last;
+    }
+
+    /**
+     * Starts a segment for the records from {@code firstLsn} on and the writer thread; {@code compaction}
+     * is run (on the writer thread, so it must only hand the work off) once the segment grows too large.
+     */
+    void open(long firstLsn, Runnable compaction) {
+        if (!enabled() || open) return;
+        try {
+            Files.createDirectories(dir);
+            synchronized (segmentLock) {
+                this.compaction = compaction;
+                startSegment(firstLsn);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open write-ahead log in " + dir, e);
+        }
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("zoo-wal-");
+        threads.setDaemon(true);
+        writer = threads.newThread(this::writeLoop);
+        writer.start();
+        open = true;
+    }
+
+    /**
+     * Appends {@code records} as one frame and waits until it is on disk. Throws a
+     * {@link DataAccessResourceFailureException} if it could not be written.
+     */
+    void commit(Records records) {
+        if (!open || records.isEmpty()) return;
+        byte[] payload = records.bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        Pending pending = new Pending(frame, new CompletableFuture<>());
+        queue.add(pending);
+        try {
+            pending.done().join();
+        } catch (CompletionException e) {
+            throw (RuntimeException) e.getCause();
+        }
+    }
+
+    /**
+     * Ends the current segment; later records go to one starting at {@code firstLsn}. Called by the
+     * snapshot while no transaction can write, so every record before {@code firstLsn} is in the old
+     * segments.
+     */
+    void rotate(long firstLsn) {
+        if (!open) return;
+        synchronized (segmentLock) {
+            if (firstLsn == segmentStart) return;
+            try {
+                channel.close();
+                startSegment(firstLsn);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot start write-ahead log segment in " + dir, e);
+            }
+        }
+    }
+
+    /** Deletes the segments before the one starting at {@code firstLsn}, now covered by a snapshot. */
+    void discardBefore(long firstLsn) {
+        if (!open) return;
+        for (long start : segments()) {
+            if (start >= firstLsn) continue;
+            try {
+                Files.deleteIfExists(segment(start));
+            } catch (IOException e) {
+                // Still covered by the snapshot: replay skips it, and the next compaction retries
+                log.warn("Cannot delete write-ahead log segment {}: {}", segment(start), e.getMessage());
+            }
+        }
+    }
+
+    /** Stops the writer once the queued frames are written. */
+    @PreDestroy
+    public void close() {
+        if (!open) return;
+        open = false;
+        queue.add(CLOSE);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        DataAccessResourceFailureException closed = new DataAccessResourceFailureException("Write-ahead log is closed");
+        for (Pending late; (late = queue.poll()) != null; ) {
+            if (late != CLOSE) late.done().completeExceptionally(closed);
+        }
+        synchronized (segmentLock) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Cannot close write-ahead log: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> group = new ArrayList<>();
+        while (true) {
+            try {
+                group.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(group);
+            boolean closing = group.remove(CLOSE);
+            if (!group.isEmpty()) write(group);
+            group.clear();
+            if (closing) return;
+        }
+    }
+
+    private void write(List<Pending> group) {
+        long started = System.nanoTime();
+        ByteBuffer[] frames = new ByteBuffer[group.size()];
+        for (int i = 0; i < frames.length; i++) frames[i] = group.get(i).frame();
+        boolean compact = false;
+        synchronized (segmentLock) {
+            long position = segmentBytes;
+            try {
+                long written = 0;
+                while (frames[frames.length - 1].hasRemaining()) written += channel.write(frames);
+                channel.force(false);
+                segmentBytes += written;
+            } catch (IOException e) {
+                truncate(position);
+                DataAccessResourceFailureException failure =
+                        new DataAccessResourceFailureException("Cannot write the write-ahead log", e);
+                for (Pending pending : group) pending.done().completeExceptionally(failure);
+                return;
+            }
+            if (segmentBytes >= compactSize && !compactionRequested) {
+                compactionRequested = true;
+                compact = true;
+            }
+        }
+        syncTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        groupSize.record(group.size());
+        for (Pending pending : group) pending.done().complete(null);
+        if (compact) compaction.run();
+    }
+
+    // Drops a partly written group, so the frames after it are not hidden behind a torn one
+    private void truncate(long position) {
+        try {
+            channel.truncate(position);
+            channel.position(position);
+        } catch (IOException e) {
+            log.warn("Cannot truncate write-ahead log after a failed write: {}", e.getMessage());
+        }
+    }
+
+    // Caller holds segmentLock
+    private void startSegment(long firstLsn) throws IOException {
+        channel = FileChannel.open(segment(firstLsn), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        segmentStart = firstLsn;
+        segmentBytes = 0;
+        compactionRequested = false;
+    }
+
+    private Path segment(long firstLsn) {
+        return dir.resolve(String.format("%s%020d%s", PREFIX, firstLsn, SUFFIX));
+    }
+
+    // First LSNs of the segments on disk, ascending
+    private List<Long> segments() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(p -> p.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list write-ahead log segments in " + dir, e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.model.Zone;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Zone storage used by the services, implemented by {@code ZoneRepository} (JPA) and
+ * {@link MemoryZoneStore}. As with {@link CreatureStore}, every change goes through {@link #save}.
+ */
+public interface ZoneStore {
+
+    /** Inserts a zone without id, or updates it; the id and version are written back to it. */
+    <S extends Zone> S save(S zone);
+
+    Optional<Zone> findById(Long id);
+
+    List<Zone> findAllById(Iterable<Long> ids);
+
+    List<Zone> findAll();
+
+    /** The zone to attach a creature to; it is not checked to exist. */
+    Zone getReferenceById(Long id);
+
+    void delete(Zone zone);
+
+    void flush();
+
+    /** Summaries ordered by id, counts taken from the occupancy counters. */
+    List<ZoneSummary> findAllSummaries();
+
+    Optional<ZoneSummary> findSummaryById(long id);
+
+    /** Every summary ordered by id; close the stream (and, on JPA, consume it inside a transaction). */
+    Stream<ZoneSummary> streamAllSummaries();
+
+    /** Zone summaries ordered by id, with only the fields in {@code fields}. */
+    List<Map<String, Object>> findAllFields(FieldSet fields);
+
+    Optional<Map<String, Object>> findFieldsById(long id, FieldSet fields);
+}
@@ -0,0 +1,210 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.ChangeFeedProperties;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events fan-out of {@link ChangeEvent}s. Services publish the events inside their
+ * transaction; they reach this feed only after commit. Each event gets a resume token
+ * ({@code <epoch>-<sequence>}, sent as the SSE id) and is kept in a bounded history, so a client that
+ * reconnects with {@code Last-Event-ID} receives what it missed instead of reloading everything.
+ *
+ * <p>Publishing only appends to per-subscriber queues; a small delivery pool does the writes, so
+ * neither the committing thread nor any request thread waits on a slow client. A subscriber whose
+ * queue overflows is disconnected and resumes from its token.
+ */
+@Component
+public class ChangeFeed {
+
+    static final String READY = "ready";
+    static final String RESET = "reset";
+
+    private final ChangeFeedProperties properties;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Entry> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService delivery;
+    private long sequence;
+
+    public ChangeFeed(ChangeFeedProperties properties) {
+        this.properties = properties;
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("change-feed-");
+        threads.setDaemon(true);
+        this.delivery = Executors.newFixedThreadPool(Math.max(1, properties.deliveryThreads()), threads);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChangeEvent event) {
+        lock.lock();
+        try {
+            Entry entry = new Entry(++sequence, token(sequence), event);
+            history.addLast(entry);
+            if (history.size() > properties.history()) history.removeFirst();
+            for (Subscriber s : subscribers) {
+                if (s.accepts(event)) s.offer(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a feed limited to {@code zoneIds} (all zones when empty). With a {@code resumeToken} the
+     * events after it are replayed first; if they are no longer in the history, or the token is from
+     * another run of the server, the client gets a {@code reset} event and must reload.
+     */
+    public SseEmitter subscribe(Set<Long> zoneIds, String resumeToken) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, zoneIds == null ? Set.of() : Set.copyOf(zoneIds));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        lock.lock();
+        try {
+            Long after = resumeToken == null ? null : sequenceOf(resumeToken);
+            if (resumeToken == null) {
+                subscriber.offer(new Control(READY, token(sequence)));
+            } else if (after == null || after > sequence || after < sequence - history.size()) {
+                subscriber.offer(new Control(RESET, token(sequence)));
+            } else {
+                List<Entry> missed = history.stream()
+                        .filter(e -> e.seq() > after && subscriber.accepts(e.event()))
+                        .toList();
+                if (missed.size() < properties.subscriberBuffer()) {
+                    missed.forEach(subscriber::offer);
+                } else {
+                    // Replaying would overflow the queue and disconnect the client again
+                    subscriber.offer(new Control(RESET, token(sequence)));
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Scheduled(fixedDelayString = "${zoo.feed.heartbeat:15s}")
+    public void heartbeat() {
+        for (Subscriber s : subscribers) s.offer(HEARTBEAT);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(s -> s.emitter.complete());
+        delivery.shutdownNow();
+    }
+
+    private String token(long seq) {
+        return epoch + "-" + seq;
+    }
+
+    private Long sequenceOf(String token) {
+        int dash = token.lastIndexOf('-');
+        if (dash < 0 || !token.substring(0, dash).equals(epoch)) return null;
+        try {
+            return Long.parseLong(token.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Entry(long seq, String token, ChangeEvent event) { }
+
+    private record Control(String name, String token) { }
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> zoneIds;
+        private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Set<Long> zoneIds) {
+            this.emitter = emitter;
+            this.zoneIds = zoneIds;
+        }
+
+        /** A creature moved between zones concerns both: it left one and entered the other. */
+        boolean accepts(ChangeEvent event) {
+            if (zoneIds.isEmpty()) return true;
+            if (event.zoneId() != null && zoneIds.contains(event.zoneId())) return true;
+            return event.previous() != null && zoneIds.contains(event.previous().zoneId());
+        }
+
+        /** Never blocks; a full queue closes the subscriber (the client resumes from its last token). */
+        boolean offer(Object item) {
+            if (closed) return false;
+            if (queued.incrementAndGet() > properties.subscriberBuffer()) {
+                close();
+                return false;
+            }
+            queue.add(item);
+            if (draining.compareAndSet(false, true)) delivery.execute(this::drain);
+            return true;
+        }
+
+        private void drain() {
+            do {
+                Object item;
+                while (!closed && (item = queue.poll()) != null) {
+                    queued.decrementAndGet();
+                    try {
+                        emitter.send(toSse(item));
+                    } catch (IOException | IllegalStateException e) {
+                        close();
+                    }
+                }
+                draining.set(false);
+            } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void close() {
+            if (closed) return;
+            closed = true;
+            subscribers.remove(this);
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSse(Object item) {
+        if (item instanceof Entry entry) {
+            return SseEmitter.event().id(entry.token()).name(entry.event().name())
+                    .data(entry.event(), MediaType.APPLICATION_JSON);
+        }
+        if (item instanceof Control control) {
+            return SseEmitter.event().id(control.token()).name(control.name()).data(Map.of("token", control.token()));
+        }
+        return SseEmitter.event().comment("heartbeat");
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.LoadSheddingProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds API requests while the connection pool is congested. Every {@code sample-interval} the mean
+ * time spent waiting for a Hikari connection is read from its Micrometer timer; above the target,
+ * a growing share of writes is refused with 503 + Retry-After, and reads follow once the wait is
+ * twice as long. Refusing early keeps the requests that do get in fast, instead of letting every
+ * request queue on the pool until it times out.
+ */
+@Component
+public class LoadSheddingFilter extends OncePerRequestFilter {
+    static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    static final String PENDING_GAUGE = "hikaricp.connections.pending";
+
+    private final LoadSheddingProperties properties;
+    private final MeterRegistry registry;
+    private final Counter shedReads;
+    private final Counter shedWrites;
+    private double lastTotalMillis;
+    private long lastCount;
+    private volatile double waitMillis;
+
+    public LoadSheddingFilter(LoadSheddingProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+        this.shedReads = shed(registry, "read");
+        this.shedWrites = shed(registry, "write");
+        Gauge.builder("zoo.http.pool.wait", this, f -> f.waitMillis).baseUnit("milliseconds")
+                .description("Mean connection-pool wait over the last sample, as seen by load shedding").register(registry);
+    }
+
+    private static Counter shed(MeterRegistry registry, String kind) {
+        return Counter.builder("zoo.http.rejected").tag("reason", "load-shedding").tag("kind", kind)
+                .description("API requests refused before reaching a controller").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = RateLimitFilter.isWrite(request.getMethod());
+        double p = shedProbability(write);
+        if (p > 0 && ThreadLocalRandom.current().nextDouble() < p) {
+            (write ? shedWrites : shedReads).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.retryAfter().toSeconds())));
+            response.getWriter().write("Service overloaded, retry later");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /** 0 at the kind's threshold, rising linearly to 1 at twice the threshold. */
+    double shedProbability(boolean write) {
+        double threshold = properties.targetWait().toMillis() * (write ? 1 : 2);
+        return Math.max(0, Math.min(1, (waitMillis - threshold) / threshold));
+    }
+
+    @Scheduled(fixedDelayString = "${zoo.load-shedding.sample-interval:1s}")
+    public synchronized void sample() {
+        if (!properties.enabled()) return;
+        double total = 0;
+        long count = 0;
+        for (Timer timer : registry.find(ACQUIRE_TIMER).timers()) {
+            total += timer.totalTime(TimeUnit.MILLISECONDS);
+            count += timer.count();
+        }
+        long acquired = count - lastCount;
+        if (acquired > 0) {
+            waitMillis = (total - lastTotalMillis) / acquired;
+        } else {
+            // Nothing was handed out: either the pool is idle, or every caller is still waiting
+            double pending = registry.find(PENDING_GAUGE).gauges().stream().mapToDouble(Gauge::value).sum();
+            waitMillis = pending > 0 ? properties.sampleInterval().toMillis() : 0;
+        }
+        lastTotalMillis = total;
+        lastCount = count;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.RateLimitProperties;
+import com.example.zoo_fantastico.config.RateLimitProperties.Bucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client and global token buckets in front of the API, with separate budgets for reads and
+ * writes, so a client flooding POST /api/creatures runs out of its own write tokens long before it
+ * can starve other clients or the reads. Refused requests get 429 with the time until the next token
+ * as Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, Buckets> clients = new ConcurrentHashMap<>();
+    private final Buckets overflow;
+    private final Buckets global;
+    private final Counter rejectedReads;
+    private final Counter rejectedWrites;
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    RateLimitFilter(RateLimitProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.overflow = new Buckets(properties.clientReads(), properties.clientWrites());
+        this.global = new Buckets(properties.globalReads(), properties.globalWrites());
+        this.rejectedReads = rejected(registry, "read");
+        this.rejectedWrites = rejected(registry, "write");
+    }
+
+    private static Counter rejected(MeterRegistry registry, String kind) {
+        return Counter.builder("zoo.http.rejected").tag("reason", "rate-limit").tag("kind", kind)
+                .description("API requests refused before reaching a controller").register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean write = isWrite(request.getMethod());
+        long now = clock.getAsLong();
+        TokenBucket client = client(request, now).of(write);
+        TokenBucket all = global.of(write);
+
+        long wait = client == null ? 0 : client.tryAcquire(now);
+        if (wait == 0 && all != null) {
+            wait = all.tryAcquire(now);
+            // The instance is saturated, not this client: do not charge it for the refusal
+            if (wait > 0 && client != null) client.refund();
+        }
+        if (wait > 0) {
+            (write ? rejectedWrites : rejectedReads).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (wait + 999_999_999) / 1_000_000_000)));
+            response.getWriter().write("Rate limit exceeded");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Buckets client(HttpServletRequest request, long now) {
+        String id = clientId(request);
+        Buckets buckets = clients.get(id);
+        if (buckets != null) return buckets;
+        if (clients.size() >= properties.maxClients()) {
+            evictIdle(now);
+            if (clients.size() >= properties.maxClients()) return overflow;
+        }
+        return clients.computeIfAbsent(id, k -> new Buckets(properties.clientReads(), properties.clientWrites()));
+    }
+
+    /**
+     * The authenticated principal, else the client header when a trusted proxy set it, else the remote
+     * address. Anyone else could send a fresh header value per request and never run out of tokens.
+     */
+    private String clientId(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        if (principal != null) return "principal:" + principal.getName();
+        String address = request.getRemoteAddr();
+        if (properties.trustedProxies().contains(address)) {
+            String header = request.getHeader(properties.clientHeader());
+            if (header != null && !header.isBlank()) return "client:" + header;
+        }
+        return "address:" + address;
+    }
+
+    static boolean isWrite(String method) {
+        return !(method.equals("GET") || method.equals("HEAD") || method.equals("OPTIONS"));
+    }
+
+    /** Forgets clients whose buckets are full again; they would start from a full bucket anyway. */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictIdle() {
+        evictIdle(clock.getAsLong());
+    }
+
+    private void evictIdle(long now) {
+        clients.values().removeIf(b -> b.idle(now));
+    }
+
+    /** Clients currently tracked; exposed for monitoring and tests. */
+    public int trackedClients() {
+        return clients.size();
+    }
+
+    private static final class Buckets {
+        private final TokenBucket reads;
+        private final TokenBucket writes;
+
+        Buckets(Bucket reads, Bucket writes) {
+            this.reads = reads.unlimited() ? null : new TokenBucket(reads.rate(), reads.burst());
+            this.writes = writes.unlimited() ? null : new TokenBucket(writes.rate(), writes.burst());
+        }
+
+        TokenBucket of(boolean write) {
+            return write ? writes : reads;
+        }
+
+        boolean idle(long now) {
+            return (reads == null || reads.idle(now)) && (writes == null || writes.idle(now));
+        }
+    }
+}
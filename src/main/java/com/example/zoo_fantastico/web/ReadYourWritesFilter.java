@@ -0,0 +1,74 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.ReplicaProperties;
+import com.example.zoo_fantastico.config.ReplicaRoutingDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes over replicas. A write stamps the client with a cookie holding the time until which
+ * replicas may still lag behind it ({@code zoo.datasource.read-your-writes}); requests carrying an
+ * unexpired stamp have their read-only transactions served by the primary. The state travels with the
+ * client, so it works across instances and costs no server memory.
+ */
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "zoo-primary-until";
+
+    private final ReplicaProperties properties;
+
+    public ReadYourWritesFilter(ReplicaProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || properties.readYourWrites().isZero()
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean pin = stampedUntil(request) > now;
+        if (RateLimitFilter.isWrite(request.getMethod())) {
+            // Set before the chain runs: the response may be committed by the time the write returns
+            Cookie stamp = new Cookie(COOKIE, Long.toString(now + properties.readYourWrites().toMillis()));
+            stamp.setPath("/");
+            stamp.setHttpOnly(true);
+            stamp.setMaxAge((int) Math.max(1, properties.readYourWrites().toSeconds()));
+            response.addCookie(stamp);
+            pin = true;
+        }
+        if (!pin) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.pinPrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+    }
+
+    private static long stampedUntil(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE);
+        if (cookie == null) return 0;
+        try {
+            return Long.parseLong(cookie.getValue());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.zoo_fantastico.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time" updated
+ * by compare-and-set, so concurrent requests never block each other. A full bucket holds
+ * {@code burst} tokens and refills at {@code rate} tokens per second.
+ */
+final class TokenBucket {
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(double rate, int burst) {
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.tolerance = interval * Math.max(1, burst);
+    }
+
+    /** Takes a token at {@code now} (nanos); returns 0 on success, otherwise the nanos until one is available. */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + interval;
+            long wait = next - now - tolerance;
+            if (wait > 0) return wait;
+            if (arrival.compareAndSet(current, next)) return 0;
+        }
+    }
+
+    /** Gives back a token taken by {@link #tryAcquire} when the request was refused elsewhere. */
+    void refund() {
+        arrival.addAndGet(-interval);
+    }
+
+    /** True once the bucket has refilled completely, i.e. forgetting it changes nothing. */
+    boolean idle(long now) {
+        return arrival.get() <= now;
+    }
+}
@@ -0,0 +1,45 @@
+-- Schema that spring.jpa.hibernate.ddl-auto=update created up to now. Databases created that way are
+-- baselined at this version by the migrate profile (spring.flyway.baseline-on-migrate) instead of re-running it.
+-- The monthly creature_history_yyyyMM tables are created by CreatureHistoryService itself.
+
+create table zone (
+    capacity integer not null,
+    id bigint not null auto_increment,
+    version bigint not null,
+    description varchar(255) not null,
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table creature (
+    danger_level integer not null,
+    size float(53) not null,
+    id bigint not null,
+    version bigint not null,
+    zone_id bigint not null,
+    health_status varchar(255) not null,
+    name varchar(255) not null,
+    species varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+-- Hibernate's table-backed sequence for Creature ids (pooled, allocationSize = 50)
+create table creature_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into creature_seq values (1);
+
+create table zone_occupancy (
+    creature_count integer not null,
+    zone_id bigint not null,
+    primary key (zone_id)
+) engine=InnoDB;
+
+create index idx_creature_zone_danger on creature (zone_id, danger_level);
+create index idx_creature_species_danger on creature (species, danger_level);
+create index idx_creature_health_danger on creature (health_status, danger_level);
+create index idx_creature_danger on creature (danger_level);
+
+alter table creature
+    add constraint fk_creature_zone foreign key (zone_id) references zone (id);
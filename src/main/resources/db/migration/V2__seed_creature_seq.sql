@@ -0,0 +1,4 @@
+-- Databases created while creature ids were IDENTITY got creature_seq from ddl-auto=update at 1, below the
+-- ids already in use. Hibernate's pooled optimizer treats the value it reads as the top of a block of 50
+-- (allocationSize) and hands out the 49 ids below it first, so the next value must be max(id) + 50.
+update creature_seq set next_val = greatest(next_val, (select coalesce(max(id), 0) + 50 from creature));
@@ -0,0 +1,174 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.dto.CacheRegionStats;
+import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CacheStatsService;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EntityCacheConfigTest {
+
+    @Autowired
+    private CacheManager entityCacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private CreatureService creatureService;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    private List<Long> createCreatures(int count) {
+        Zone zone = new Zone();
+        zone.setName("Zona Caché");
+        zone.setDescription("Criaturas cacheadas");
+        zone.setCapacity(count);
+        zone = zoneService.create(zone);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Creature c = new Creature();
+            c.setName("Grifo " + i);
+            c.setSpecies("Híbrido");
+            c.setSize(2.0);
+            c.setDangerLevel(3);
+            c.setHealthStatus("healthy");
+            c.setZone(zone);
+            ids.add(creatureService.create(c).getId());
+        }
+        return ids;
+    }
+
+    private static Cache<Object, Object> nativeCache(CacheManager manager, String region) {
+        @SuppressWarnings("unchecked")
+        Cache<Object, Object> cache = manager.getCache(region).unwrap(Cache.class);
+        return cache;
+    }
+
+    private Map<Object, Object> creatureEntries() {
+        return new HashMap<>(nativeCache(entityCacheManager, EntityCacheConfig.CREATURE_REGION).asMap());
+    }
+
+    private boolean isCached(long creatureId) {
+        return entityManagerFactory.getCache().contains(Creature.class, creatureId);
+    }
+
+    private CacheRegionStats stats(String region) {
+        return cacheStatsService.regions().stream().filter(r -> r.region().equals(region)).findFirst().orElseThrow();
+    }
+
+    /** Keys whose entry was removed or replaced between the two snapshots. */
+    private static List<Object> changedKeys(Map<Object, Object> before, Map<Object, Object> after) {
+        return before.keySet().stream().filter(k -> after.get(k) != before.get(k)).toList();
+    }
+
+    @Test
+    void testUpdate_ShouldRefreshOnlyTheUpdatedCreature() {
+        List<Long> ids = createCreatures(3);
+        assertTrue(ids.stream().allMatch(this::isCached));
+        Map<Object, Object> before = creatureEntries();
+
+        Creature updated = creatureService.findById(ids.get(0));
+        updated.setDangerLevel(7);
+        creatureService.update(ids.get(0), updated);
+
+        Map<Object, Object> after = creatureEntries();
+        assertEquals(1, changedKeys(before, after).size());
+        assertEquals(before.keySet(), after.keySet());
+        assertTrue(isCached(ids.get(1)) && isCached(ids.get(2)));
+        // The refreshed entry holds the new state
+        assertEquals(7, creatureService.findById(ids.get(0)).getDangerLevel());
+    }
+
+    @Test
+    void testDelete_ShouldEvictOnlyTheDeletedCreature() {
+        List<Long> ids = createCreatures(3);
+        Map<Object, Object> before = creatureEntries();
+
+        creatureService.delete(ids.get(0));
+
+        Map<Object, Object> after = creatureEntries();
+        // Read-write caching leaves a lock marker under the deleted key rather than the entity
+        assertEquals(1, changedKeys(before, after).size());
+        assertThrows(ResourceNotFoundException.class, () -> creatureService.findById(ids.get(0)));
+        assertTrue(isCached(ids.get(1)) && isCached(ids.get(2)));
+    }
+
+    @Test
+    void testStats_ShouldReportHitsAndMissesPerRegion() {
+        long id = createCreatures(1).get(0);
+        entityManagerFactory.getCache().evict(Creature.class, id);
+        CacheRegionStats before = stats(EntityCacheConfig.CREATURE_REGION);
+
+        creatureService.findById(id); // miss, loaded from the database and put
+        creatureService.findById(id); // hit
+
+        CacheRegionStats after = stats(EntityCacheConfig.CREATURE_REGION);
+        assertTrue(after.misses() > before.misses());
+        assertTrue(after.hits() > before.hits());
+        assertTrue(after.size() >= 1);
+    }
+
+    @Test
+    void testHibernateStatistics_ShouldBeOffByDefault() {
+        assertFalse(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled());
+    }
+
+    @Test
+    void testRegions_ShouldEvictBySizeAndTtlAndCountIt() throws InterruptedException {
+        EntityCacheProperties properties = new EntityCacheProperties(true,
+                new EntityCacheProperties.Region(2, Duration.ofMinutes(10)),
+                new EntityCacheProperties.Region(10, Duration.ofMillis(50)),
+                new EntityCacheProperties.Region(10, Duration.ofMinutes(10)),
+                false);
+        CacheManager manager = new EntityCacheConfig().entityCacheManager(properties);
+        try {
+            javax.cache.Cache<Object, Object> zones = manager.getCache(EntityCacheConfig.ZONE_REGION);
+            for (long i = 0; i < 10; i++) zones.put(i, "zona " + i);
+            nativeCache(manager, EntityCacheConfig.ZONE_REGION).cleanUp();
+
+            javax.cache.Cache<Object, Object> creatures = manager.getCache(EntityCacheConfig.CREATURE_REGION);
+            creatures.put(1L, "criatura");
+            Thread.sleep(200);
+            assertNull(creatures.get(1L));
+            nativeCache(manager, EntityCacheConfig.CREATURE_REGION).cleanUp();
+
+            List<CacheRegionStats> regions = new CacheStatsService(manager).regions();
+            CacheRegionStats zoneStats = regions.stream()
+                    .filter(r -> r.region().equals(EntityCacheConfig.ZONE_REGION)).findFirst().orElseThrow();
+            assertEquals(2, zoneStats.size());
+            assertEquals(8, zoneStats.evictions());
+            CacheRegionStats creatureStats = regions.stream()
+                    .filter(r -> r.region().equals(EntityCacheConfig.CREATURE_REGION)).findFirst().orElseThrow();
+            assertEquals(0, creatureStats.size());
+            assertEquals(1, creatureStats.evictions());
+            assertEquals(1, creatureStats.misses());
+        } finally {
+            manager.close();
+        }
+    }
+}
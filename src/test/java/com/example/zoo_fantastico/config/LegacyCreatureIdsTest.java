@@ -0,0 +1,119 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.dto.BatchItemResult;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database from before the pooled creature sequence: ids 1..120 were assigned by IDENTITY and
+ * {@code creature_seq} still holds 1. Flyway baselines it at V1 and V2 raises the sequence, so new
+ * creatures (single and batched) never collide with the existing ids.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + LegacyCreatureIdsTest.URL,
+        "spring.flyway.enabled=true",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+public class LegacyCreatureIdsTest {
+
+    static final String URL = "jdbc:h2:mem:legacy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    private static final int EXISTING = 120;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CreatureService creatureService;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    @BeforeAll
+    static void createLegacyDatabase() throws SQLException {
+        try (Connection c = DriverManager.getConnection(URL, "sa", "password")) {
+            ScriptUtils.executeSqlScript(c, new ClassPathResource("db/migration/V1__baseline.sql"));
+            try (Statement s = c.createStatement()) {
+                s.execute("insert into zone (id, version, name, description, capacity) values (1, 0, 'Antigua', 'Previa', 1000)");
+                s.execute("insert into zone_occupancy (zone_id, creature_count) values (1, " + EXISTING + ")");
+                for (int id = 1; id <= EXISTING; id++) {
+                    s.execute("insert into creature (id, version, name, species, size, danger_level, health_status, zone_id) "
+                            + "values (" + id + ", 0, 'Legado " + id + "', 'Antigua', 1.0, 1, 'healthy', 1)");
+                }
+            }
+        }
+    }
+
+    private static Creature creature(String name) {
+        Zone zone = new Zone();
+        zone.setId(1L);
+        Creature c = new Creature();
+        c.setName(name);
+        c.setSpecies("Nueva");
+        c.setSize(1.0);
+        c.setDangerLevel(2);
+        c.setHealthStatus("healthy");
+        c.setZone(zone);
+        return c;
+    }
+
+    private void assertInsertsAfterExistingIds(String prefix) {
+        Creature single = creatureService.create(creature(prefix + " única"));
+        assertTrue(single.getId() > EXISTING);
+        List<BatchItemResult> batch = creatureService.createBatch(List.of(creature(prefix + " 1"), creature(prefix + " 2")));
+        assertTrue(batch.stream().allMatch(r -> r.id() != null && r.id() > EXISTING), batch::toString);
+    }
+
+    @Test
+    @Order(1)
+    void testMigrations_ShouldRaiseTheSequenceAboveExistingIds() {
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        long before = zoneService.findSummaryById(1L).creatureCount();
+        assertInsertsAfterExistingIds("Migrada");
+        assertEquals(before + 3, zoneService.findSummaryById(1L).creatureCount());
+    }
+
+    // Runs second: Hibernate already holds a block of ids, so this checks the seeded value itself
+    @Test
+    @Order(2)
+    void testInitializer_ShouldRaiseASequenceLeftAtOne() {
+        long maxId = jdbcTemplate.queryForObject("select max(id) from creature", Long.class);
+        jdbcTemplate.update("update creature_seq set next_val = 1");
+        new CreatureSequenceInitializer(jdbcTemplate).seed();
+        assertEquals(maxId + 50, jdbcTemplate.queryForObject("select next_val from creature_seq", Long.class));
+
+        // A sequence already past the existing ids is left alone
+        jdbcTemplate.update("update creature_seq set next_val = ?", maxId + 500);
+        new CreatureSequenceInitializer(jdbcTemplate).seed();
+        assertEquals(maxId + 500, jdbcTemplate.queryForObject("select next_val from creature_seq", Long.class));
+    }
+}
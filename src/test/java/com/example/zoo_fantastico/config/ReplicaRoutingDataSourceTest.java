@@ -0,0 +1,68 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.config.ReplicaProperties.Selection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = dataSource();
+    private final DataSource first = dataSource();
+    private final DataSource second = dataSource();
+
+    private static DataSource dataSource() {
+        try {
+            DataSource dataSource = mock(DataSource.class);
+            Connection connection = mock(Connection.class);
+            when(dataSource.getConnection()).thenReturn(connection);
+            return dataSource;
+        } catch (SQLException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private ReplicaRoutingDataSource routing() {
+        return new ReplicaRoutingDataSource(primary, List.of(first, second), Selection.ROUND_ROBIN, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testGetConnection_ShouldAlternateReplicas() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+
+        assertSame(first.getConnection(), routing.getConnection());
+        assertSame(second.getConnection(), routing.getConnection());
+        assertSame(first.getConnection(), routing.getConnection());
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void testGetConnection_ShouldSkipFailedReplica_AndFallBackToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        when(first.getConnection()).thenThrow(new SQLException("down"));
+
+        assertSame(second.getConnection(), routing.getConnection());
+
+        when(second.getConnection()).thenThrow(new SQLException("down"));
+        assertSame(primary.getConnection(), routing.getConnection());
+    }
+
+    @Test
+    void testGetConnection_ShouldUsePrimary_WhenPinned() throws SQLException {
+        ReplicaRoutingDataSource routing = routing();
+        ReplicaRoutingDataSource.pinPrimary();
+        try {
+            assertSame(primary.getConnection(), routing.getConnection());
+        } finally {
+            ReplicaRoutingDataSource.unpin();
+        }
+        assertSame(first.getConnection(), routing.getConnection());
+    }
+}
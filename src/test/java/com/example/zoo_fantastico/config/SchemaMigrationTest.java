@@ -0,0 +1,59 @@
+package com.example.zoo_fantastico.config;
+
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The versioned migrations alone must produce the schema the entities map to: Flyway builds it on an
+ * empty H2 database in MySQL mode, as the {@code migrate} profile does, and Hibernate only validates it.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrated;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        // Validated against the MySQL mapping (creature ids from a table-backed sequence), not H2's
+        "spring.jpa.database-platform=org.hibernate.dialect.MySQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private CreatureService creatureService;
+
+    @Test
+    void testMigrations_ShouldBeAppliedAndMatchTheEntities() {
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+
+        Zone zone = new Zone();
+        zone.setName("Valle");
+        zone.setDescription("Zona migrada");
+        zone.setCapacity(2);
+        zone = zoneService.create(zone);
+        Creature creature = new Creature();
+        creature.setName("Unicornio");
+        creature.setSpecies("Equino");
+        creature.setSize(1.8);
+        creature.setDangerLevel(2);
+        creature.setHealthStatus("healthy");
+        creature.setZone(zone);
+        creatureService.create(creature);
+
+        assertEquals(1, zoneService.findSummaryById(zone.getId()).creatureCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.zoo_fantastico.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+@SpringBootTest(properties = "zoo.rate-limit.enabled=false")
+@AutoConfigureMockMvc
+public class ETagsTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private MockHttpServletResponse send(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+
+    private static long id(MockHttpServletResponse response) throws Exception {
+        Matcher m = ID.matcher(response.getContentAsString());
+        assertTrue(m.find(), response.getContentAsString());
+        return Long.parseLong(m.group(1));
+    }
+
+    private static String zone(String name) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Niebla\",\"capacity\":3}";
+    }
+
+    @Test
+    void testExpectedVersions_ShouldParseEveryTagOfTheList() {
+        assertNull(ETags.expectedVersions(null));
+        assertNull(ETags.expectedVersions(" * "));
+        assertEquals(List.of(3L, 4L), ETags.expectedVersions("\"3\", W/\"4-2\""));
+        assertEquals(List.of(5L), ETags.expectedVersions("\"abc\", \"5-0\""));
+    }
+
+    @Test
+    void testZoneTags_ShouldBeTheSameForWritesAndReads() throws Exception {
+        MockHttpServletResponse created = send(post("/api/zones").contentType(MediaType.APPLICATION_JSON).content(zone("Pantano")));
+        long zoneId = id(created);
+        String tag = created.getHeader(HttpHeaders.ETAG);
+        assertEquals(304, send(get("/api/zones/" + zoneId).header(HttpHeaders.IF_NONE_MATCH, tag)).getStatus());
+
+        MockHttpServletResponse updated = send(put("/api/zones/" + zoneId).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"99\", " + tag).content(zone("Marisma")));
+        assertEquals(200, updated.getStatus());
+        String newTag = updated.getHeader(HttpHeaders.ETAG);
+        assertNotEquals(tag, newTag);
+        assertEquals(304, send(get("/api/zones/" + zoneId).header(HttpHeaders.IF_NONE_MATCH, newTag)).getStatus());
+
+        assertEquals(412, send(put("/api/zones/" + zoneId).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, "\"97\", \"98\"").content(zone("Charca"))).getStatus());
+    }
+
+    @Test
+    void testCreatureTag_ShouldChangeWhenItsZoneIsRenamed() throws Exception {
+        long zoneId = id(send(post("/api/zones").contentType(MediaType.APPLICATION_JSON).content(zone("Ciénaga"))));
+        MockHttpServletResponse created = send(post("/api/creatures").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Hidra\",\"species\":\"Serpiente\",\"size\":4.0,\"dangerLevel\":8,"
+                        + "\"healthStatus\":\"healthy\",\"zone\":{\"id\":" + zoneId + "}}"));
+        long creatureId = id(created);
+        String tag = created.getHeader(HttpHeaders.ETAG);
+        assertFalse(created.getContentAsString().contains("zoneVersion"));
+        assertEquals(304, send(get("/api/creatures/" + creatureId).header(HttpHeaders.IF_NONE_MATCH, tag)).getStatus());
+
+        send(put("/api/zones/" + zoneId).contentType(MediaType.APPLICATION_JSON).content(zone("Lerna")));
+
+        MockHttpServletResponse read = send(get("/api/creatures/" + creatureId).header(HttpHeaders.IF_NONE_MATCH, tag));
+        assertEquals(200, read.getStatus());
+        assertTrue(read.getContentAsString().contains("Lerna"));
+        // The creature row itself did not change, so If-Match with the old tag still applies
+        assertEquals(200, send(put("/api/creatures/" + creatureId).contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_MATCH, tag)
+                .content("{\"name\":\"Hidra\",\"species\":\"Serpiente\",\"size\":4.0,\"dangerLevel\":9,"
+                        + "\"healthStatus\":\"healthy\",\"zone\":{\"id\":" + zoneId + "}}")).getStatus());
+    }
+}
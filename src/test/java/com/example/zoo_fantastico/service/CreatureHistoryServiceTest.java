@@ -0,0 +1,106 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureHistoryEntry;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Not @Transactional: history is recorded only after the service transactions commit
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class CreatureHistoryServiceTest {
+
+    @Autowired
+    private CreatureHistoryService historyService;
+
+    @Autowired
+    private CreatureService creatureService;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    private Creature creature(Zone zone, String health) {
+        Creature c = new Creature();
+        c.setName("Basilisco");
+        c.setSpecies("Reptil");
+        c.setSize(4.0);
+        c.setDangerLevel(8);
+        c.setHealthStatus(health);
+        c.setZone(zone);
+        return c;
+    }
+
+    private Zone zone() {
+        Zone zone = new Zone();
+        zone.setName("Cripta " + System.nanoTime());
+        zone.setDescription("Historia");
+        zone.setCapacity(5);
+        return zoneService.create(zone);
+    }
+
+    @Test
+    void testHistory_ShouldRecordTrackedChangesInOrder() {
+        Zone zone = zone();
+        Creature created = creatureService.create(creature(zone, "healthy"));
+        long id = created.getId();
+        creatureService.update(id, creature(zone, "injured"));
+        Creature renamed = creature(zone, "injured");
+        renamed.setName("Basilisco mayor");
+        creatureService.update(id, renamed);
+        creatureService.delete(id);
+
+        assertTrue(historyService.history(id, null, null, -1, 100).isEmpty());
+        historyService.flush();
+
+        List<CreatureHistoryEntry> history = historyService.history(id, null, null, -1, 100);
+        // The rename touched no tracked field
+        assertEquals(List.of(ChangeEvent.Type.CREATED, ChangeEvent.Type.UPDATED, ChangeEvent.Type.DELETED),
+                history.stream().map(CreatureHistoryEntry::type).toList());
+        assertEquals(List.of("healthy", "injured", "injured"), history.stream().map(CreatureHistoryEntry::healthStatus).toList());
+        assertEquals(zone.getId(), history.get(0).zoneId());
+        assertEquals(List.of(0L, 1L, 3L), history.stream().map(CreatureHistoryEntry::version).toList());
+
+        assertEquals(1, historyService.history(id, null, null, -1, 1).size());
+        assertEquals(List.of(3L), historyService.history(id, null, null, 1, 100).stream().map(CreatureHistoryEntry::version).toList());
+        Instant later = history.get(2).recordedAt().plusSeconds(1);
+        assertTrue(historyService.history(id, later, null, -1, 100).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> historyService.history(id, later, later, -1, 100));
+    }
+
+    @Test
+    void testPrune_ShouldDropWholeMonthsPastRetention() {
+        Instant now = Instant.now();
+        Instant old = now.minus(800, ChronoUnit.DAYS);
+        Instant recent = now.minus(10, ChronoUnit.DAYS);
+        CreatureView v = new CreatureView(987654L, "Kraken", "Cefalópodo", 12.0, 9, "healthy", null, null, 0, 0);
+        historyService.record(ChangeEvent.creatureCreated(v), old);
+        CreatureView sick = new CreatureView(987654L, "Kraken", "Cefalópodo", 12.0, 9, "sick", null, null, 1, 0);
+        historyService.record(ChangeEvent.creatureUpdated(v, sick), recent);
+        historyService.flush();
+
+        YearMonth oldMonth = YearMonth.from(old.atOffset(ZoneOffset.UTC));
+        assertTrue(historyService.partitions().contains(oldMonth));
+        // Only the partitions overlapping the range are read
+        assertEquals(1, historyService.history(987654L, old.minusSeconds(1), old.plusSeconds(1), -1, 100).size());
+        assertEquals(2, historyService.history(987654L, null, null, -1, 100).size());
+
+        assertTrue(historyService.prune(now) >= 1);
+
+        assertFalse(historyService.partitions().contains(oldMonth));
+        List<CreatureHistoryEntry> left = historyService.history(987654L, null, null, -1, 100);
+        assertEquals(List.of("sick"), left.stream().map(CreatureHistoryEntry::healthStatus).toList());
+    }
+}
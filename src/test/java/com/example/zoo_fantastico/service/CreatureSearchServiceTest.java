@@ -0,0 +1,129 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureSearchHit;
+import com.example.zoo_fantastico.dto.CreatureView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+public class CreatureSearchServiceTest {
+
+    @Mock
+    private CreatureService creatureService;
+
+    private CreatureSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new CreatureSearchService(creatureService, new SimpleMeterRegistry());
+        service.onChange(ChangeEvent.creatureCreated(creature(1, "Dragón rojo", "Dragón")));
+        service.onChange(ChangeEvent.creatureCreated(creature(2, "Chispa", "Dragón de fuego")));
+        service.onChange(ChangeEvent.creatureCreated(creature(3, "Fénix", "Ave de fuego")));
+    }
+
+    private static CreatureView creature(long id, String name, String species) {
+        return new CreatureView(id, name, species, 1.0, 5, "healthy", 1L, "Bosque", 0, 0);
+    }
+
+    private List<Long> ids(String query) {
+        return service.search(query, 0, 20).hits().stream().map(h -> h.creature().id()).toList();
+    }
+
+    @Test
+    void testSearch_ShouldMatchPrefixesIgnoringAccentsAndRankNameFirst() {
+        assertEquals(List.of(1L, 2L), ids("drag"));
+        assertEquals(List.of(1L, 2L), ids("DRAGON"));
+        assertEquals(List.of(3L), ids("fenix"));
+        // Every word must match, in any field
+        assertEquals(List.of(2L), ids("chispa fuego"));
+        assertEquals(List.of(), ids("chispa ave"));
+    }
+
+    @Test
+    void testSearch_ShouldTolerateTypos() {
+        assertEquals(List.of(1L, 2L), ids("dargon"));
+        assertEquals(List.of(3L), ids("fenx"));
+        // Too short to guess
+        assertEquals(List.of(), ids("ave x"));
+        assertEquals(List.of(), ids("rjo"));
+
+        double exact = service.search("rojo", 0, 20).hits().get(0).score();
+        double fuzzy = service.search("roja", 0, 20).hits().get(0).score();
+        assertTrue(exact > fuzzy);
+    }
+
+    @Test
+    void testSearch_ShouldPaginateByOffset() {
+        for (long id = 10; id < 25; id++) {
+            service.onChange(ChangeEvent.creatureCreated(creature(id, "Grifo " + id, "Grifo")));
+        }
+        CreatureSearchService.Page first = service.search("grifo", 0, 10);
+        CreatureSearchService.Page second = service.search("grifo", 10, 10);
+
+        assertEquals(15, first.total());
+        assertEquals(10, first.hits().size());
+        assertEquals(5, second.hits().size());
+        assertEquals("Grifo 10", first.hits().get(0).creature().name());
+        assertEquals("Grifo 24", second.hits().get(4).creature().name());
+        assertTrue(service.search("grifo", 20, 10).hits().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.search(" -- ", 0, 10));
+    }
+
+    @Test
+    void testOnChange_ShouldReindexUpdatesAndDropDeletes() {
+        CreatureView dragon = creature(1, "Dragón rojo", "Dragón");
+        CreatureView renamed = creature(1, "Dragón azul", "Dragón");
+        service.onChange(ChangeEvent.creatureUpdated(dragon, renamed));
+        assertEquals(List.of(), ids("rojo"));
+        assertEquals(List.of(1L), ids("azul"));
+
+        service.onChange(ChangeEvent.creatureDeleted(renamed));
+        assertEquals(List.of(2L), ids("dragon"));
+        assertEquals(2, service.size());
+    }
+
+    @Test
+    void testRebuild_ShouldReplaceIndexWithStoredCreatures() {
+        doAnswer(inv -> {
+            Consumer<CreatureView> sink = inv.getArgument(0);
+            sink.accept(creature(7, "Kraken", "Calamar gigante"));
+            return null;
+        }).when(creatureService).streamAll(any());
+
+        service.rebuild();
+
+        assertEquals(1, service.size());
+        List<CreatureSearchHit> hits = service.search("calamar", 0, 20).hits();
+        assertEquals("Kraken", hits.get(0).creature().name());
+        assertEquals(List.of(), ids("dragon"));
+    }
+
+    @Test
+    void testRebuild_ShouldKeepCurrentIndex_WhenStreamingFails() {
+        doAnswer(inv -> {
+            Consumer<CreatureView> sink = inv.getArgument(0);
+            sink.accept(creature(7, "Kraken", "Calamar gigante"));
+            throw new DataAccessResourceFailureException("conexión perdida");
+        }).when(creatureService).streamAll(any());
+
+        service.rebuild();
+        service.onChange(ChangeEvent.creatureCreated(creature(8, "Grifo", "Híbrido")));
+
+        assertEquals(4, service.size());
+        assertEquals(List.of(1L, 2L), ids("dragon"));
+        assertEquals(List.of(), ids("kraken"));
+        assertEquals(List.of(8L), ids("grifo"));
+    }
+}
@@ -1,5 +1,17 @@
 package com.example.zoo_fantastico.service;
 
+import com.example.zoo_fantastico.dto.BatchItemResult;
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.FieldSet;
+import com.example.zoo_fantastico.dto.HealthEvent;
+import com.example.zoo_fantastico.dto.ZoneStats;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.dto.ZoneTransferResult;
+import com.example.zoo_fantastico.exception.BatchValidationException;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
+import com.example.zoo_fantastico.exception.ZoneNotEmptyException;
 import com.example.zoo_fantastico.model.Creature;
 import com.example.zoo_fantastico.model.Zone;
 import com.example.zoo_fantastico.repository.CreatureRepository;
@@ -10,6 +22,9 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,6 +37,15 @@ public class CreatureServiceIntegrationTest {
     @Autowired
     private CreatureService creatureService;
 
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private HealthEventService healthEventService;
+
+    @Autowired
+    private ZoneStatsService zoneStatsService;
+
     @Autowired
     private CreatureRepository creatureRepository;
 
@@ -143,4 +167,436 @@ public class CreatureServiceIntegrationTest {
         assertThrows(IllegalStateException.class, () -> creatureService.delete(saved.getId()));
     }
 
+    @Test
+    void testHealthEvents_ShouldCoalesceFlushAndGuardDelete() {
+        Zone zone = new Zone();
+        zone.setName("Enfermería");
+        zone.setDescription("Zona bajo observación veterinaria");
+        zone.setCapacity(5);
+        zone = zoneRepository.save(zone);
+
+        Creature creature = new Creature();
+        creature.setName("Grifo");
+        creature.setSpecies("Híbrido alado");
+        creature.setSize(4);
+        creature.setDangerLevel(6);
+        creature.setHealthStatus("healthy");
+        creature.setZone(zone);
+        long id = creatureService.create(creature).getId();
+
+        healthEventService.submit(List.of(new HealthEvent(id, "injured"), new HealthEvent(id, "critical")));
+
+        assertEquals(1, healthEventService.pendingCount());
+        assertEquals("critical", healthEventService.pendingStatus(id));
+        assertThrows(IllegalStateException.class, () -> creatureService.delete(id));
+
+        healthEventService.flush();
+        creatureRepository.flush();
+
+        assertEquals(0, healthEventService.pendingCount());
+        assertEquals("critical", creatureService.findViewById(id).healthStatus());
+        assertThrows(IllegalStateException.class, () -> creatureService.delete(id));
+    }
+
+    @Test
+    void testFindPage_ShouldWalkAllCreaturesByKeyset() {
+        Zone zone = new Zone();
+        zone.setName("Bosque Antiguo");
+        zone.setDescription("Zona para criaturas del bosque");
+        zone.setCapacity(10);
+        zone = zoneRepository.save(zone);
+
+        for (int i = 0; i < 5; i++) {
+            Creature creature = new Creature();
+            creature.setName("Duende " + i);
+            creature.setSpecies("Feérico");
+            creature.setSize(0.5);
+            creature.setDangerLevel(1);
+            creature.setHealthStatus("healthy");
+            creature.setZone(zone);
+            creatureService.create(creature);
+        }
+
+        List<CreatureView> seen = new ArrayList<>();
+        long after = 0;
+        List<CreatureView> page;
+        while (!(page = creatureService.findPage(after, 2)).isEmpty()) {
+            assertTrue(page.size() <= 2);
+            seen.addAll(page);
+            after = page.get(page.size() - 1).id();
+        }
+
+        assertEquals(creatureRepository.count(), seen.size());
+    }
+
+    @Test
+    void testStreamAll_ShouldVisitEveryCreature() {
+        Zone zone = new Zone();
+        zone.setName("Pantano");
+        zone.setDescription("Zona húmeda");
+        zone.setCapacity(10);
+        zone = zoneRepository.save(zone);
+
+        Creature creature = new Creature();
+        creature.setName("Hidra");
+        creature.setSpecies("Serpiente");
+        creature.setSize(8);
+        creature.setDangerLevel(9);
+        creature.setHealthStatus("healthy");
+        creature.setZone(zone);
+        creatureService.create(creature);
+
+        List<Long> ids = new ArrayList<>();
+        creatureService.streamAll(c -> ids.add(c.id()));
+
+        assertEquals(creatureRepository.count(), ids.size());
+    }
+
+    @Test
+    void testFindViewById_ShouldFlattenZone() {
+        Zone zone = new Zone();
+        zone.setName("Montaña Nevada");
+        zone.setDescription("Zona fría");
+        zone.setCapacity(4);
+        zone = zoneRepository.save(zone);
+
+        Creature creature = new Creature();
+        creature.setName("Yeti");
+        creature.setSpecies("Homínido");
+        creature.setSize(2.5);
+        creature.setDangerLevel(6);
+        creature.setHealthStatus("healthy");
+        creature.setZone(zone);
+        Creature saved = creatureService.create(creature);
+
+        CreatureView view = creatureService.findViewById(saved.getId());
+
+        assertEquals("Yeti", view.name());
+        assertEquals(zone.getId(), view.zoneId());
+        assertEquals("Montaña Nevada", view.zoneName());
+    }
+
+    @Test
+    void testZoneSummaries_ShouldCountCreatures() {
+        Zone zone = new Zone();
+        zone.setName("Isla Perdida");
+        zone.setDescription("Zona aislada");
+        zone.setCapacity(6);
+        zone = zoneRepository.save(zone);
+
+        for (int i = 0; i < 3; i++) {
+            Creature creature = new Creature();
+            creature.setName("Kraken " + i);
+            creature.setSpecies("Cefalópodo");
+            creature.setSize(12);
+            creature.setDangerLevel(8);
+            creature.setHealthStatus("healthy");
+            creature.setZone(zone);
+            creatureService.create(creature);
+        }
+
+        ZoneSummary summary = zoneService.findSummaryById(zone.getId());
+        assertEquals(3, summary.creatureCount());
+
+        Long zoneId = zone.getId();
+        assertTrue(zoneService.findAllSummaries().stream()
+                .anyMatch(z -> z.id().equals(zoneId) && z.creatureCount() == 3));
+    }
+
+    @Test
+    void testBatch_ShouldCreateUpdateAndDeleteWithPerItemResults() {
+        Zone zone = new Zone();
+        zone.setName("Cueva de Cristal");
+        zone.setDescription("Zona subterránea");
+        zone.setCapacity(10);
+        zone = zoneRepository.save(zone);
+
+        List<Creature> payload = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Creature creature = new Creature();
+            creature.setName("Gnomo " + i);
+            creature.setSpecies("Feérico");
+            creature.setSize(0.4);
+            creature.setDangerLevel(2);
+            creature.setHealthStatus(i == 2 ? "critical" : "healthy");
+            creature.setZone(zone);
+            payload.add(creature);
+        }
+
+        List<BatchItemResult> created = creatureService.createBatch(payload);
+        assertEquals(3, created.size());
+        assertTrue(created.stream().allMatch(r -> r.status() == BatchItemResult.Status.CREATED && r.id() != null));
+
+        Creature change = new Creature();
+        change.setId(created.get(0).id());
+        change.setName("Gnomo Sabio");
+        change.setSpecies("Feérico");
+        change.setSize(0.5);
+        change.setDangerLevel(3);
+        change.setHealthStatus("healthy");
+        List<BatchItemResult> updated = creatureService.updateBatch(List.of(change));
+        assertEquals(BatchItemResult.Status.UPDATED, updated.get(0).status());
+        assertEquals("Gnomo Sabio", creatureService.findById(change.getId()).getName());
+
+        List<Long> ids = created.stream().map(BatchItemResult::id).toList();
+        List<BatchItemResult> deleted = creatureService.deleteBatch(ids);
+        assertEquals(BatchItemResult.Status.DELETED, deleted.get(0).status());
+        assertEquals(BatchItemResult.Status.DELETED, deleted.get(1).status());
+        assertEquals(BatchItemResult.Status.FAILED, deleted.get(2).status()); // critical
+        assertTrue(creatureRepository.findById(ids.get(2)).isPresent());
+    }
+
+    @Test
+    void testCreateBatch_ShouldRejectWholePayload_WhenAnyItemIsInvalid() {
+        Zone zone = new Zone();
+        zone.setName("Desierto");
+        zone.setDescription("Zona árida");
+        zone.setCapacity(10);
+        zone = zoneRepository.save(zone);
+
+        Creature valid = new Creature();
+        valid.setName("Esfinge");
+        valid.setSpecies("Quimera");
+        valid.setSize(4);
+        valid.setDangerLevel(5);
+        valid.setHealthStatus("healthy");
+        valid.setZone(zone);
+
+        Creature invalid = new Creature();
+        invalid.setName("Basilisco");
+        invalid.setSpecies("Reptil");
+        invalid.setSize(3);
+        invalid.setDangerLevel(11);
+        invalid.setHealthStatus("healthy");
+        invalid.setZone(zone);
+
+        long before = creatureRepository.count();
+        BatchValidationException ex = assertThrows(BatchValidationException.class,
+                () -> creatureService.createBatch(List.of(valid, invalid)));
+        assertEquals(1, ex.getErrors().size());
+        assertEquals(1, ex.getErrors().get(0).index());
+        assertEquals(before, creatureRepository.count());
+    }
+
+    @Test
+    void testOccupancy_ShouldEnforceCapacityAndGuardZoneDelete() {
+        Zone zone = new Zone();
+        zone.setName("Jaula Pequeña");
+        zone.setDescription("Solo cabe una criatura");
+        zone.setCapacity(1);
+        zone = zoneService.create(zone);
+
+        Creature first = new Creature();
+        first.setName("Quimera");
+        first.setSpecies("Híbrido");
+        first.setSize(3);
+        first.setDangerLevel(7);
+        first.setHealthStatus("healthy");
+        first.setZone(zone);
+        Creature saved = creatureService.create(first);
+
+        Creature second = new Creature();
+        second.setName("Mantícora");
+        second.setSpecies("Híbrido");
+        second.setSize(3);
+        second.setDangerLevel(8);
+        second.setHealthStatus("healthy");
+        second.setZone(zone);
+        assertThrows(ZoneCapacityException.class, () -> creatureService.create(second));
+
+        long zoneId = zone.getId();
+        assertThrows(ZoneNotEmptyException.class, () -> zoneService.delete(zoneId));
+
+        creatureService.delete(saved.getId());
+        assertEquals(0, zoneService.findSummaryById(zoneId).creatureCount());
+        zoneService.delete(zoneId);
+        assertFalse(zoneRepository.findById(zoneId).isPresent());
+    }
+
+    @Test
+    void testFindPage_ShouldFilterAndSortInDatabase() {
+        Zone zone = new Zone();
+        zone.setName("Establo Celestial");
+        zone.setDescription("Zona para criaturas aladas");
+        zone.setCapacity(10);
+        zone = zoneService.create(zone);
+
+        int[] dangerLevels = {5, 2, 9, 5, 7};
+        for (int i = 0; i < dangerLevels.length; i++) {
+            Creature creature = new Creature();
+            creature.setName("Pegaso " + i);
+            creature.setSpecies("Pegaso");
+            creature.setSize(2);
+            creature.setDangerLevel(dangerLevels[i]);
+            creature.setHealthStatus(i == 4 ? "injured" : "healthy");
+            creature.setZone(zone);
+            creatureService.create(creature);
+        }
+
+        // Walk the filtered result two at a time, highest danger first
+        CreatureFilter filter = new CreatureFilter("Pegaso", "healthy", zone.getId(), 3, null, "dangerLevel,desc");
+        List<CreatureView> seen = new ArrayList<>();
+        long after = 0;
+        List<CreatureView> page;
+        while (!(page = creatureService.findPage(filter, after, 2)).isEmpty()) {
+            seen.addAll(page);
+            after = page.get(page.size() - 1).id();
+        }
+
+        assertEquals(List.of(9, 5, 5), seen.stream().map(CreatureView::dangerLevel).toList());
+        assertTrue(seen.get(1).id() < seen.get(2).id());
+        assertThrows(IllegalArgumentException.class,
+                () -> creatureService.findPage(new CreatureFilter(null, null, null, null, null, "zone"), 0, 10));
+    }
+
+    @Test
+    void testUpdate_ShouldBumpVersionAndRejectStaleIfMatch() {
+        Zone zone = new Zone();
+        zone.setName("Zona Versionada");
+        zone.setDescription("Área para control optimista");
+        zone.setCapacity(5);
+        zone = zoneRepository.save(zone);
+
+        Creature creature = new Creature();
+        creature.setName("Quimera");
+        creature.setSpecies("Híbrido");
+        creature.setSize(2.0);
+        creature.setDangerLevel(7);
+        creature.setHealthStatus("healthy");
+        creature.setZone(zone);
+        long id = creatureService.create(creature).getId();
+        creatureRepository.flush();
+        long version = creatureService.findViewById(id).version();
+
+        Creature changes = new Creature();
+        changes.setName("Quimera Anciana");
+        changes.setSpecies("Híbrido");
+        changes.setSize(2.5);
+        changes.setDangerLevel(8);
+        changes.setHealthStatus("injured");
+        creatureService.update(id, changes, List.of(version));
+        creatureRepository.flush();
+
+        assertEquals(version + 1, creatureService.findViewById(id).version());
+        assertThrows(VersionConflictException.class, () -> creatureService.update(id, changes, List.of(version)));
+        assertThrows(VersionConflictException.class, () -> creatureService.delete(id, List.of(version)));
+        long zoneId = zone.getId();
+        assertThrows(VersionConflictException.class, () -> zoneService.delete(zoneId, List.of(99L)));
+    }
+
+    @Test
+    void testReconcile_ShouldRecountZoneStatsFromDatabase() {
+        Zone zone = new Zone();
+        zone.setName("Zona Estadística");
+        zone.setDescription("Área para agregados");
+        zone.setCapacity(4);
+        zone = zoneRepository.save(zone);
+
+        int[] dangers = {2, 9, 4};
+        for (int i = 0; i < dangers.length; i++) {
+            Creature creature = new Creature();
+            creature.setName("Grifo " + i);
+            creature.setSpecies("Grifo");
+            creature.setSize(1.5);
+            creature.setDangerLevel(dangers[i]);
+            creature.setHealthStatus(i == 0 ? "injured" : "healthy");
+            creature.setZone(zone);
+            creatureService.create(creature);
+        }
+        creatureRepository.flush();
+
+        // Events of an uncommitted test transaction never reach the listener; the recount must find them
+        zoneStatsService.reconcile();
+
+        ZoneStats stats = zoneStatsService.stats(zone.getId());
+        assertEquals(3, stats.creatureCount());
+        assertEquals(0.75, stats.occupancy());
+        assertEquals(5.0, stats.averageDanger());
+        assertEquals(9, stats.maxDanger());
+        assertEquals(4.5, stats.totalSize());
+        assertEquals(2L, stats.healthStatus().get("healthy"));
+        assertEquals(1L, stats.healthStatus().get("injured"));
+    }
+
+    @Test
+    void testTransfer_ShouldRespectCapacityAndEmptyZoneForDelete() {
+        Zone source = new Zone();
+        source.setName("Establo Viejo");
+        source.setDescription("Se va a cerrar");
+        source.setCapacity(5);
+        source = zoneRepository.save(source);
+        Zone small = new Zone();
+        small.setName("Corral Pequeño");
+        small.setDescription("Solo dos plazas");
+        small.setCapacity(2);
+        small = zoneService.create(small);
+        Zone large = new Zone();
+        large.setName("Pradera");
+        large.setDescription("Mucho espacio");
+        large.setCapacity(10);
+        large = zoneService.create(large);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Creature creature = new Creature();
+            creature.setName("Unicornio " + i);
+            creature.setSpecies("Unicornio");
+            creature.setSize(2.0);
+            creature.setDangerLevel(2);
+            creature.setHealthStatus("healthy");
+            creature.setZone(source);
+            ids.add(creatureService.create(creature).getId());
+        }
+        long sourceId = source.getId(), smallId = small.getId(), largeId = large.getId();
+
+        assertThrows(ZoneCapacityException.class, () -> zoneService.transfer(sourceId, smallId, null));
+        assertEquals(3, zoneService.findSummaryById(sourceId).creatureCount());
+
+        ZoneTransferResult some = zoneService.transfer(sourceId, smallId, List.of(ids.get(0), ids.get(1), 999_999L));
+        assertEquals(2, some.moved());
+        assertEquals(smallId, creatureService.findViewById(ids.get(0)).zoneId());
+        assertEquals(1, creatureService.findViewById(ids.get(0)).version());
+
+        assertEquals(1, zoneService.transfer(sourceId, largeId, null).moved());
+        assertEquals(0, zoneService.findSummaryById(sourceId).creatureCount());
+        assertEquals(2, zoneService.findSummaryById(smallId).creatureCount());
+        assertEquals(1, zoneService.findSummaryById(largeId).creatureCount());
+        zoneService.delete(sourceId);
+        assertFalse(zoneRepository.existsById(sourceId));
+    }
+
+    @Test
+    void testSparseFieldsets_ShouldSelectOnlyRequestedColumns() {
+        Zone zone = new Zone();
+        zone.setName("Zona Dispersa");
+        zone.setDescription("Campos a elección");
+        zone.setCapacity(5);
+        zone = zoneService.create(zone);
+        for (String name : List.of("Ondina", "Sílfide")) {
+            Creature creature = new Creature();
+            creature.setName(name);
+            creature.setSpecies("Elemental");
+            creature.setSize(1.0);
+            creature.setDangerLevel(4);
+            creature.setHealthStatus("healthy");
+            creature.setZone(zone);
+            creatureService.create(creature);
+        }
+        creatureRepository.flush();
+
+        CreatureFilter filter = new CreatureFilter(null, null, zone.getId(), null, null, "name,desc");
+        List<Map<String, Object>> page = creatureService.findPage(filter, 0, 10,
+                FieldSet.parse("name,zoneName", CreatureView.class));
+        assertEquals(List.of("id", "name", "zoneName"), List.copyOf(page.get(0).keySet()));
+        assertEquals("Sílfide", page.get(0).get("name"));
+        assertEquals("Zona Dispersa", page.get(1).get("zoneName"));
+
+        Map<String, Object> one = creatureService.findViewById((Long) page.get(1).get("id"), FieldSet.parse("dangerLevel", CreatureView.class));
+        assertEquals(Map.of("id", page.get(1).get("id"), "dangerLevel", 4), one);
+
+        Map<String, Object> summary = zoneService.findSummaryById(zone.getId(), FieldSet.parse("creatureCount", ZoneSummary.class));
+        assertEquals(2L, summary.get("creatureCount"));
+        assertFalse(summary.containsKey("name"));
+        assertThrows(IllegalArgumentException.class, () -> FieldSet.parse("name,zone", CreatureView.class));
+    }
 }
@@ -1,14 +1,19 @@
 package com.example.zoo_fantastico.service;
 
 import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
 import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
 import com.example.zoo_fantastico.repository.CreatureRepository;
+import com.example.zoo_fantastico.repository.ZoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,6 +28,18 @@ public class CreatureServiceTest {
     @Mock
     private CreatureRepository creatureRepository;
 
+    @Mock
+    private ZoneRepository zoneRepository;
+
+    @Mock
+    private ZoneOccupancyService occupancyService;
+
+    @Mock
+    private HealthEventService healthEventService;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private CreatureService creatureService;
 
@@ -72,6 +89,8 @@ public class CreatureServiceTest {
         toSave.setSize(2.5);
         toSave.setDangerLevel(7);
         toSave.setHealthStatus("stable");
+        Zone zone = new Zone(); zone.setId(1L);
+        toSave.setZone(zone);
 
         Creature saved = new Creature();
         saved.setId(100L);
@@ -81,6 +100,7 @@ public class CreatureServiceTest {
         saved.setDangerLevel(toSave.getDangerLevel());
         saved.setHealthStatus(toSave.getHealthStatus());
 
+        when(zoneRepository.getReferenceById(1L)).thenReturn(zone);
         when(creatureRepository.save(toSave)).thenReturn(saved);
 
         // Act
@@ -90,9 +110,24 @@ public class CreatureServiceTest {
         assertNotNull(result);
         assertEquals(100L, result.getId());
         assertEquals("Phoenix", result.getName());
+        verify(occupancyService, times(1)).reserve(1L, 1);
         verify(creatureRepository, times(1)).save(toSave);
     }
 
+    @Test
+    void testCreate_ShouldThrow_WhenZoneIsFull() {
+        // Arrange
+        Creature toSave = new Creature();
+        toSave.setName("Griffin");
+        Zone zone = new Zone(); zone.setId(2L);
+        toSave.setZone(zone);
+        doThrow(new ZoneCapacityException("full")).when(occupancyService).reserve(2L, 1);
+
+        // Act & Assert
+        assertThrows(ZoneCapacityException.class, () -> creatureService.create(toSave));
+        verify(creatureRepository, never()).save(any());
+    }
+
     // -------------------- findAll --------------------
 
     @Test
@@ -161,6 +196,21 @@ public class CreatureServiceTest {
         assertEquals("injured", savedArg.getHealthStatus());
     }
 
+    @Test
+    void testUpdate_ShouldThrow_WhenVersionDoesNotMatch() {
+        Creature existing = new Creature();
+        existing.setId(11L);
+        existing.setVersion(4);
+        when(creatureRepository.findById(11L)).thenReturn(Optional.of(existing));
+
+        Creature incoming = new Creature();
+        incoming.setName("Stale");
+
+        assertThrows(VersionConflictException.class, () -> creatureService.update(11L, incoming, List.of(3L)));
+        assertNull(existing.getName());
+        verify(creatureRepository, never()).save(any());
+    }
+
     @Test
     void testUpdate_ShouldThrow_WhenCreatureDoesNotExist() {
         // Arrange
@@ -184,6 +234,8 @@ public class CreatureServiceTest {
         Creature existing = new Creature();
         existing.setId(id);
         existing.setHealthStatus("stable");
+        Zone zone = new Zone(); zone.setId(3L);
+        existing.setZone(zone);
 
         when(creatureRepository.findById(id)).thenReturn(Optional.of(existing));
 
@@ -192,6 +244,7 @@ public class CreatureServiceTest {
 
         // Assert
         verify(creatureRepository, times(1)).delete(existing);
+        verify(occupancyService, times(1)).release(3L, 1);
     }
 
     @Test
@@ -209,6 +262,18 @@ public class CreatureServiceTest {
         verify(creatureRepository, never()).delete(any());
     }
 
+    @Test
+    void testDelete_ShouldThrow_WhenPendingHealthEventIsCritical() {
+        Creature existing = new Creature();
+        existing.setId(21L);
+        existing.setHealthStatus("healthy");
+        when(creatureRepository.findById(21L)).thenReturn(Optional.of(existing));
+        when(healthEventService.pendingStatus(21L)).thenReturn("critical");
+
+        assertThrows(IllegalStateException.class, () -> creatureService.delete(21L));
+        verify(creatureRepository, never()).delete(any());
+    }
+
     @Test
     void testDelete_ShouldThrow_WhenHealthCritical_IgnoresCase() {
         // Arrange
@@ -222,5 +287,6 @@ public class CreatureServiceTest {
         // Act & Assert
         assertThrows(IllegalStateException.class, () -> creatureService.delete(id));
         verify(creatureRepository, never()).delete(any());
+        verify(occupancyService, never()).release(anyLong(), anyInt());
     }
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.config.HealthIngestionProperties;
+import com.example.zoo_fantastico.dto.HealthEvent;
+import com.example.zoo_fantastico.exception.HealthQueueFullException;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.repository.CreatureRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HealthEventServiceTest {
+
+    @Mock
+    private CreatureRepository creatureRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private HealthEventService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(inv ->
+                inv.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+        service = new HealthEventService(creatureRepository, transactionTemplate, taskScheduler,
+                new HealthIngestionProperties(2, 2, Duration.ofMillis(200), 2), new BatchProperties(500, 10000),
+                mock(ApplicationEventPublisher.class), Validation.buildDefaultValidatorFactory().getValidator(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testSubmit_ShouldKeepOnlyLatestStatusPerCreature() {
+        service.submit(List.of(new HealthEvent(1L, "injured"), new HealthEvent(1L, "healthy")));
+
+        assertEquals(1, service.pendingCount());
+        assertEquals("healthy", service.pendingStatus(1L));
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testSubmit_ShouldRejectNewCreatures_WhenBufferIsFull() {
+        service.submit(List.of(new HealthEvent(1L, "injured"), new HealthEvent(2L, "injured")));
+
+        HealthQueueFullException ex = assertThrows(HealthQueueFullException.class,
+                () -> service.submit(List.of(new HealthEvent(2L, "critical"), new HealthEvent(3L, "injured"))));
+
+        assertEquals(1, ex.getRetryAfterSeconds());
+        assertEquals("critical", service.pendingStatus(2L));
+        assertNull(service.pendingStatus(3L));
+        verify(taskScheduler, atLeastOnce()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void testSubmit_ShouldRejectInvalidEvents() {
+        assertThrows(IllegalArgumentException.class, () -> service.submit(List.of(new HealthEvent(null, "injured"))));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(List.of(new HealthEvent(1L, " "))));
+        assertThrows(IllegalArgumentException.class, () -> service.submit(List.of(new HealthEvent(1L, "x".repeat(256)))));
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void testFlush_ShouldUpdateLoadedCreaturesAndDropUnknownOnes() {
+        Creature c = new Creature();
+        c.setId(1L);
+        c.setHealthStatus("healthy");
+        when(creatureRepository.findAllById(anyIterable())).thenReturn(List.of(c));
+        service.submit(List.of(new HealthEvent(1L, "critical"), new HealthEvent(99L, "injured")));
+
+        service.flush();
+
+        assertEquals("critical", c.getHealthStatus());
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void testFlush_ShouldKeepEvents_WhenWriteFails() {
+        when(creatureRepository.findAllById(anyIterable())).thenThrow(new IllegalStateException("db down"));
+        service.submit(List.of(new HealthEvent(1L, "critical")));
+
+        service.flush();
+
+        assertEquals("critical", service.pendingStatus(1L));
+    }
+
+    @Test
+    void testFlush_ShouldWriteTheRestOfAFailedChunk_AndDropAnEventThatKeepsFailing() {
+        Creature good = new Creature();
+        good.setId(1L);
+        good.setHealthStatus("healthy");
+        // Every transaction loads its own copy of the creature whose write fails, as JPA would
+        when(creatureRepository.findAllById(anyIterable())).thenAnswer(inv -> {
+            List<Creature> loaded = new ArrayList<>();
+            for (Long id : inv.<Iterable<Long>>getArgument(0)) {
+                if (id == 1L) {
+                    loaded.add(good);
+                } else {
+                    Creature bad = new Creature();
+                    bad.setId(id);
+                    bad.setHealthStatus("healthy");
+                    loaded.add(bad);
+                }
+            }
+            return loaded;
+        });
+        when(creatureRepository.save(any())).thenAnswer(inv -> {
+            if (inv.<Creature>getArgument(0).getId() == 2L) throw new DataIntegrityViolationException("value too long");
+            return inv.getArgument(0);
+        });
+        service.submit(List.of(new HealthEvent(1L, "injured"), new HealthEvent(2L, "critical")));
+
+        service.flush();
+        assertEquals("injured", good.getHealthStatus());
+        assertNull(service.pendingStatus(1L));
+        assertEquals("critical", service.pendingStatus(2L));
+
+        service.flush();
+        assertNull(service.pendingStatus(2L));
+        assertEquals(0, service.pendingCount());
+    }
+
+    @Test
+    void testFlush_ShouldNotCountAttempts_WhenTheDatabaseIsDown() {
+        when(creatureRepository.findAllById(anyIterable())).thenThrow(new DataAccessResourceFailureException("db down"));
+        service.submit(List.of(new HealthEvent(1L, "critical")));
+
+        for (int i = 0; i < 5; i++) service.flush();
+
+        assertEquals("critical", service.pendingStatus(1L));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.config.IdempotencyProperties;
+import com.example.zoo_fantastico.exception.IdempotencyKeyReusedException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotencyServiceTest {
+
+    private final IdempotencyService service = new IdempotencyService(
+            new IdempotencyProperties(Duration.ofHours(1), 100, Duration.ofSeconds(5)),
+            new ObjectMapper(), new SimpleMeterRegistry());
+
+    @Test
+    void testExecute_ShouldRunOnce_WhenDuplicatesArriveConcurrently() throws Exception {
+        AtomicInteger inserts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<Integer>>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(pool.submit(() -> {
+                    start.await();
+                    return service.execute("POST /api/zones", "k-1", Map.of("name", "Lago"), () -> {
+                        sleep(50);
+                        return ResponseEntity.status(HttpStatus.CREATED).body(inserts.incrementAndGet());
+                    });
+                }));
+            }
+            start.countDown();
+            int replayed = 0;
+            for (Future<ResponseEntity<Integer>> f : responses) {
+                ResponseEntity<Integer> response = f.get(10, TimeUnit.SECONDS);
+                assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                assertEquals(1, response.getBody());
+                if (response.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER)) replayed++;
+            }
+            assertEquals(1, inserts.get());
+            assertEquals(7, replayed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testExecute_ShouldRejectSameKeyWithDifferentBody() {
+        service.execute("POST /api/zones", "k-2", Map.of("name", "Lago"), () -> ResponseEntity.ok(1));
+
+        assertThrows(IdempotencyKeyReusedException.class, () ->
+                service.execute("POST /api/zones", "k-2", Map.of("name", "Bosque"), () -> ResponseEntity.ok(2)));
+        // Keys are scoped per endpoint
+        assertEquals(3, service.execute("POST /api/creatures", "k-2", Map.of("name", "Bosque"),
+                () -> ResponseEntity.ok(3)).getBody());
+    }
+
+    @Test
+    void testExecute_ShouldNotRememberFailures() {
+        assertThrows(ZoneCapacityException.class, () ->
+                service.execute("POST /api/creatures", "k-3", Map.of("zone", 1), () -> {
+                    throw new ZoneCapacityException("full");
+                }));
+
+        ResponseEntity<Integer> retried = service.execute("POST /api/creatures", "k-3", Map.of("zone", 1),
+                () -> ResponseEntity.ok(7));
+        assertEquals(7, retried.getBody());
+        assertFalse(retried.getHeaders().containsKey(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("true", service.execute("POST /api/creatures", "k-3", Map.of("zone", 1),
+                () -> ResponseEntity.ok(8)).getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.BulkRecord;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ImportReport;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.repository.ZoneRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional
+public class ImportExportServiceTest {
+
+    @Autowired
+    private ImportExportService importExportService;
+
+    @Autowired
+    private CreatureService creatureService;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<ImportReport> importText(BulkFormat format, String text) throws Exception {
+        List<ImportReport> report = new ArrayList<>();
+        importExportService.importAll(
+                format.reader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), objectMapper), report::add);
+        return report;
+    }
+
+    private static ZoneSummary zoneNamed(List<ZoneSummary> zones, String name) {
+        return zones.stream().filter(z -> z.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void testImportCsv_ShouldSkipBadRowsAndRemapZoneIds() throws Exception {
+        String csv = """
+                type,id,name,description,capacity,species,size,dangerLevel,healthStatus,zoneId
+                zone,900,Cueva Importada,"Cueva, húmeda",2,,,,,
+                creature,1,Basilisco,,,Serpiente,3.5,8,healthy,900
+                creature,2,Mantícora,,,Felino,2.0,15,healthy,900
+                creature,3,Hidra,,,Serpiente,abc,7,healthy,900
+                creature,4,Kraken,,,Cefalópodo,9.0,9,healthy,999999
+                creature,5,Cocatriz,,,Ave,0.5,4,injured,900
+                creature,6,Grifo,,,Grifo,1.5,5,healthy,900
+                """;
+
+        List<ImportReport> report = importText(BulkFormat.CSV, csv);
+
+        ImportReport done = report.get(report.size() - 1);
+        assertEquals("done", done.type());
+        assertEquals(7, done.processed());
+        assertEquals(1, done.zones());
+        assertEquals(2, done.creatures());
+        assertEquals(4, done.failed());
+        List<Long> badLines = report.stream().filter(r -> "error".equals(r.type())).map(ImportReport::line).sorted().toList();
+        assertEquals(List.of(4L, 5L, 6L, 8L), badLines);
+
+        ZoneSummary zone = zoneNamed(zoneRepository.findAllSummaries(), "Cueva Importada");
+        assertEquals("Cueva, húmeda", zone.description());
+        assertEquals(2, zone.creatureCount());
+    }
+
+    @Test
+    void testExportThenImportNdjson_ShouldRecreateZonesAndCreatures() throws Exception {
+        List<ImportReport> seeded = importText(BulkFormat.NDJSON, """
+                {"type":"zone","id":1,"name":"Lago Exportado","description":"Agua dulce","capacity":5}
+                {"type":"creature","name":"Kelpie","species":"Equino","size":2.0,"dangerLevel":6,"healthStatus":"healthy","zoneId":1}
+                not json
+                """);
+        assertEquals(1, seeded.stream().filter(r -> "error".equals(r.type())).count());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter writer = BulkFormat.NDJSON.writer(out, objectMapper)) {
+            importExportService.exportAll(r -> {
+                try {
+                    writer.write(r);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        String exported = out.toString(StandardCharsets.UTF_8);
+        assertTrue(exported.contains("\"name\":\"Lago Exportado\""));
+        assertTrue(exported.contains("\"name\":\"Kelpie\""));
+
+        List<ImportReport> reimport = importText(BulkFormat.NDJSON, exported);
+        assertEquals(0, reimport.get(reimport.size() - 1).failed());
+
+        List<ZoneSummary> lakes = zoneRepository.findAllSummaries().stream()
+                .filter(z -> z.name().equals("Lago Exportado")).toList();
+        assertEquals(2, lakes.size());
+        lakes.forEach(z -> assertEquals(1, z.creatureCount()));
+        long kelpies = creatureService.findPage(0, 1000).stream().map(CreatureView::name).filter("Kelpie"::equals).count();
+        assertEquals(2, kelpies);
+    }
+
+    @Test
+    void testFormat_ShouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> BulkFormat.of("xml"));
+        assertEquals(BulkFormat.CSV, BulkFormat.of("CSV"));
+        assertEquals(BulkRecord.ZONE, BulkRecord.of(new ZoneSummary(1L, "a", "b", 1, 0, 0)).type());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.model.Zone;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and its replica. Replication is simulated by
+ * copying the primary into the replica ({@link #replicate()}), so until then the replica lags behind.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingIntegrationTest.PRIMARY,
+        "zoo.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA,
+        "zoo.datasource.replicas[0].username=sa",
+        "zoo.datasource.replicas[0].password=password",
+        "zoo.datasource.read-your-writes=5s",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTest {
+
+    static final String PRIMARY = "jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        replicate();
+    }
+
+    @Test
+    void testReadOnlyTransactions_ShouldReadFromReplica_AndWritesGoToPrimary() throws SQLException {
+        zoneService.create(zone("Lago del Norte"));
+
+        assertTrue(exists(PRIMARY, "Lago del Norte"));
+        assertFalse(exists(REPLICA, "Lago del Norte"));
+        assertFalse(names().contains("Lago del Norte"));
+
+        replicate();
+        // The stale replica answer above must not have been cached
+        assertTrue(names().contains("Lago del Norte"));
+    }
+
+    @Test
+    void testReadYourWrites_ShouldSendClientReadsToPrimary_AfterItWrites() throws Exception {
+        Cookie stamp = mockMvc.perform(post("/api/zones").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Pantano\",\"description\":\"Niebla\",\"capacity\":3}"))
+                .andReturn().getResponse().getCookie("zoo-primary-until");
+        assertNotNull(stamp);
+
+        String withoutStamp = mockMvc.perform(get("/api/zones")).andReturn().getResponse().getContentAsString();
+        String withStamp = mockMvc.perform(get("/api/zones").cookie(stamp)).andReturn().getResponse().getContentAsString();
+
+        assertTrue(withStamp.contains("Pantano"));
+        assertFalse(withoutStamp.contains("Pantano"));
+    }
+
+    private List<String> names() {
+        return zoneService.findAllSummaries().stream().map(ZoneSummary::name).toList();
+    }
+
+    private static Zone zone(String name) {
+        Zone zone = new Zone();
+        zone.setName(name);
+        zone.setDescription("Zona de prueba");
+        zone.setCapacity(5);
+        return zone;
+    }
+
+    private static boolean exists(String url, String zoneName) throws SQLException {
+        try (Connection c = DriverManager.getConnection(url, "sa", "password");
+             ResultSet rs = c.createStatement().executeQuery("select count(*) from zone where name = '" + zoneName + "'")) {
+            rs.next();
+            return rs.getInt(1) > 0;
+        }
+    }
+
+    /** Replaces the replica with a copy of the primary (schema and data). */
+    private static void replicate() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY, "sa", "password");
+             Connection replica = DriverManager.getConnection(REPLICA, "sa", "password");
+             Statement target = replica.createStatement();
+             ResultSet script = primary.createStatement().executeQuery("SCRIPT")) {
+            target.execute("DROP ALL OBJECTS");
+            while (script.next()) target.execute(script.getString(1));
+        }
+    }
+}
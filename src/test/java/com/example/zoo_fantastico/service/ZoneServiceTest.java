@@ -1,9 +1,15 @@
 package com.example.zoo_fantastico.service;
 
+import com.example.zoo_fantastico.config.BatchProperties;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ZoneTransferResult;
 import com.example.zoo_fantastico.exception.ResourceNotFoundException;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
 import com.example.zoo_fantastico.exception.ZoneNotEmptyException;
-import com.example.zoo_fantastico.model.Creature;
 import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.repository.CreatureRepository;
 import com.example.zoo_fantastico.repository.ZoneRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,14 +17,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 public class ZoneServiceTest {
@@ -26,6 +35,18 @@ public class ZoneServiceTest {
     @Mock
     private ZoneRepository zoneRepository;
 
+    @Mock
+    private CreatureRepository creatureRepository;
+
+    @Mock
+    private ZoneOccupancyService occupancyService;
+
+    @Mock
+    private BatchProperties batchProperties;
+
+    @Mock
+    private ApplicationEventPublisher events;
+
     @InjectMocks
     private ZoneService zoneService;
 
@@ -56,6 +77,8 @@ public class ZoneServiceTest {
         assertEquals(1L, result.getId());
         assertEquals("Magical Forest", result.getName());
         verify(zoneRepository, times(1)).save(toSave);
+        verify(occupancyService, times(1)).register(1L);
+        verify(events).publishEvent(argThat((ChangeEvent e) -> e.type() == ChangeEvent.Type.CREATED && e.id() == 1L));
     }
 
     // -------------------- findAll --------------------
@@ -125,6 +148,25 @@ public class ZoneServiceTest {
         assertEquals(200, savedArg.getCapacity());
     }
 
+    @Test
+    void testUpdate_ShouldThrow_WhenCapacityBelowOccupancy() {
+        Zone existing = new Zone();
+        existing.setId(21L);
+        existing.setName("Busy Zone");
+        existing.setCapacity(10);
+
+        Zone updated = new Zone();
+        updated.setName("Busy Zone");
+        updated.setDescription("Smaller now");
+        updated.setCapacity(2);
+
+        when(zoneRepository.findById(21L)).thenReturn(Optional.of(existing));
+        when(occupancyService.lockedCount(21L)).thenReturn(5);
+
+        assertThrows(ZoneCapacityException.class, () -> zoneService.update(21L, updated));
+        verify(zoneRepository, never()).save(any());
+    }
+
     @Test
     void testUpdate_ShouldThrow_WhenNotFound() {
         when(zoneRepository.findById(123L)).thenReturn(Optional.empty());
@@ -140,13 +182,14 @@ public class ZoneServiceTest {
         Zone zone = new Zone();
         zone.setId(30L);
         zone.setName("Empty Plains");
-        zone.setCreatures(new ArrayList<>());
 
         when(zoneRepository.findById(30L)).thenReturn(Optional.of(zone));
+        when(occupancyService.lockedCount(30L)).thenReturn(0);
 
         zoneService.delete(30L);
 
         verify(zoneRepository, times(1)).delete(zone);
+        verify(occupancyService, times(1)).unregister(30L);
     }
 
     @Test
@@ -154,14 +197,26 @@ public class ZoneServiceTest {
         Zone zone = new Zone();
         zone.setId(40L);
         zone.setName("Crowded Den");
-        zone.setCreatures(Arrays.asList(new Creature()));
 
         when(zoneRepository.findById(40L)).thenReturn(Optional.of(zone));
+        when(occupancyService.lockedCount(40L)).thenReturn(1);
 
         assertThrows(ZoneNotEmptyException.class, () -> zoneService.delete(40L));
         verify(zoneRepository, never()).delete(any());
     }
 
+    @Test
+    void testDelete_ShouldThrow_WhenVersionDoesNotMatch() {
+        Zone zone = new Zone();
+        zone.setId(41L);
+        zone.setVersion(2);
+
+        when(zoneRepository.findById(41L)).thenReturn(Optional.of(zone));
+
+        assertThrows(VersionConflictException.class, () -> zoneService.delete(41L, List.of(1L)));
+        verify(zoneRepository, never()).delete(any());
+    }
+
     @Test
     void testDelete_ShouldThrow_WhenNotFound() {
         when(zoneRepository.findById(77L)).thenReturn(Optional.empty());
@@ -169,4 +224,53 @@ public class ZoneServiceTest {
         assertThrows(ResourceNotFoundException.class, () -> zoneService.delete(77L));
         verify(zoneRepository, never()).delete(any());
     }
-}
\ No newline at end of file
+
+    // -------------------- transfer --------------------
+    private Zone zone(long id, String name, int capacity) {
+        Zone zone = new Zone();
+        zone.setId(id);
+        zone.setName(name);
+        zone.setCapacity(capacity);
+        return zone;
+    }
+
+    @Test
+    void testTransfer_ShouldMoveAllAndPublishUpdates() {
+        Zone target = zone(2L, "Meadow", 5);
+        when(occupancyService.lockedCounts(List.of(1L, 2L))).thenReturn(Map.of(1L, 2, 2L, 3));
+        when(zoneRepository.findById(2L)).thenReturn(Optional.of(target));
+        when(creatureRepository.lockIdsInZone(1L)).thenReturn(List.of(10L, 11L));
+        when(creatureRepository.findViewsInZone(1L)).thenReturn(List.of(
+                new CreatureView(10L, "Pixie", "Fairy", 0.2, 2, "healthy", 1L, "Grove", 3, 0),
+                new CreatureView(11L, "Sprite", "Fairy", 0.1, 1, "healthy", 1L, "Grove", 0, 0)));
+        when(creatureRepository.moveAll(1L, target)).thenReturn(2);
+
+        ZoneTransferResult result = zoneService.transfer(1L, 2L, null);
+
+        assertEquals(2, result.moved());
+        verify(occupancyService).move(1L, 2L, 2);
+        verify(events).publishEvent(argThat((Object e) -> e instanceof ChangeEvent c && c.id() == 10L
+                && c.zoneId() == 2L && c.previous().zoneId() == 1L && ((CreatureView) c.data()).version() == 4));
+    }
+
+    @Test
+    void testTransfer_ShouldMoveNothing_WhenTargetLacksRoom() {
+        when(batchProperties.maxItems()).thenReturn(100);
+        when(occupancyService.lockedCounts(List.of(1L, 2L))).thenReturn(Map.of(1L, 3, 2L, 4));
+        when(zoneRepository.findById(2L)).thenReturn(Optional.of(zone(2L, "Burrow", 5)));
+        when(creatureRepository.lockIdsInZone(1L, List.of(10L, 11L))).thenReturn(List.of(10L, 11L));
+
+        assertThrows(ZoneCapacityException.class, () -> zoneService.transfer(1L, 2L, List.of(10L, 11L)));
+        verify(creatureRepository, never()).move(anyLong(), any(), any());
+        verify(occupancyService, never()).move(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void testTransfer_ShouldThrow_WhenZoneMissingOrSame() {
+        when(occupancyService.lockedCounts(List.of(1L, 99L))).thenReturn(Map.of(1L, 3));
+
+        assertThrows(ResourceNotFoundException.class, () -> zoneService.transfer(1L, 99L, null));
+        assertThrows(IllegalArgumentException.class, () -> zoneService.transfer(1L, 1L, null));
+        verify(creatureRepository, never()).moveAll(anyLong(), any());
+    }
+}
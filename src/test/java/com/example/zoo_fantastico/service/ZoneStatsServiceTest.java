@@ -0,0 +1,114 @@
+package com.example.zoo_fantastico.service;
+
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ZoneStats;
+import com.example.zoo_fantastico.dto.ZoneSummary;
+import com.example.zoo_fantastico.repository.CreatureRepository;
+import com.example.zoo_fantastico.repository.ZoneRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ZoneStatsServiceTest {
+
+    @Mock
+    private CreatureRepository creatureRepository;
+
+    @Mock
+    private ZoneRepository zoneRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ZoneStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ZoneStatsService(creatureRepository, zoneRepository, transactionManager, new SimpleMeterRegistry());
+        when(zoneRepository.findSummaryById(1L)).thenReturn(Optional.of(new ZoneSummary(1L, "Bosque", "", 4, 0, 0)));
+        when(zoneRepository.findSummaryById(2L)).thenReturn(Optional.of(new ZoneSummary(2L, "Lago", "", 10, 0, 0)));
+    }
+
+    private static CreatureView creature(long id, long zoneId, int danger, double size, String health) {
+        return new CreatureView(id, "C" + id, "Dragón", size, danger, health, zoneId, "Z", 0, 0);
+    }
+
+    @Test
+    void testStats_ShouldApplyCreateUpdateAndDeleteDeltas() {
+        CreatureView dragon = creature(1, 1, 9, 5.0, "healthy");
+        service.onChange(ChangeEvent.creatureCreated(dragon));
+        service.onChange(ChangeEvent.creatureCreated(creature(2, 1, 3, 1.0, "healthy")));
+        CreatureView moved = creature(1, 2, 9, 5.0, "injured");
+        service.onChange(ChangeEvent.creatureUpdated(dragon, moved));
+
+        ZoneStats first = service.stats(1L);
+        assertEquals(1, first.creatureCount());
+        assertEquals(3, first.maxDanger());
+        assertEquals(0.25, first.occupancy());
+        assertEquals(Map.of("healthy", 1L), first.healthStatus());
+        ZoneStats second = service.stats(2L);
+        assertEquals(9, second.maxDanger());
+        assertEquals(5.0, second.totalSize());
+        assertEquals(Map.of("injured", 1L), second.healthStatus());
+
+        service.onChange(ChangeEvent.creatureDeleted(moved));
+        assertEquals(0, service.stats(2L).creatureCount());
+        assertEquals(0, service.stats(2L).maxDanger());
+    }
+
+    @Test
+    void testReconcile_ShouldReplaceDriftedAggregatesWithRecount() {
+        service.onChange(ChangeEvent.creatureCreated(creature(1, 1, 2, 1.0, "healthy")));
+        when(creatureRepository.dangerHistogram()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, 2, 1L, 1.0}, new Object[]{1L, 6, 2L, 4.0}));
+        when(creatureRepository.healthHistogram()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "healthy", 1L}, new Object[]{1L, "sick", 2L}));
+
+        assertEquals(1, service.reconcile());
+
+        ZoneStats stats = service.stats(1L);
+        assertEquals(3, stats.creatureCount());
+        assertEquals(14.0 / 3, stats.averageDanger(), 1e-9);
+        assertEquals(5.0, stats.totalSize());
+        assertEquals(0, service.reconcile());
+    }
+
+    @Test
+    void testReconcile_WithChangesCommittedDuringTheRecount_ShouldCountEachOnce() {
+        CreatureView dragon = creature(1, 1, 2, 1.0, "healthy");
+        service.onChange(ChangeEvent.creatureCreated(dragon));
+        CreatureView angrier = new CreatureView(1L, "C1", "Dragón", 1.0, 5, "healthy", 1L, "Z", 1, 0);
+        CreatureView hatchling = creature(2, 1, 3, 0.5, "healthy");
+        // The update commits before the snapshot, so the recount includes it; the insert commits after it
+        when(creatureRepository.dangerHistogram()).thenAnswer(call -> {
+            service.onChange(ChangeEvent.creatureUpdated(dragon, angrier));
+            return List.<Object[]>of(new Object[]{1L, 5, 1L, 1.0});
+        });
+        when(creatureRepository.healthHistogram()).thenAnswer(call -> {
+            service.onChange(ChangeEvent.creatureCreated(hatchling));
+            return List.<Object[]>of(new Object[]{1L, "healthy", 1L});
+        });
+        when(creatureRepository.findViewsById(anyCollection())).thenReturn(List.of(angrier));
+
+        assertEquals(0, service.reconcile());
+
+        ZoneStats stats = service.stats(1L);
+        assertEquals(2, stats.creatureCount());
+        assertEquals(4.0, stats.averageDanger(), 1e-9);
+        assertEquals(5, stats.maxDanger());
+        assertEquals(1.5, stats.totalSize(), 1e-9);
+        assertEquals(Map.of("healthy", 2L), stats.healthStatus());
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.config.StorageProperties;
+import com.example.zoo_fantastico.dto.CreatureFilter;
+import com.example.zoo_fantastico.dto.CreatureView;
+import com.example.zoo_fantastico.dto.ZoneTransferResult;
+import com.example.zoo_fantastico.exception.VersionConflictException;
+import com.example.zoo_fantastico.exception.ZoneCapacityException;
+import com.example.zoo_fantastico.model.Creature;
+import com.example.zoo_fantastico.model.Zone;
+import com.example.zoo_fantastico.service.CreatureService;
+import com.example.zoo_fantastico.service.ZoneService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "zoo.storage.snapshot-path=")
+@ActiveProfiles("memory")
+public class MemoryStorageIntegrationTest {
+
+    @Autowired
+    private CreatureService creatureService;
+
+    @Autowired
+    private ZoneService zoneService;
+
+    @Autowired
+    private CreatureStore creatureStore;
+
+    @Autowired
+    private MemoryStorage storage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Zone zone(String name, int capacity) {
+        Zone zone = new Zone();
+        zone.setName(name);
+        zone.setDescription("Zona de prueba");
+        zone.setCapacity(capacity);
+        return zoneService.create(zone);
+    }
+
+    private Creature creature(String name, String species, int danger, String health, Zone zone) {
+        Creature c = new Creature();
+        c.setName(name);
+        c.setSpecies(species);
+        c.setSize(1.5);
+        c.setDangerLevel(danger);
+        c.setHealthStatus(health);
+        c.setZone(zone);
+        return creatureService.create(c);
+    }
+
+    @Test
+    void testStores_ShouldBeTheInMemoryEngine() {
+        assertInstanceOf(MemoryCreatureStore.class, creatureStore);
+    }
+
+    @Test
+    void testFilteredPages_ShouldUseIndexesAndKeysetCursor() {
+        Zone zone = zone("Cueva", 10);
+        creature("Smaug", "Dragón", 9, "healthy", zone);
+        Creature second = creature("Fafnir", "Dragón", 7, "injured", zone);
+        creature("Ícaro", "Grifo", 4, "healthy", zone);
+        creature("Níðhöggr", "Dragón", 8, "healthy", zone);
+
+        CreatureFilter dragons = new CreatureFilter("Dragón", null, zone.getId(), 8, null, "dangerLevel,desc");
+        List<CreatureView> first = creatureService.findPage(dragons, 0, 1);
+        assertEquals(List.of("Smaug"), first.stream().map(CreatureView::name).toList());
+        List<CreatureView> next = creatureService.findPage(dragons, first.get(0).id(), 5);
+        assertEquals(List.of("Níðhöggr"), next.stream().map(CreatureView::name).toList());
+
+        CreatureFilter injured = new CreatureFilter(null, "injured", zone.getId(), null, null, null);
+        assertEquals(List.of(second.getId()), creatureService.findPage(injured, 0, 10).stream().map(CreatureView::id).toList());
+        assertEquals(4, zoneService.findSummaryById(zone.getId()).creatureCount());
+    }
+
+    @Test
+    void testUpdate_WithStaleVersion_ShouldConflict() {
+        Zone zone = zone("Lago", 5);
+        Creature nessie = creature("Nessie", "Serpiente", 5, "healthy", zone);
+
+        Creature changed = new Creature();
+        changed.setName("Nessie");
+        changed.setSpecies("Serpiente");
+        changed.setSize(2);
+        changed.setDangerLevel(6);
+        changed.setHealthStatus("healthy");
+        changed.setZone(zone);
+        assertEquals(1, creatureService.update(nessie.getId(), changed, List.of(0L)).getVersion());
+        assertThrows(VersionConflictException.class, () -> creatureService.update(nessie.getId(), changed, List.of(0L)));
+    }
+
+    @Test
+    void testTransfer_OverCapacity_ShouldRollBackEveryChange() {
+        Zone from = zone("Bosque", 5);
+        Zone to = zone("Jaula", 1);
+        Creature a = creature("Grifo", "Grifo", 3, "healthy", from);
+        creature("Fénix", "Ave", 2, "healthy", from);
+
+        assertThrows(ZoneCapacityException.class, () -> zoneService.transfer(from.getId(), to.getId(), null));
+        assertEquals(2, zoneService.findSummaryById(from.getId()).creatureCount());
+
+        ZoneTransferResult moved = zoneService.transfer(from.getId(), to.getId(), List.of(a.getId()));
+        assertEquals(1, moved.moved());
+        assertEquals(to.getId(), creatureService.findViewById(a.getId()).zoneId());
+        assertEquals(1, creatureService.findViewById(a.getId()).version());
+        assertEquals(1, zoneService.findSummaryById(from.getId()).creatureCount());
+        assertEquals(1, zoneService.findSummaryById(to.getId()).creatureCount());
+    }
+
+    @Test
+    void testCreate_InFullZone_ShouldLeaveNoRowBehind() {
+        Zone zone = zone("Celda", 1);
+        creature("Basilisco", "Serpiente", 10, "healthy", zone);
+        long before = creatureStore.count();
+
+        assertThrows(ZoneCapacityException.class, () -> creature("Quimera", "Híbrido", 8, "healthy", zone));
+        assertEquals(before, creatureStore.count());
+    }
+
+    @Test
+    void testRollbacks_OfOverlappingWrites_ShouldRestoreTheCommittedRow() throws Exception {
+        Zone zone = zone("Cueva", 5);
+        MemoryStorage.CreatureRow committed = storage.creature(creature("Basilisco", "Reptil", 9, "healthy", zone).getId());
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch rollBack = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> a = executor.submit(() -> tx.executeWithoutResult(status -> {
+                storage.updateCreature(new MemoryStorage.CreatureRow(committed.id(), committed.version(), "Basilisco A",
+                        "Reptil", 1.5, 9, "healthy", zone.getId()));
+                written.countDown();
+                await(rollBack);
+                status.setRollbackOnly();
+            }));
+            assertTrue(written.await(5, TimeUnit.SECONDS));
+            // B builds on A's uncommitted row and must wait for A to end instead
+            MemoryStorage.CreatureRow uncommitted = storage.creature(committed.id());
+            Future<?> b = executor.submit(() -> tx.executeWithoutResult(status -> {
+                storage.updateCreature(new MemoryStorage.CreatureRow(uncommitted.id(), uncommitted.version(), "Basilisco B",
+                        "Reptil", 1.5, 9, "healthy", zone.getId()));
+                status.setRollbackOnly();
+            }));
+            Thread.sleep(200);
+            assertFalse(b.isDone());
+
+            rollBack.countDown();
+            a.get(5, TimeUnit.SECONDS);
+            ExecutionException stale = assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(OptimisticLockingFailureException.class, stale.getCause());
+            assertEquals(committed, storage.creature(committed.id()));
+        } finally {
+            rollBack.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testSnapshot_ShouldRestoreRowsSequencesAndCounters(@TempDir Path dir) {
+        StorageProperties properties = new StorageProperties(dir.resolve("zoo.snapshot"), Duration.ofMinutes(5), 8,
+                null, null, Duration.ofSeconds(10));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MemoryStorage storage = new MemoryStorage(properties, new WriteAheadLog(properties, registry), registry);
+        MemoryStorage.ZoneRow zone = storage.insertZone("Pradera", "Abierta", 3);
+        storage.createCounter(zone.id());
+        MemoryStorage.CreatureRow pegasus = storage.insertCreature(
+                new MemoryStorage.CreatureRow(0, 0, "Pegaso", "Equino", 2.0, 2, null, zone.id()));
+        storage.addToCounter(zone.id(), 1, true);
+        storage.snapshot();
+
+        MemoryStorage restored = new MemoryStorage(properties, new WriteAheadLog(properties, registry), registry);
+        restored.restore();
+        assertEquals(zone, restored.zone(zone.id()));
+        assertEquals(pegasus, restored.creature(pegasus.id()));
+        assertEquals(1, restored.count(zone.id()));
+        assertEquals(List.of(pegasus.id()), List.copyOf(restored.creaturesInZone(zone.id())));
+        assertEquals(pegasus.id() + 1, restored.insertCreature(pegasus).id());
+    }
+}
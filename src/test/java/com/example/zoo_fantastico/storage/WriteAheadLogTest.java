@@ -0,0 +1,160 @@
+package com.example.zoo_fantastico.storage;
+
+import com.example.zoo_fantastico.config.StorageProperties;
+import com.example.zoo_fantastico.storage.MemoryStorage.CreatureRow;
+import com.example.zoo_fantastico.storage.MemoryStorage.ZoneRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteAheadLogTest {
+
+    @TempDir
+    private Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<WriteAheadLog> logs = new ArrayList<>();
+    private WriteAheadLog wal;
+    private TransactionTemplate tx;
+
+    @AfterEach
+    void tearDown() {
+        logs.forEach(WriteAheadLog::close);
+    }
+
+    // A fresh engine over the same files, as after a restart; the previous one is left as a crash would
+    private MemoryStorage start(DataSize compactSize) {
+        StorageProperties properties = new StorageProperties(dir.resolve("zoo.snapshot"), Duration.ofMinutes(5), 8,
+                dir.resolve("wal"), compactSize, Duration.ofSeconds(10));
+        wal = new WriteAheadLog(properties, registry);
+        logs.add(wal);
+        MemoryStorage storage = new MemoryStorage(properties, wal, registry);
+        storage.restore();
+        tx = new TransactionTemplate(new MemoryTransactionManager(wal));
+        return storage;
+    }
+
+    private static CreatureRow creature(String name, long zoneId) {
+        return new CreatureRow(0, 0, name, "Dragón", 3.0, 7, "healthy", zoneId);
+    }
+
+    private long segments() throws Exception {
+        try (Stream<Path> files = Files.list(dir.resolve("wal"))) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testReplay_ShouldRecoverCommittedTransactionsOnly() {
+        MemoryStorage storage = start(DataSize.ofMegabytes(64));
+        ZoneRow zone = tx.execute(s -> {
+            ZoneRow z = storage.insertZone("Cueva", "Oscura", 5);
+            storage.createCounter(z.id());
+            return z;
+        });
+        CreatureRow smaug = tx.execute(s -> {
+            CreatureRow c = storage.insertCreature(creature("Smaug", zone.id()));
+            storage.addToCounter(zone.id(), 1, true);
+            return c;
+        });
+        CreatureRow renamed = tx.execute(s -> storage.updateCreature(
+                new CreatureRow(smaug.id(), smaug.version(), "Smaug el Dorado", "Dragón", 3.0, 9, "injured", zone.id())));
+        tx.executeWithoutResult(s -> {
+            storage.insertCreature(creature("Fafnir", zone.id()));
+            storage.addToCounter(zone.id(), 1, true);
+            s.setRollbackOnly();
+        });
+
+        MemoryStorage restored = start(DataSize.ofMegabytes(64));
+        assertEquals(zone, restored.zone(zone.id()));
+        assertEquals(renamed, restored.creature(smaug.id()));
+        assertEquals(1, restored.creatureCount());
+        assertEquals(1, restored.count(zone.id()));
+        assertEquals(List.of(smaug.id()), List.copyOf(restored.creaturesWithHealth("injured")));
+        // Sequences continue after the rolled-back insert's id at worst, never reuse a committed one
+        assertTrue(tx.execute(s -> restored.insertCreature(creature("Níðhöggr", zone.id()))).id() > smaug.id());
+    }
+
+    @Test
+    void testReplay_ShouldApplyTheLogTailOverTheSnapshotAndDropCoveredSegments() throws Exception {
+        MemoryStorage storage = start(DataSize.ofMegabytes(64));
+        ZoneRow zone = tx.execute(s -> storage.insertZone("Lago", "Profundo", 10));
+        CreatureRow nessie = tx.execute(s -> storage.insertCreature(creature("Nessie", zone.id())));
+        storage.snapshot();
+        assertEquals(1, segments());
+        tx.executeWithoutResult(s -> storage.deleteCreature(nessie.id(), nessie.version()));
+        CreatureRow kraken = tx.execute(s -> storage.insertCreature(creature("Kraken", zone.id())));
+
+        MemoryStorage restored = start(DataSize.ofMegabytes(64));
+        assertNull(restored.creature(nessie.id()));
+        assertEquals(kraken, restored.creature(kraken.id()));
+        assertEquals(List.of(kraken.id()), List.copyOf(restored.creaturesInZone(zone.id())));
+    }
+
+    @Test
+    void testReplay_WithTornTail_ShouldKeepTheFramesBeforeIt() throws Exception {
+        MemoryStorage storage = start(DataSize.ofMegabytes(64));
+        ZoneRow zone = tx.execute(s -> storage.insertZone("Bosque", "Denso", 10));
+        CreatureRow grifo = tx.execute(s -> storage.insertCreature(creature("Grifo", zone.id())));
+        wal.close();
+        try (Stream<Path> files = Files.list(dir.resolve("wal"))) {
+            Path segment = files.findFirst().orElseThrow();
+            Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+        }
+
+        MemoryStorage restored = start(DataSize.ofMegabytes(64));
+        assertEquals(grifo, restored.creature(grifo.id()));
+    }
+
+    @Test
+    void testConcurrentCommits_ShouldAllBeDurable() throws Exception {
+        MemoryStorage storage = start(DataSize.ofMegabytes(64));
+        ZoneRow zone = tx.execute(s -> storage.insertZone("Pradera", "Abierta", 1000));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<CreatureRow>> inserts = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String name = "Pegaso " + i;
+            inserts.add(pool.submit(() -> tx.execute(s -> storage.insertCreature(creature(name, zone.id())))));
+        }
+        for (Future<CreatureRow> insert : inserts) insert.get();
+        pool.shutdown();
+        // 201 commits; the group-size summary counts fsyncs, so it never exceeds that
+        assertTrue(registry.get("zoo.storage.wal.group").summary().count() <= 201);
+        assertEquals(201, (long) registry.get("zoo.storage.wal.group").summary().totalAmount());
+
+        MemoryStorage restored = start(DataSize.ofMegabytes(64));
+        assertEquals(200, restored.creaturesInZone(zone.id()).size());
+    }
+
+    @Test
+    void testCompaction_ShouldSnapshotInTheBackgroundOnceTheLogIsLarge() throws Exception {
+        MemoryStorage storage = start(DataSize.ofBytes(1024));
+        ZoneRow zone = tx.execute(s -> storage.insertZone("Cielo", "Nubes", 1000));
+        for (int i = 0; i < 50; i++) {
+            String name = "Fénix " + i;
+            tx.execute(s -> storage.insertCreature(creature(name, zone.id())));
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!Files.exists(dir.resolve("zoo.snapshot")) && System.currentTimeMillis() < deadline) Thread.sleep(20);
+        assertTrue(Files.exists(dir.resolve("zoo.snapshot")));
+
+        MemoryStorage restored = start(DataSize.ofBytes(1024));
+        assertEquals(50, restored.creatureCount());
+    }
+}
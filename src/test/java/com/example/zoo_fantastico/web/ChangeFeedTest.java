@@ -0,0 +1,118 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.ChangeFeedProperties;
+import com.example.zoo_fantastico.controller.ChangeFeedController;
+import com.example.zoo_fantastico.dto.ChangeEvent;
+import com.example.zoo_fantastico.dto.CreatureView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+public class ChangeFeedTest {
+
+    private ChangeFeed feed;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ChangeFeed(new ChangeFeedProperties(3, 100, 1, Duration.ofMinutes(1), Duration.ofSeconds(15)));
+        mvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(feed)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    private MockHttpServletResponse open(MockHttpServletRequestBuilder request) throws Exception {
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    private static String await(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!response.getContentAsString().contains(expected)) {
+            assertTrue(System.currentTimeMillis() < deadline, "missing '" + expected + "' in " + response.getContentAsString());
+            Thread.sleep(10);
+        }
+        return response.getContentAsString();
+    }
+
+    private static String lastId(String body) {
+        Matcher m = Pattern.compile("id:(\\S+)").matcher(body);
+        String id = null;
+        while (m.find()) id = m.group(1);
+        return id;
+    }
+
+    @Test
+    void testFeed_ShouldDeliverOnlyEventsOfRequestedZones() throws Exception {
+        MockHttpServletResponse all = open(get("/api/changes"));
+        MockHttpServletResponse zoneTwo = open(get("/api/changes").param("zoneId", "2"));
+        await(all, "event:ready");
+
+        feed.publish(ChangeEvent.creatureDeleted(
+                new CreatureView(10L, "Fénix", "Ave", 1.0, 3, "healthy", 1L, "Bosque", 0, 0)));
+        feed.publish(ChangeEvent.zoneDeleted(2));
+
+        String body = await(all, "event:zone.deleted");
+        assertTrue(body.contains("event:creature.deleted"));
+        String filtered = await(zoneTwo, "event:zone.deleted");
+        assertFalse(filtered.contains("creature.deleted"));
+        assertEquals(2, feed.subscriberCount());
+    }
+
+    @Test
+    void testFeed_ShouldDeliverTransfersToSourceAndTargetZones() throws Exception {
+        MockHttpServletResponse source = open(get("/api/changes").param("zoneId", "1"));
+        MockHttpServletResponse target = open(get("/api/changes").param("zoneId", "2"));
+        MockHttpServletResponse other = open(get("/api/changes").param("zoneId", "3"));
+        await(other, "event:ready");
+
+        feed.publish(ChangeEvent.creatureUpdated(
+                new CreatureView(10L, "Fénix", "Ave", 1.0, 3, "healthy", 1L, "Bosque", 0, 0),
+                new CreatureView(10L, "Fénix", "Ave", 1.0, 3, "healthy", 2L, "Volcán", 1, 0)));
+        feed.publish(ChangeEvent.zoneDeleted(3));
+
+        // The data line, written after the event name, carries the target zone
+        assertTrue(await(source, "\"zoneId\":2").contains("event:creature.updated"));
+        assertTrue(await(target, "\"zoneId\":2").contains("event:creature.updated"));
+        assertFalse(await(other, "event:zone.deleted").contains("creature.updated"));
+    }
+
+    @Test
+    void testFeed_ShouldReplayMissedEvents_WhenResumingWithToken() throws Exception {
+        MockHttpServletResponse first = open(get("/api/changes"));
+        feed.publish(ChangeEvent.zoneDeleted(1));
+        String token = lastId(await(first, "event:zone.deleted"));
+
+        feed.publish(ChangeEvent.zoneDeleted(2));
+        feed.publish(ChangeEvent.zoneDeleted(3));
+
+        MockHttpServletResponse resumed = open(get("/api/changes").header("Last-Event-ID", token));
+        String body = await(resumed, "\"id\":3");
+        assertTrue(body.contains("\"id\":2"));
+        assertFalse(body.contains("\"id\":1,"));
+    }
+
+    @Test
+    void testFeed_ShouldSendReset_WhenTokenIsUnknownOrTooOld() throws Exception {
+        MockHttpServletResponse first = open(get("/api/changes"));
+        String initial = lastId(await(first, "event:ready"));
+        for (int i = 0; i < 5; i++) feed.publish(ChangeEvent.zoneDeleted(i));
+
+        await(open(get("/api/changes").param("since", initial)), "event:reset");
+        await(open(get("/api/changes").param("since", "other-run-7")), "event:reset");
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.ConcurrencyProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrencyLimitFilterTest {
+
+    private static ConcurrencyLimitFilter filter(boolean enabled, int maxInFlight) {
+        return new ConcurrencyLimitFilter(
+                new ConcurrencyProperties(enabled, maxInFlight, Duration.ofMillis(50), Duration.ofSeconds(2)));
+    }
+
+    @Test
+    void testFilter_ShouldPassThroughAndReleaseSlot() throws Exception {
+        ConcurrencyLimitFilter filter = filter(true, 1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/zones"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void testFilter_ShouldReject_WhenAllSlotsAreBusy() throws Exception {
+        ConcurrencyLimitFilter filter = filter(true, 1);
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread busy = new Thread(() -> {
+            try {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/creatures"), new MockHttpServletResponse(),
+                        (req, res) -> {
+                            inside.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        busy.start();
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/creatures"), rejected, new MockFilterChain());
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+
+        release.countDown();
+        busy.join();
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    void testFilter_ShouldIgnoreRequests_WhenDisabled() throws Exception {
+        ConcurrencyLimitFilter filter = filter(false, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/zones"), response, new MockFilterChain());
+
+        assertEquals(200, response.getStatus());
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.LoadSheddingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadSheddingFilterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final Timer acquire = registry.timer(LoadSheddingFilter.ACQUIRE_TIMER, "pool", "HikariPool-1");
+    private final AtomicInteger pending = registry.gauge(LoadSheddingFilter.PENDING_GAUGE, new AtomicInteger());
+    private final LoadSheddingFilter filter = new LoadSheddingFilter(
+            new LoadSheddingProperties(true, Duration.ofMillis(50), Duration.ofSeconds(1), Duration.ofSeconds(3)), registry);
+
+    private MockHttpServletResponse send(String method) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, "/api/zones"), response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void testFilter_ShouldShedWritesBeforeReads_WhenPoolWaitIsHigh() throws Exception {
+        for (int i = 0; i < 10; i++) acquire.record(Duration.ofMillis(100));
+        filter.sample();
+
+        MockHttpServletResponse write = send("POST");
+        assertEquals(503, write.getStatus());
+        assertEquals("3", write.getHeader("Retry-After"));
+        assertEquals(200, send("GET").getStatus());
+        assertEquals(0.0, filter.shedProbability(false));
+    }
+
+    @Test
+    void testFilter_ShouldRecover_WhenPoolIsIdleAgain() throws Exception {
+        for (int i = 0; i < 10; i++) acquire.record(Duration.ofMillis(500));
+        filter.sample();
+        assertEquals(503, send("GET").getStatus());
+
+        filter.sample();
+
+        assertEquals(200, send("POST").getStatus());
+    }
+
+    @Test
+    void testFilter_ShouldShed_WhenCallersAreStuckWaiting() throws Exception {
+        pending.set(5);
+        filter.sample();
+
+        assertEquals(1.0, filter.shedProbability(true));
+        assertEquals(503, send("DELETE").getStatus());
+    }
+}
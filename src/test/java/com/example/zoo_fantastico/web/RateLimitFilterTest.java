@@ -0,0 +1,114 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.RateLimitProperties;
+import com.example.zoo_fantastico.config.RateLimitProperties.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitFilterTest {
+
+    private static final Bucket UNLIMITED = new Bucket(0, 1);
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    // Mock requests come from 127.0.0.1, trusted here as the gateway that sets X-Client-Id
+    private RateLimitFilter filter(Bucket clientWrites, Bucket globalWrites) {
+        return filter(clientWrites, globalWrites, Set.of("127.0.0.1"));
+    }
+
+    private RateLimitFilter filter(Bucket clientWrites, Bucket globalWrites, Set<String> trustedProxies) {
+        RateLimitProperties properties = new RateLimitProperties(true, "X-Client-Id", trustedProxies, 100,
+                UNLIMITED, clientWrites, UNLIMITED, globalWrites);
+        return new RateLimitFilter(properties, new SimpleMeterRegistry(), now::get);
+    }
+
+    private static int send(RateLimitFilter filter, String method, String client) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/creatures");
+        if (client != null) request.addHeader("X-Client-Id", client);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    @Test
+    void testFilter_ShouldLimitWritesPerClientAndRefill() throws Exception {
+        RateLimitFilter filter = filter(new Bucket(1, 2), UNLIMITED);
+
+        assertEquals(200, send(filter, "POST", "a"));
+        assertEquals(200, send(filter, "POST", "a"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/creatures");
+        request.addHeader("X-Client-Id", "a");
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request, rejected, new MockFilterChain());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        assertEquals(200, send(filter, "GET", "a"));
+        assertEquals(200, send(filter, "POST", "b"));
+
+        now.addAndGet(1_000_000_000L);
+        assertEquals(200, send(filter, "POST", "a"));
+        assertEquals(429, send(filter, "POST", "a"));
+    }
+
+    @Test
+    void testFilter_ShouldNotChargeClient_WhenGlobalBudgetIsExhausted() throws Exception {
+        RateLimitFilter filter = filter(new Bucket(1, 1), new Bucket(1, 1));
+
+        assertEquals(200, send(filter, "PUT", "a"));
+        assertEquals(429, send(filter, "PUT", "b"));
+
+        now.addAndGet(1_000_000_000L);
+        assertEquals(200, send(filter, "PUT", "b"));
+    }
+
+    @Test
+    void testFilter_ShouldIgnoreRotatedClientHeader_WhenNotFromTrustedProxy() throws Exception {
+        RateLimitFilter filter = filter(new Bucket(1, 2), UNLIMITED, Set.of("10.0.0.5"));
+
+        assertEquals(200, send(filter, "POST", "a"));
+        assertEquals(200, send(filter, "POST", "b"));
+        assertEquals(429, send(filter, "POST", "c"));
+        assertEquals(429, send(filter, "POST", null));
+        assertEquals(1, filter.trackedClients());
+    }
+
+    @Test
+    void testFilter_ShouldKeyOnPrincipal_WhenAuthenticated() throws Exception {
+        RateLimitFilter filter = filter(new Bucket(1, 1), UNLIMITED);
+
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/api/creatures");
+        first.setUserPrincipal(() -> "cuidador");
+        first.addHeader("X-Client-Id", "a");
+        filter.doFilter(first, new MockHttpServletResponse(), new MockFilterChain());
+
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", "/api/creatures");
+        second.setUserPrincipal(() -> "cuidador");
+        second.addHeader("X-Client-Id", "b");
+        second.setRemoteAddr("10.0.0.9");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(second, response, new MockFilterChain());
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void testFilter_ShouldForgetIdleClients() throws Exception {
+        RateLimitFilter filter = filter(new Bucket(10, 5), UNLIMITED);
+        send(filter, "DELETE", "a");
+        send(filter, "DELETE", null);
+        assertEquals(2, filter.trackedClients());
+
+        now.addAndGet(1_000_000_000L);
+        filter.evictIdle();
+
+        assertEquals(0, filter.trackedClients());
+    }
+}
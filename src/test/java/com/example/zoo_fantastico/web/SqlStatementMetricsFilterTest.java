@@ -0,0 +1,42 @@
+package com.example.zoo_fantastico.web;
+
+import com.example.zoo_fantastico.config.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SqlStatementMetricsFilterTest {
+
+    @Test
+    void testFilter_ShouldRecordStatementsPerUriTemplate() throws Exception {
+        SqlStatementCounter counter = new SqlStatementCounter();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementMetricsFilter filter = new SqlStatementMetricsFilter(counter, registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/creatures/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/creatures/{id}");
+            counter.inspect("select 1");
+            counter.inspect("select 2");
+        });
+
+        DistributionSummary summary = registry.get(SqlStatementMetricsFilter.METRIC)
+                .tag("uri", "/api/creatures/{id}").tag("method", "GET").summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+        assertEquals(0, counter.stop());
+    }
+
+    @Test
+    void testCounter_ShouldIgnoreStatementsOutsideARequest() {
+        SqlStatementCounter counter = new SqlStatementCounter();
+
+        assertEquals("select 1", counter.inspect("select 1"));
+        assertEquals(0, counter.stop());
+    }
+}